@@ -0,0 +1,25 @@
+package me.donkeycore.dpl.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks with the GC profiler, the same as <code>-prof gc</code>, so every result is reported with its allocation rate and bytes per operation. Every other JMH option is accepted, such as a regular expression selecting benchmarks. <br>
+ * Usage: <code>java -jar DPL/bench/target/benchmarks.jar [JMH options] [regexp...]</code>
+ * 
+ * @see InterpreterBenchmarks
+ * @see WorkloadBenchmarks
+ * @since 1.0
+ */
+public final class BenchmarkMain {
+	
+	private BenchmarkMain() {}
+	
+	public static void main(String... args) throws Exception {
+		Options options = new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class).build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,128 @@
+package me.donkeycore.dpl.bench;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.Expression;
+import me.donkeycore.dpl.conditional.Compare;
+import me.donkeycore.dpl.conditional.booleanexpression.BooleanExpression;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.io.OutputSink;
+import me.donkeycore.dpl.statement.Statement;
+import me.donkeycore.dpl.variables.SymbolTable;
+import me.donkeycore.dpl.variables.VarInteger;
+import me.donkeycore.dpl.variables.Variable;
+import me.donkeycore.dpl.variables.VariableTable;
+
+/**
+ * Benchmarks the hot paths of the interpreter: building a {@link Statement}, dispatching it with {@link Statement#runStatement(boolean)}, {@link Variable#set(String)}, {@link Expression#evaluate(String)}, {@link Expression#evaluateRPN(String)}, {@link Compare#isTrue(ExecutionContext)} compiled against slots and looked up by its text, and {@link BooleanExpression#readLeftToRight(String)}. Every benchmark runs in a context printing to nowhere, with debug messages turned off so logging is not measured.
+ * 
+ * @see BenchmarkMain
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterpreterBenchmarks {
+	
+	/**
+	 * A stream discarding everything, so printing is measured without the console
+	 * 
+	 * @since 1.0
+	 */
+	static final OutputStream DISCARD = new OutputStream() {
+		
+		public void write(int b) {}
+		
+		public void write(byte[] b, int off, int len) {}
+	};
+	
+	private ExecutionContext context;
+	private ExecutionContext previous;
+	private Statement print;
+	private Statement method;
+	private Compare compiled;
+	private Compare text;
+	
+	@Setup
+	public void setUp() throws DonkeyException {
+		ExecutionContext.getDefault().setDebug(false);
+		Statement condition = new Statement("if(`n` < 10) {", 1);
+		SymbolTable symbols = new SymbolTable();
+		compiled = Compare.compile(condition, symbols);
+		text = new Compare(condition);
+		context = new ExecutionContext(null, new VariableTable(symbols), new OutputSink(DISCARD), false);
+		context.setDebug(false);
+		previous = context.enter();
+		new VarInteger("x", 0);
+		new VarInteger("n", 5);
+		print = new Statement("print `x`", 1);
+		method = new Statement("@randomBoolean()", 1);
+	}
+	
+	@TearDown
+	public void tearDown() {
+		ExecutionContext.leave(previous);
+	}
+	
+	@Benchmark
+	public Statement statementConstruct() throws DonkeyException {
+		return new Statement("\tprintln the value is `x`; // comment", 1);
+	}
+	
+	@Benchmark
+	public Object statementDispatchPrint() throws Throwable {
+		return print.runStatement(true);
+	}
+	
+	@Benchmark
+	public Object statementDispatchMethod() throws Throwable {
+		return method.runStatement(true);
+	}
+	
+	@Benchmark
+	public void variableSet() throws Throwable {
+		Variable.set("x = 42");
+	}
+	
+	@Benchmark
+	public Object expressionEvaluate() throws Throwable {
+		return Expression.evaluate("(3 + 4) * 2 - 10 / 4");
+	}
+	
+	@Benchmark
+	public Object expressionEvaluateRPN() throws Throwable {
+		return Expression.evaluateRPN("3 4 + 2 * 10 4 / -");
+	}
+	
+	@Benchmark
+	public Boolean compareCompiled() {
+		return compiled.isTrue(context);
+	}
+	
+	@Benchmark
+	public Boolean compareText() {
+		return text.isTrue(context);
+	}
+	
+	@Benchmark
+	public boolean booleanExpressionReadLeftToRight() throws Throwable {
+		return BooleanExpression.readLeftToRight("true && !false || false && true").booleanValue();
+	}
+}
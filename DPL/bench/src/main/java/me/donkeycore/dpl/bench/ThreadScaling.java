@@ -0,0 +1,73 @@
+package me.donkeycore.dpl.bench;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import me.donkeycore.dpl.runtime.CompiledScript;
+import me.donkeycore.dpl.runtime.DonkeyRuntime;
+import me.donkeycore.dpl.runtime.ScriptExecutor;
+import me.donkeycore.dpl.runtime.ScriptResult;
+
+/**
+ * Measures how many mostly sleeping scripts can run at once. Every script polls a few times with <code>wait</code>, the way a monitoring script would. For every amount of scripts the benchmark prints the time until all of them finished, the most threads alive at once and the heap in use while they were all running. <br>
+ * Usage: <code>java -cp DPL/bench/target/benchmarks.jar me.donkeycore.dpl.bench.ThreadScaling [virtual|platform-N] [interval-ms] [polls] [scripts...]</code><br>
+ * Defaults: <code>virtual 1000 3 1000 10000 50000</code>
+ * 
+ * @since 1.0
+ */
+public final class ThreadScaling {
+	
+	private static final String SCRIPT = "integer i = 0\nwhile(`i` < `polls`) {\nwait `interval`\ni = `i` + 1\n}\n";
+	
+	private ThreadScaling() {}
+	
+	public static void main(String... args) throws Throwable {
+		String mode = args.length > 0 ? args[0] : "virtual";
+		int interval = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		int polls = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+		List<Integer> counts = new ArrayList<Integer>();
+		for(int i = 3; i < args.length; i++)
+			counts.add(Integer.parseInt(args[i]));
+		if (counts.isEmpty()) {
+			counts.add(1000);
+			counts.add(10000);
+			counts.add(50000);
+		}
+		CompiledScript script = DonkeyRuntime.compile(SCRIPT);
+		Map<String, Object> bindings = new HashMap<String, Object>();
+		bindings.put("interval", interval);
+		bindings.put("polls", polls);
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		System.out.println("Virtual threads supported: " + ScriptExecutor.isVirtualThreadsSupported());
+		System.out.println("mode, scripts, ideal ms, elapsed ms, peak threads, heap MB, failed");
+		for(int count : counts) {
+			ScriptExecutor executor = mode.startsWith("platform-") ? ScriptExecutor.platform(Integer.parseInt(mode.substring(9))) : ScriptExecutor.virtual();
+			System.gc();
+			threads.resetPeakThreadCount();
+			long start = System.nanoTime();
+			List<Future<ScriptResult>> results = new ArrayList<Future<ScriptResult>>(count);
+			int failed = 0;
+			try {
+				for(int i = 0; i < count; i++)
+					results.add(executor.submit(script, bindings));
+			} catch(OutOfMemoryError e) {
+				failed = count - results.size();
+			}
+			Thread.sleep(interval / 2);
+			Runtime rt = Runtime.getRuntime();
+			long heap = (rt.totalMemory() - rt.freeMemory()) / (1024 * 1024);
+			for(Future<ScriptResult> f : results) {
+				if (!f.get().isSuccess())
+					failed++;
+			}
+			long elapsed = (System.nanoTime() - start) / 1000000;
+			executor.shutdown();
+			System.out.println((executor.isVirtual() ? "virtual" : mode.startsWith("platform-") ? mode : "platform-fallback") + ", " + count + ", " + (long) interval * polls + ", " + elapsed + ", " + threads.getPeakThreadCount() + ", " + heap + ", " + failed);
+		}
+	}
+}
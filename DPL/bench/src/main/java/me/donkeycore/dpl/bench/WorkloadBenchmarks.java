@@ -0,0 +1,87 @@
+package me.donkeycore.dpl.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.io.OutputSink;
+import me.donkeycore.dpl.runtime.CompiledScript;
+import me.donkeycore.dpl.runtime.DonkeyRuntime;
+import me.donkeycore.dpl.runtime.ScriptResult;
+
+/**
+ * Benchmarks whole runs of the <code>.dpl</code> workloads bundled in <code>workloads/</code>, compiled once and run through {@link CompiledScript#execute(Map, OutputSink)} into a sink printing to nowhere
+ * 
+ * @see BenchmarkMain
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkloadBenchmarks {
+	
+	@Param({ "count.dpl", "nested.dpl", "text.dpl" })
+	public String workload;
+	
+	private final Map<String, Object> bindings = Collections.<String, Object> emptyMap();
+	private final OutputSink out = new OutputSink(InterpreterBenchmarks.DISCARD);
+	private CompiledScript script;
+	
+	@Setup
+	public void setUp() throws IOException, DonkeyException {
+		ExecutionContext.getDefault().setDebug(false);
+		script = DonkeyRuntime.compile(read("/workloads/" + workload));
+		ScriptResult r = script.execute(bindings, out);
+		if (!r.isSuccess())
+			throw new IllegalStateException(workload + " failed: " + r.getErrors());
+	}
+	
+	@Benchmark
+	public ScriptResult run() {
+		return script.execute(bindings, out);
+	}
+	
+	/**
+	 * Read a workload bundled with the benchmarks
+	 * 
+	 * @param resource The path of the workload
+	 * @return The source of the workload
+	 * @throws IOException If the workload cannot be read
+	 * @since 1.0
+	 */
+	private static String read(String resource) throws IOException {
+		InputStream in = WorkloadBenchmarks.class.getResourceAsStream(resource);
+		if (in == null)
+			throw new IOException("No workload " + resource);
+		try {
+			ByteArrayOutputStream b = new ByteArrayOutputStream();
+			byte[] buf = new byte[8192];
+			int n;
+			while((n = in.read(buf)) != -1)
+				b.write(buf, 0, n);
+			return b.toString("UTF-8");
+		} finally {
+			in.close();
+		}
+	}
+}
@@ -1,8 +1,6 @@
 package me.donkeycore.dpl;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 
 import me.donkeycore.dpl.exceptions.FileDirectoryException;
 import me.donkeycore.dpl.exceptions.IncompatibleVariableTypesException;
@@ -16,9 +14,12 @@ import me.donkeycore.dpl.gui.ScriptGUI;
 import me.donkeycore.dpl.io.DonkeyClass;
 import me.donkeycore.dpl.io.FileCreator;
 import me.donkeycore.dpl.io.FileCreator.FileConfiguration;
+import me.donkeycore.dpl.io.SourceBuffer;
+import me.donkeycore.dpl.log.AsyncLogger;
 import me.donkeycore.dpl.method.IMethod;
 import me.donkeycore.dpl.plugin.DPlugin;
 import me.donkeycore.dpl.plugin.PluginLoader;
+import me.donkeycore.dpl.runtime.BatchRunner;
 import me.donkeycore.dpl.statement.IStatement;
 import me.donkeycore.dpl.statement.Statement;
 
@@ -31,9 +32,10 @@ import me.donkeycore.dpl.statement.Statement;
 public final class Donkey {
 	
 	/**
-	 * Decides whether to display debug messages
+	 * Decides whether to display debug messages outside of a run, and the value every run starts with. A running script keeps its own flag in its {@link ExecutionContext}.
 	 * 
 	 * @see Donkey#debug(String)
+	 * @see ExecutionContext#isDebug()
 	 * @since 1.0
 	 */
 	public static boolean debug = true;
@@ -64,7 +66,7 @@ public final class Donkey {
 	private final DPlugin[] plugins;
 	
 	/**
-	 * If given a null argument or 0 parameters, this will open a GUI for choosing a script. Given one or more file paths, this will run the code of those files. <br>
+	 * If given a null argument or 0 parameters, this will open a GUI for choosing a script. Given one file path, this will run the code of that file. Given several, they are run at once by a {@link BatchRunner}, their output is printed in order, and the JVM exits with the highest exit code. <br>
 	 * This method will instantly run each file's code and is useful for running several files of code, where creating a new {@link Donkey} object will allow you to access methods being used and is better for executing only one file's code.
 	 * 
 	 * @param args The array of files to execute
@@ -82,9 +84,11 @@ public final class Donkey {
 	public static void main(String... args) throws NoFileException, NoReadException, FileDirectoryException, InvalidFileException, InvalidStatementException, TypeDoesNotExistException, IncompatibleVariableTypesException, VariableAlreadyDeclaredException {
 		if (args == null || args.length == 0)
 			new ScriptGUI();
+		else if (args.length == 1)
+			new Donkey(new File(args[0])).runCode();
 		else {
-			for(String file : args)
-				new Donkey(new File(file)).runCode();
+			PluginLoader.stopAccepting();
+			System.exit(BatchRunner.run(args));
 		}
 	}
 	
@@ -117,18 +121,16 @@ public final class Donkey {
 		FileCreator.loadFilesAndFolders();
 		FileConfiguration fc = FileCreator.getFile("recentFiles", "log");
 		File f = fc.getFile();
+		int lines = 0;
 		try {
-			BufferedReader r = new BufferedReader(new FileReader(f));
-			String s;
-			while((s = r.readLine()) != null) {
-				if (s.equals(file.getAbsolutePath())) {
-					r.close();
+			SourceBuffer b = SourceBuffer.of(f);
+			lines = b.getLineCount();
+			for(int line = 1; line <= lines; line++) {
+				if (b.getLine(line).equals(file.getAbsolutePath()))
 					return;
-				}
 			}
-			r.close();
 		} catch(Exception e) {}
-		if (Statement.getMaxLine(f) > 5) {
+		if (lines >= 5) {
 			fc.withoutLastLine().withCode(file.getAbsolutePath());
 		} else
 			fc.withCode(file.getAbsolutePath());
@@ -205,12 +207,17 @@ public final class Donkey {
 	}
 	
 	/**
-	 * Print an error parsed from a {@link Throwable}
+	 * Print an error parsed from a {@link Throwable} and end the JVM. If the script running on this thread was started with {@link ExecutionContext#exitsOnError()} off, the error is {@link ExecutionContext#fail(Throwable) recorded} in its context and the script stops instead.
 	 * 
 	 * @param e The throwable to print
 	 * @since 1.0
 	 */
 	public static void printError(Throwable e) {
+		ExecutionContext context = ExecutionContext.current();
+		if (!context.exitsOnError()) {
+			context.fail(e);
+			return;
+		}
 		log(LogLevel.FATAL, "An error has occurred! Details as follows:", "Donkey");
 		if (e.getCause() != null)
 			log(LogLevel.FATAL, "Cause: " + e.getCause().getClass().getSimpleName() + " : " + e.getMessage(), "Donkey");
@@ -221,6 +228,7 @@ public final class Donkey {
 			if (!s.getClassName().startsWith("java"))
 				log(LogLevel.FATAL, "Error #" + id++ + ": " + s.getClassName() + " at line " + s.getLineNumber() + " in " + s.getMethodName(), "Donkey");
 		}
+		context.flush();
 		System.exit(1);
 	}
 	
@@ -304,7 +312,8 @@ public final class Donkey {
 	}
 	
 	/**
-	 * Log a message to the console, with a prefix
+	 * Log a message to the console, with a prefix. Debug messages are dropped before any formatting if debug messages are off. <br>
+	 * A message logged by a running script is formatted on the calling thread and written to the output of its {@link ExecutionContext}, so it stays in order with what the script prints. Any other message is written in the background by the {@link AsyncLogger}.
 	 * 
 	 * @param level The level to log the message as
 	 * @param message The message to log
@@ -318,20 +327,13 @@ public final class Donkey {
 	 * @since 1.0
 	 */
 	public static void log(LogLevel level, String message, String prefix) {
-		if (level.equals(LogLevel.DEBUG) && !debug)
+		ExecutionContext context = ExecutionContext.current();
+		if (level.equals(LogLevel.DEBUG) && !context.isDebug())
 			return;
-		String hour = java.util.Calendar.getInstance().get(java.util.Calendar.HOUR) + "";
-		String minute = java.util.Calendar.getInstance().get(java.util.Calendar.MINUTE) + "";
-		String second = java.util.Calendar.getInstance().get(java.util.Calendar.SECOND) + "";
-		int ampm = java.util.Calendar.getInstance().get(java.util.Calendar.AM_PM);
-		if (Integer.parseInt(hour) < 10)
-			hour = "0" + hour;
-		if (Integer.parseInt(minute) < 10)
-			minute = "0" + minute;
-		if (Integer.parseInt(second) < 10)
-			second = "0" + second;
-		String timestamp = "[" + hour + ":" + minute + ":" + second + ":" + (ampm == 0 ? "AM" : "PM") + "] ";
-		System.out.println(timestamp + "[" + prefix + "/" + level.name() + "]: " + message);
+		if (context != ExecutionContext.getDefault())
+			context.getOut().print(AsyncLogger.getLogger().format(level, message, prefix));
+		else
+			AsyncLogger.getLogger().log(level, message, prefix, context.getOut());
 	}
 	
 	/**
@@ -347,8 +349,7 @@ public final class Donkey {
 	 * @since 1.0
 	 */
 	public static void debug(String message) {
-		if (debug)
-			log(LogLevel.DEBUG, message);
+		log(LogLevel.DEBUG, message);
 	}
 	
 	/**
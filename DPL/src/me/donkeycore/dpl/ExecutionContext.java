@@ -0,0 +1,579 @@
+package me.donkeycore.dpl;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import me.donkeycore.dpl.ast.Program;
+import me.donkeycore.dpl.io.DonkeyClass;
+import me.donkeycore.dpl.io.InputSource;
+import me.donkeycore.dpl.io.OutputSink;
+import me.donkeycore.dpl.log.AsyncLogger;
+import me.donkeycore.dpl.math.MathValue;
+import me.donkeycore.dpl.profile.Profiler;
+import me.donkeycore.dpl.statement.Statement;
+import me.donkeycore.dpl.variables.SymbolTable;
+import me.donkeycore.dpl.variables.VariableTable;
+
+/**
+ * The state of one run of a script: its variables, the lines it may not run, whether it was stopped, its exit code, its debug flag and where it prints to. Every run has its own context, so any number of scripts can run at the same time in one JVM. <br>
+ * The interpreter passes the context to every {@link me.donkeycore.dpl.ast.Node Node}, {@link me.donkeycore.dpl.statement.IStatement IStatement} and {@link me.donkeycore.dpl.method.IMethod IMethod}. Static accessors such as {@link Statement#getFile()} and {@link me.donkeycore.dpl.variables.Variable#getTable() Variable.getTable()} read the context {@link ExecutionContext#enter() entered} on the calling thread, so plugins written before contexts existed keep working.
+ * 
+ * @see ExecutionContext#current()
+ * @since 1.0
+ */
+public final class ExecutionContext {
+
+	/**
+	 * The context used by threads that have not entered one, such as while plugins are loaded
+	 * 
+	 * @since 1.0
+	 */
+	private static final ExecutionContext DEFAULT = new ExecutionContext(null, null, new VariableTable(new SymbolTable()), new OutputSink(System.out, 0, 0), true);
+	/**
+	 * The context entered on every thread
+	 * 
+	 * @since 1.0
+	 */
+	private static final ThreadLocal<ExecutionContext> CURRENT = new ThreadLocal<ExecutionContext>();
+	/**
+	 * Publishes {@link ExecutionContext#line} and {@link ExecutionContext#depth} to sampling threads without a full fence on every statement
+	 * 
+	 * @since 1.0
+	 */
+	private static final AtomicIntegerFieldUpdater<ExecutionContext> LINE = AtomicIntegerFieldUpdater.newUpdater(ExecutionContext.class, "line");
+	private static final AtomicIntegerFieldUpdater<ExecutionContext> DEPTH = AtomicIntegerFieldUpdater.newUpdater(ExecutionContext.class, "depth");
+
+	/**
+	 * The file being run
+	 * 
+	 * @since 1.0
+	 */
+	private volatile File file;
+	/**
+	 * The {@link DonkeyClass} being run, or <code>null</code> if the script was not loaded from one
+	 * 
+	 * @since 1.0
+	 */
+	private volatile DonkeyClass clazz;
+	/**
+	 * The program being run, or <code>null</code> if it has not been parsed
+	 * 
+	 * @since 1.0
+	 */
+	private volatile Program program;
+	/**
+	 * The variables of the run
+	 * 
+	 * @since 1.0
+	 */
+	private volatile VariableTable variables;
+	/**
+	 * Where the script prints to
+	 * 
+	 * @since 1.0
+	 */
+	private final OutputSink output;
+	/**
+	 * A {@link PrintStream} writing to {@link ExecutionContext#output}
+	 * 
+	 * @since 1.0
+	 */
+	private final PrintStream out;
+	/**
+	 * Where the script reads its input from, or <code>null</code> for {@link InputSource#stdin()}
+	 * 
+	 * @since 1.0
+	 */
+	private volatile InputSource input;
+	/**
+	 * Whether an error ends the JVM, as it does for scripts run from the command line
+	 * 
+	 * @see Donkey#printError(Throwable)
+	 * @since 1.0
+	 */
+	private final boolean exitOnError;
+	/**
+	 * The errors that ended the script, if it does not end the JVM
+	 * 
+	 * @since 1.0
+	 */
+	private final List<Throwable> errors = new ArrayList<Throwable>();
+	/**
+	 * Line numbers that will be ignored. Only the thread running the script reads or changes them, so they are not locked; other threads stop the script with {@link ExecutionContext#halt()}.
+	 * 
+	 * @since 1.0
+	 */
+	private final BitSet doNotRun = new BitSet();
+	/**
+	 * Whether the script was stopped, so that no line will run
+	 * 
+	 * @since 1.0
+	 */
+	private volatile boolean halted = false;
+	/**
+	 * The exit code of the script
+	 * 
+	 * @since 1.0
+	 */
+	private volatile int errno = 0;
+	/**
+	 * Whether to display debug messages
+	 * 
+	 * @since 1.0
+	 */
+	private volatile boolean debug = Donkey.debug;
+	/**
+	 * The line being run, readable from other threads such as a {@link me.donkeycore.dpl.profile.Sampler Sampler}
+	 * 
+	 * @since 1.0
+	 */
+	private volatile int line = 0;
+	/**
+	 * The lines opening the blocks being run, outermost first
+	 * 
+	 * @since 1.0
+	 */
+	private int[] blocks = new int[16];
+	/**
+	 * The amount of blocks being run
+	 * 
+	 * @since 1.0
+	 */
+	private volatile int depth = 0;
+	/**
+	 * The profiler timing every line, or <code>null</code> if the script is not profiled
+	 * 
+	 * @since 1.0
+	 */
+	private Profiler profiler;
+	/**
+	 * The value arithmetic of the script is evaluated into
+	 * 
+	 * @since 1.0
+	 */
+	private final MathValue scratch = new MathValue();
+
+	/**
+	 * Create a new {@link ExecutionContext} for a parsed program. An error in the script ends the JVM.
+	 * 
+	 * @param program The program to run
+	 * @param variables The variables of the run
+	 * @param output Where the script prints to
+	 * @since 1.0
+	 */
+	public ExecutionContext(Program program, VariableTable variables, OutputSink output) {
+		this(program, variables, output, true);
+	}
+
+	/**
+	 * Create a new {@link ExecutionContext} for a parsed program
+	 * 
+	 * @param program The program to run
+	 * @param variables The variables of the run
+	 * @param output Where the script prints to
+	 * @param exitOnError Whether an error in the script ends the JVM. Otherwise the error is {@link ExecutionContext#fail(Throwable) recorded} and the script stops.
+	 * @since 1.0
+	 */
+	public ExecutionContext(Program program, VariableTable variables, OutputSink output, boolean exitOnError) {
+		this(program == null ? null : program.getFile(), program, variables, output, exitOnError);
+	}
+
+	private ExecutionContext(File file, Program program, VariableTable variables, OutputSink output, boolean exitOnError) {
+		this.file = file;
+		this.program = program;
+		this.variables = variables;
+		this.output = output;
+		this.out = new PrintStream(output);
+		this.exitOnError = exitOnError;
+	}
+
+	/**
+	 * Retrieve the context entered on the calling thread
+	 * 
+	 * @return The entered context, or a context shared by every thread that has not entered one
+	 * @since 1.0
+	 */
+	public static ExecutionContext current() {
+		ExecutionContext c = CURRENT.get();
+		return c == null ? DEFAULT : c;
+	}
+
+	/**
+	 * Retrieve the context used by threads that have not entered one. Variables declared in it, such as those declared by plugins, are copied into the variables of every run.
+	 * 
+	 * @return The default context
+	 * @since 1.0
+	 */
+	public static ExecutionContext getDefault() {
+		return DEFAULT;
+	}
+	
+	/**
+	 * Make this the context of the calling thread
+	 * 
+	 * @return The context entered before, to give to {@link ExecutionContext#leave(ExecutionContext)}
+	 * @since 1.0
+	 */
+	public ExecutionContext enter() {
+		ExecutionContext previous = CURRENT.get();
+		CURRENT.set(this);
+		return previous;
+	}
+
+	/**
+	 * Restore the context of the calling thread
+	 * 
+	 * @param previous The context returned by {@link ExecutionContext#enter()}
+	 * @since 1.0
+	 */
+	public static void leave(ExecutionContext previous) {
+		if (previous == null)
+			CURRENT.remove();
+		else
+			CURRENT.set(previous);
+	}
+
+	/**
+	 * Retrieve the file being run
+	 * 
+	 * @return The file, or <code>null</code> if there is none
+	 * @since 1.0
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Change the file being run
+	 * 
+	 * @param file The file
+	 * @since 1.0
+	 */
+	public void setFile(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Retrieve the {@link DonkeyClass} being run
+	 * 
+	 * @return The class, or <code>null</code> if the script was not loaded from one
+	 * @since 1.0
+	 */
+	public DonkeyClass getDonkeyClass() {
+		return clazz;
+	}
+
+	/**
+	 * Change the {@link DonkeyClass} being run, along with its file
+	 * 
+	 * @param clazz The class
+	 * @since 1.0
+	 */
+	public void setDonkeyClass(DonkeyClass clazz) {
+		this.clazz = clazz;
+		this.file = clazz.getFile();
+	}
+
+	/**
+	 * Retrieve the program being run
+	 * 
+	 * @return The program, or <code>null</code> if it has not been parsed
+	 * @since 1.0
+	 */
+	public Program getProgram() {
+		return program;
+	}
+
+	/**
+	 * Retrieve the variables of the run
+	 * 
+	 * @return The {@link VariableTable} variables are declared in
+	 * @since 1.0
+	 */
+	public VariableTable getVariables() {
+		return variables;
+	}
+
+	/**
+	 * Replace the variables of the run
+	 * 
+	 * @param variables The new {@link VariableTable}
+	 * @since 1.0
+	 */
+	public void setVariables(VariableTable variables) {
+		this.variables = variables;
+	}
+
+	/**
+	 * Retrieve where the script prints to
+	 * 
+	 * @return The output of the script, as a {@link PrintStream} writing to {@link ExecutionContext#getOutput()}
+	 * @since 1.0
+	 */
+	public PrintStream getOut() {
+		return out;
+	}
+
+	/**
+	 * Retrieve the buffer the script prints to
+	 * 
+	 * @return The {@link OutputSink} of the script
+	 * @since 1.0
+	 */
+	public OutputSink getOutput() {
+		return output;
+	}
+
+	/**
+	 * Retrieve where the script reads its input from
+	 * 
+	 * @return The {@link InputSource} of the script, {@link InputSource#stdin()} unless another was {@link ExecutionContext#setInput(InputSource) set}
+	 * @since 1.0
+	 */
+	public InputSource getInput() {
+		InputSource i = input;
+		return i == null ? InputSource.stdin() : i;
+	}
+
+	/**
+	 * Change where the script reads its input from
+	 * 
+	 * @param input The new {@link InputSource}, or <code>null</code> for {@link InputSource#stdin()}
+	 * @since 1.0
+	 */
+	public void setInput(InputSource input) {
+		this.input = input;
+	}
+
+	/**
+	 * Write the log messages and the output of the script printed so far. This is done when the script ends, and before it waits for input or sleeps.
+	 * 
+	 * @since 1.0
+	 */
+	public void flush() {
+		AsyncLogger.getLogger().flush();
+		output.flush();
+	}
+
+	/**
+	 * Checks if an error in the script ends the JVM
+	 * 
+	 * @return Whether {@link Donkey#printError(Throwable)} exits, rather than calling {@link ExecutionContext#fail(Throwable)}
+	 * @since 1.0
+	 */
+	public boolean exitsOnError() {
+		return exitOnError;
+	}
+
+	/**
+	 * Record an error that ends the script. The script stops, and its exit code becomes <code>1</code> if it was <code>0</code>.
+	 * 
+	 * @param e The error
+	 * @since 1.0
+	 */
+	public void fail(Throwable e) {
+		synchronized(errors) {
+			errors.add(e);
+		}
+		if (getErrno() == 0)
+			setErrno(1);
+		halt();
+	}
+
+	/**
+	 * Retrieve the errors that ended the script
+	 * 
+	 * @return The errors passed to {@link ExecutionContext#fail(Throwable)}, in the order they happened
+	 * @since 1.0
+	 */
+	public List<Throwable> getErrors() {
+		synchronized(errors) {
+			return Collections.unmodifiableList(new ArrayList<Throwable>(errors));
+		}
+	}
+
+	/**
+	 * Make a line not run, or allow it to run again. This must be called by the thread running the script; use {@link ExecutionContext#halt()} to stop it from another thread.
+	 * 
+	 * @param stop Whether to stop the line from running
+	 * @param line The line to decline/allow
+	 * @see ExecutionContext#halt()
+	 * @since 1.0
+	 */
+	public void setDoNotRun(boolean stop, int line) {
+		doNotRun.set(line, stop);
+	}
+
+	/**
+	 * Checks if a line can run
+	 * 
+	 * @param line The line to check for
+	 * @return Whether the line can run or not
+	 * @since 1.0
+	 */
+	public boolean canRun(int line) {
+		return !halted && !doNotRun.get(line);
+	}
+
+	/**
+	 * Stop the script, so that no more lines run. Allowing a line with {@link ExecutionContext#setDoNotRun(boolean, int)} does not undo this.
+	 * 
+	 * @since 1.0
+	 */
+	public void halt() {
+		halted = true;
+	}
+
+	/**
+	 * Checks if the script was stopped
+	 * 
+	 * @return Whether {@link ExecutionContext#halt()} was called
+	 * @since 1.0
+	 */
+	public boolean isHalted() {
+		return halted;
+	}
+
+	/**
+	 * Retrieve the exit code of the script
+	 * 
+	 * @return The exit code
+	 * @since 1.0
+	 */
+	public int getErrno() {
+		return this == DEFAULT ? Statement.errno : errno;
+	}
+
+	/**
+	 * Set the exit code of the script
+	 * 
+	 * @param errno The exit code
+	 * @since 1.0
+	 */
+	public void setErrno(int errno) {
+		if (this == DEFAULT)
+			Statement.errno = errno;
+		else
+			this.errno = errno;
+	}
+
+	/**
+	 * Checks if debug messages are displayed. A new context starts with the value of {@link Donkey#debug}.
+	 * 
+	 * @return Whether to display debug messages
+	 * @since 1.0
+	 */
+	public boolean isDebug() {
+		return this == DEFAULT ? Donkey.debug : debug;
+	}
+
+	/**
+	 * Set whether debug messages are displayed
+	 * 
+	 * @param debug Whether to display debug messages
+	 * @since 1.0
+	 */
+	public void setDebug(boolean debug) {
+		if (this == DEFAULT)
+			Donkey.debug = debug;
+		else
+			this.debug = debug;
+	}
+
+	/**
+	 * Retrieve the line being run
+	 * 
+	 * @return The line number
+	 * @since 1.0
+	 */
+	public int getLine() {
+		return line;
+	}
+
+	/**
+	 * Set the line being run
+	 * 
+	 * @param line The line number
+	 * @since 1.0
+	 */
+	public void setLine(int line) {
+		LINE.lazySet(this, line);
+	}
+
+	/**
+	 * Record that a block started running. Called by {@link me.donkeycore.dpl.ast.BlockNode BlockNode} on the thread running the script.
+	 * 
+	 * @param line The line opening the block
+	 * @since 1.0
+	 */
+	public void enterBlock(int line) {
+		int d = depth;
+		if (d == blocks.length)
+			blocks = Arrays.copyOf(blocks, d * 2);
+		blocks[d] = line;
+		DEPTH.lazySet(this, d + 1);
+	}
+
+	/**
+	 * Record that the block given to the last call to {@link ExecutionContext#enterBlock(int)} finished. The line being run becomes the line opening the block, until the next line starts.
+	 * 
+	 * @since 1.0
+	 */
+	public void leaveBlock() {
+		int d = depth - 1;
+		LINE.lazySet(this, blocks[d]);
+		DEPTH.lazySet(this, d);
+	}
+
+	/**
+	 * Take a snapshot of where the script is. This can be called from any thread; if the script moves on while the snapshot is taken, the snapshot may mix where it was and where it is.
+	 * 
+	 * @return The lines opening the blocks being run, outermost first, followed by the line being run
+	 * @since 1.0
+	 */
+	public int[] getStack() {
+		int l = line;
+		int d = depth;
+		int[] b = blocks;
+		d = Math.max(0, Math.min(d, b.length));
+		int[] stack = Arrays.copyOf(b, d + 1);
+		stack[d] = l;
+		return stack;
+	}
+
+	/**
+	 * Retrieve the profiler timing every line
+	 * 
+	 * @return The {@link Profiler}, or <code>null</code> if the script is not profiled
+	 * @since 1.0
+	 */
+	public Profiler getProfiler() {
+		return profiler;
+	}
+
+	/**
+	 * Profile the script. Set this before the script starts, on the thread that runs it.
+	 * 
+	 * @param profiler The {@link Profiler} to time every line with, or <code>null</code> to stop profiling
+	 * @since 1.0
+	 */
+	public void setProfiler(Profiler profiler) {
+		this.profiler = profiler;
+	}
+
+	/**
+	 * Retrieve a value to evaluate arithmetic into, so that an evaluation does not allocate one. The value is overwritten by the next evaluation, so read it first. The default context is shared by threads, so it returns a new value every time.
+	 * 
+	 * @return The reusable {@link MathValue} of this context
+	 * @since 1.0
+	 */
+	public MathValue getScratch() {
+		return this == DEFAULT ? new MathValue() : scratch;
+	}
+}
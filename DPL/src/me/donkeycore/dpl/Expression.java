@@ -1,10 +1,12 @@
 package me.donkeycore.dpl;
 
-import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 
 import me.donkeycore.dpl.exceptions.MathException;
+import me.donkeycore.dpl.math.MathExpression;
+import me.donkeycore.dpl.math.MathValue;
+import me.donkeycore.dpl.math.RPNProgram;
+import me.donkeycore.dpl.variables.Variable;
 
 /**
  * Handles math expressions
@@ -22,7 +24,7 @@ public class Expression {
 	private Expression() {}
 	
 	/**
-	 * Evaluate a math expression using the {@link ScriptEngine JavaScript} engine. <h1>Syntax:</h1>
+	 * Evaluate a math expression. <h1>Syntax:</h1>
 	 * 
 	 * <pre>
 	 * A + B <code>Adds the numbers</code>
@@ -30,17 +32,38 @@ public class Expression {
 	 * A * B <code>Multiplies the numbers</code>
 	 * A / B <code>Divides the numbers</code>
 	 * A % B <code>Finds the remainder from dividing the numbers</code>
+	 * A ^ B <code>Raises A to the power of B</code>
 	 * </pre>
 	 * 
 	 * @param expression The expression to evaluate
-	 * @return The value returned from the execution of the script
-	 * @throws ScriptException If an error occurs in the script
+	 * @return The value of the expression
+	 * @throws ScriptException If the expression is invalid
+	 * @see MathExpression
 	 */
 	public static Double evaluate(String expression) throws ScriptException {
-		ScriptEngineManager factory = new ScriptEngineManager();
-		ScriptEngine engine = factory.getEngineByName("js");
-		System.out.println(expression);
-		return Double.parseDouble(engine.eval(expression).toString());
+		return evaluateValue(expression).getDouble();
+	}
+	
+	/**
+	 * Evaluate a math expression, keeping whole numbers exact. The parsed expression is kept in {@link ExpressionCache#MATH}, keyed by its text, so pass the text with its {@code `KEY`} references rather than with the values of the variables substituted; the variables are read when the expression is evaluated.
+	 * 
+	 * @param expression The expression to evaluate
+	 * @return The value of the expression, held in {@link ExecutionContext#getScratch()} until the next evaluation on this thread
+	 * @throws ScriptException If the expression is invalid
+	 * @see Expression#evaluate(String)
+	 * @since 1.0
+	 */
+	public static MathValue evaluateValue(String expression) throws ScriptException {
+		try {
+			String key = ExpressionCache.normalize(expression);
+			MathExpression e = ExpressionCache.MATH.get(key);
+			if (e == null)
+				e = ExpressionCache.MATH.put(key, MathExpression.compile(key, null));
+			ExecutionContext context = ExecutionContext.current();
+			return e.evaluate(context.getVariables(), context.getScratch());
+		} catch(MathException e) {
+			throw new ScriptException(e.getMessage());
+		}
 	}
 	
 	/**
@@ -56,44 +79,18 @@ public class Expression {
 	 * A B + C - <code>is the same as</code> A + B - C
 	 * </pre>
 	 * 
+	 * Any other name is read from the numeric variable with that key. The compiled {@link RPNProgram} is kept in {@link ExpressionCache#RPN}.
+	 * 
 	 * @param s The string to evaluate
 	 * @return A double representation of the answer
 	 * @throws MathException If there was an error evaluating the math expression
 	 * @since 1.0
 	 */
 	public static double evaluateRPN(String s) throws MathException {
-		try {
-			java.util.Stack<String> tks = new java.util.Stack<String>();
-			tks.addAll(java.util.Arrays.asList(s.trim().split("[ \t,]+")));
-			return evaluateRPN(s, tks);
-		} catch(Exception e) {
-			throw new MathException(s, "Invalid expression");
-		}
-	}
-	
-	private static double evaluateRPN(String expression, java.util.Stack<String> tks) throws MathException {
-		String tk = tks.pop();
-		double x, y;
-		try {
-			x = Double.parseDouble(tk);
-		} catch(Exception e) {
-			y = evaluateRPN(expression, tks);
-			x = evaluateRPN(expression, tks);
-			if (tk.equals("+"))
-				x += y;
-			else if (tk.equals("-"))
-				x -= y;
-			else if (tk.equals("*"))
-				x *= y;
-			else if (tk.equals("/"))
-				x /= y;
-			else if (tk.equals("%"))
-				x %= y;
-			else if (tk.equals("^"))
-				x = java.lang.Math.pow(x, y);
-			else
-				throw new MathException(expression, "Invalid operation: " + tk);
-		}
-		return x;
+		String key = ExpressionCache.normalize(s);
+		RPNProgram p = ExpressionCache.RPN.get(key);
+		if (p == null)
+			p = ExpressionCache.RPN.put(key, RPNProgram.compile(s));
+		return p.evaluate(Variable.getTable());
 	}
 }
\ No newline at end of file
@@ -0,0 +1,273 @@
+package me.donkeycore.dpl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import me.donkeycore.dpl.math.MathExpression;
+import me.donkeycore.dpl.math.RPNProgram;
+
+/**
+ * A bounded cache of compiled expressions keyed by their normalized text. Keys are the text as written in the script, with its {@code `KEY`} references, so that one compiled expression serves every value of the variables it reads. When the cache is full, the expression used least recently is evicted to make room. <br>
+ * All methods are thread safe. The keys are spread over up to {@value ExpressionCache#STRIPES} parts that are locked separately, each holding an equal share of the capacity and evicting its own least recently used expression, so threads looking up different expressions rarely wait for each other.
+ * 
+ * @param <V> The type of the compiled expressions
+ * @see ExpressionCache#normalize(String)
+ * @since 1.0
+ */
+public final class ExpressionCache<V> {
+	
+	/**
+	 * The cache of arithmetic expressions
+	 * 
+	 * @see Expression#evaluateValue(String)
+	 * @since 1.0
+	 */
+	public static final ExpressionCache<MathExpression> MATH = new ExpressionCache<MathExpression>(512);
+	/**
+	 * The cache of RPN expressions
+	 * 
+	 * @see Expression#evaluateRPN(String)
+	 * @since 1.0
+	 */
+	public static final ExpressionCache<RPNProgram> RPN = new ExpressionCache<RPNProgram>(128);
+	
+	/**
+	 * The largest amount of parts the keys are spread over
+	 * 
+	 * @since 1.0
+	 */
+	private static final int STRIPES = 16;
+	
+	/**
+	 * The maximum amount of cached expressions
+	 * 
+	 * @since 1.0
+	 */
+	private final int capacity;
+	/**
+	 * The parts of the cache, each locked while it is read or changed
+	 * 
+	 * @since 1.0
+	 */
+	private final List<Stripe<V>> stripes;
+	/**
+	 * The amount of lookups that found a cached expression
+	 * 
+	 * @since 1.0
+	 */
+	private final AtomicLong hits = new AtomicLong();
+	/**
+	 * The amount of lookups that did not find a cached expression
+	 * 
+	 * @since 1.0
+	 */
+	private final AtomicLong misses = new AtomicLong();
+	/**
+	 * The amount of expressions removed to make room for others
+	 * 
+	 * @since 1.0
+	 */
+	private final AtomicLong evictions = new AtomicLong();
+	
+	/**
+	 * Create a new {@link ExpressionCache}
+	 * 
+	 * @param capacity The maximum amount of cached expressions
+	 * @since 1.0
+	 */
+	public ExpressionCache(int capacity) {
+		this.capacity = capacity;
+		int n = Math.max(1, Math.min(STRIPES, capacity));
+		this.stripes = new ArrayList<Stripe<V>>(n);
+		for(int i = 0; i < n; i++)
+			stripes.add(new Stripe<V>(capacity / n + (i < capacity % n ? 1 : 0), evictions));
+	}
+	
+	/**
+	 * Normalize the text of an expression so that expressions only differing in spacing share a key. Whitespace is trimmed and every run of whitespace becomes a single space.
+	 * 
+	 * @param text The text of the expression
+	 * @return The normalized text
+	 * @since 1.0
+	 */
+	public static String normalize(String text) {
+		StringBuilder b = null;
+		int len = text.length();
+		int start = 0;
+		while(start < len && Character.isWhitespace(text.charAt(start)))
+			start++;
+		while(len > start && Character.isWhitespace(text.charAt(len - 1)))
+			len--;
+		for(int i = start; i < len; i++) {
+			char c = text.charAt(i);
+			boolean ws = Character.isWhitespace(c);
+			if (b == null) {
+				if (!ws || c == ' ' && !Character.isWhitespace(text.charAt(i + 1)))
+					continue;
+				b = new StringBuilder(len - start).append(text, start, i);
+			}
+			if (!ws)
+				b.append(c);
+			else if (b.charAt(b.length() - 1) != ' ')
+				b.append(' ');
+		}
+		return b == null ? text.substring(start, len) : b.toString();
+	}
+	
+	/**
+	 * Retrieve a cached expression
+	 * 
+	 * @param key The normalized text of the expression
+	 * @return The cached expression, or <code>null</code> if it is not cached
+	 * @since 1.0
+	 */
+	public V get(String key) {
+		Stripe<V> s = stripe(key);
+		V v;
+		synchronized(s) {
+			v = s.get(key);
+		}
+		(v == null ? misses : hits).incrementAndGet();
+		return v;
+	}
+	
+	/**
+	 * Cache an expression. If another thread cached the same key first, its expression is kept.
+	 * 
+	 * @param key The normalized text of the expression
+	 * @param value The compiled expression
+	 * @return The cached expression, which is <code>value</code> unless another thread cached the key first
+	 * @since 1.0
+	 */
+	public V put(String key, V value) {
+		Stripe<V> s = stripe(key);
+		synchronized(s) {
+			V v = s.putIfAbsent(key, value);
+			return v == null ? value : v;
+		}
+	}
+	
+	/**
+	 * Remove every cached expression. The counters are not reset.
+	 * 
+	 * @see ExpressionCache#resetCounters()
+	 * @since 1.0
+	 */
+	public void clear() {
+		for(Stripe<V> s : stripes) {
+			synchronized(s) {
+				s.clear();
+			}
+		}
+	}
+	
+	/**
+	 * Retrieve the amount of cached expressions
+	 * 
+	 * @return The size of the cache
+	 * @since 1.0
+	 */
+	public int size() {
+		int size = 0;
+		for(Stripe<V> s : stripes) {
+			synchronized(s) {
+				size += s.size();
+			}
+		}
+		return size;
+	}
+	
+	/**
+	 * Retrieve the maximum amount of cached expressions
+	 * 
+	 * @return The capacity of the cache
+	 * @since 1.0
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Retrieve the amount of lookups that found a cached expression
+	 * 
+	 * @return The amount of cache hits
+	 * @since 1.0
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+	
+	/**
+	 * Retrieve the amount of lookups that did not find a cached expression
+	 * 
+	 * @return The amount of cache misses
+	 * @since 1.0
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+	
+	/**
+	 * Retrieve the amount of expressions removed to make room for others
+	 * 
+	 * @return The amount of evictions
+	 * @since 1.0
+	 */
+	public long getEvictions() {
+		return evictions.get();
+	}
+	
+	/**
+	 * Set the hit, miss and eviction counters back to <code>0</code>. The cached expressions are kept.
+	 * 
+	 * @see me.donkeycore.dpl.metrics.Metrics#reset()
+	 * @since 1.0
+	 */
+	public void resetCounters() {
+		hits.set(0);
+		misses.set(0);
+		evictions.set(0);
+	}
+	
+	/**
+	 * Retrieve the part of the cache a key belongs to
+	 * 
+	 * @param key The normalized text of an expression
+	 * @return The {@link Stripe} holding the key
+	 * @since 1.0
+	 */
+	private Stripe<V> stripe(String key) {
+		int h = key.hashCode();
+		return stripes.get(((h ^ h >>> 16) & Integer.MAX_VALUE) % stripes.size());
+	}
+	
+	/**
+	 * A part of the cache, ordered from the least to the most recently used expression
+	 * 
+	 * @param <V> The type of the compiled expressions
+	 * @since 1.0
+	 */
+	private static final class Stripe<V> extends LinkedHashMap<String, V> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final int capacity;
+		private final AtomicLong evictions;
+		
+		Stripe(int capacity, AtomicLong evictions) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+			this.evictions = evictions;
+		}
+		
+		protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+			if (size() <= capacity)
+				return false;
+			evictions.incrementAndGet();
+			return true;
+		}
+	}
+}
\ No newline at end of file
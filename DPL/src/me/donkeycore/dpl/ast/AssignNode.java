@@ -0,0 +1,112 @@
+package me.donkeycore.dpl.ast;
+
+import javax.script.ScriptException;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.exceptions.MathException;
+import me.donkeycore.dpl.math.MathExpression;
+import me.donkeycore.dpl.math.MathValue;
+import me.donkeycore.dpl.statement.Statement;
+import me.donkeycore.dpl.variables.Template;
+import me.donkeycore.dpl.variables.VarDouble;
+import me.donkeycore.dpl.variables.VarInteger;
+import me.donkeycore.dpl.variables.Variable;
+import me.donkeycore.dpl.variables.VariableTable;
+
+/**
+ * Declares or assigns a variable <br>
+ * Syntax: <code>type key = value</code><br>
+ * Syntax: <code>key = value</code><br>
+ * A value that is only arithmetic is evaluated with a {@link MathExpression} and stored without going through text.
+ * 
+ * @see Variable#set(int, String, String, String)
+ * @since 1.0
+ */
+public class AssignNode extends Node {
+	
+	/**
+	 * The slot of the assigned variable
+	 * 
+	 * @since 1.0
+	 */
+	private final int slot;
+	/**
+	 * The identifier of the assigned variable
+	 * 
+	 * @since 1.0
+	 */
+	private final String key;
+	/**
+	 * The type to declare the variable as, or an empty string to edit an existing variable
+	 * 
+	 * @since 1.0
+	 */
+	private final String type;
+	/**
+	 * The text of the value, with variable references resolved to slots
+	 * 
+	 * @since 1.0
+	 */
+	private final Template value;
+	/**
+	 * The value compiled as arithmetic, or <code>null</code> if it is not only arithmetic
+	 * 
+	 * @since 1.0
+	 */
+	private final MathExpression math;
+	
+	/**
+	 * Create a new {@link AssignNode}
+	 * 
+	 * @param statement The {@link Statement} containing the assignment
+	 * @param slot The slot of the assigned variable
+	 * @param key The identifier of the assigned variable
+	 * @param type The type to declare the variable as, or an empty string to edit an existing variable
+	 * @param value The text of the value
+	 * @param math The value compiled as arithmetic, or <code>null</code> if it is not only arithmetic
+	 * @since 1.0
+	 */
+	public AssignNode(Statement statement, int slot, String key, String type, Template value, MathExpression math) {
+		super(statement);
+		this.slot = slot;
+		this.key = key;
+		this.type = type;
+		this.value = value;
+		this.math = math;
+	}
+	
+	/**
+	 * Retrieve the identifier of the assigned variable
+	 * 
+	 * @return The key of the variable
+	 * @since 1.0
+	 */
+	public String getKey() {
+		return key;
+	}
+	
+	public Object execute(ExecutionContext context) throws DonkeyException, ScriptException {
+		VariableTable table = context.getVariables();
+		if (math != null) {
+			MathValue r;
+			try {
+				r = math.evaluate(table, context.getScratch());
+			} catch(MathException e) {
+				r = null;
+			}
+			if (r != null) {
+				Variable v = type.isEmpty() ? slot == -1 ? table.get(key) : table.get(slot) : null;
+				if (v instanceof VarInteger && r.isIntegral() && r.getLong() == (int) r.getLong())
+					((VarInteger) v).setInt((int) r.getLong());
+				else if (v instanceof VarDouble)
+					((VarDouble) v).setDouble(r.getDouble());
+				else
+					Variable.set(slot, key, type, r.toString());
+				return null;
+			}
+		}
+		Variable.set(slot, key, type, value.render(table));
+		return null;
+	}
+}
@@ -0,0 +1,87 @@
+package me.donkeycore.dpl.ast;
+
+import java.util.List;
+
+import javax.script.ScriptException;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.metrics.Metrics;
+import me.donkeycore.dpl.profile.FlightEvents;
+import me.donkeycore.dpl.profile.Profiler;
+import me.donkeycore.dpl.statement.Statement;
+
+/**
+ * A sequence of nodes, such as the body of an <code>if</code> or <code>while</code> block
+ * 
+ * @since 1.0
+ */
+public class BlockNode extends Node {
+	
+	/**
+	 * The nodes inside this block, in source order
+	 * 
+	 * @since 1.0
+	 */
+	private final Node[] children;
+	
+	/**
+	 * Create a new {@link BlockNode}
+	 * 
+	 * @param statement The {@link Statement} that opened the block
+	 * @param children The nodes inside the block
+	 * @since 1.0
+	 */
+	public BlockNode(Statement statement, List<Node> children) {
+		super(statement);
+		this.children = children.toArray(new Node[children.size()]);
+	}
+	
+	/**
+	 * Retrieve the nodes inside this block
+	 * 
+	 * @return A copy of the nodes inside this block
+	 * @since 1.0
+	 */
+	public Node[] getChildren() {
+		Node[] c = new Node[children.length];
+		System.arraycopy(children, 0, c, 0, children.length);
+		return c;
+	}
+	
+	public Object execute(ExecutionContext context) throws DonkeyException, ScriptException {
+		Profiler profiler = context.getProfiler();
+		int line = getLineNumber();
+		if (line > 0)
+			context.enterBlock(line);
+		Metrics.countBlock();
+		Object event = FlightEvents.beginBlock();
+		int run = 0;
+		try {
+			for(Node n : children) {
+				if (context.isHalted())
+					break;
+				if (!context.canRun(n.getLineNumber()))
+					continue;
+				context.setLine(n.getLineNumber());
+				run++;
+				Object slow = FlightEvents.beginStatement();
+				if (profiler != null)
+					profiler.enter(n);
+				try {
+					n.execute(context);
+				} finally {
+					if (profiler != null)
+						profiler.exit(n);
+					FlightEvents.endStatement(slow, context, n);
+				}
+			}
+		} finally {
+			Metrics.countStatements(run);
+			FlightEvents.endBlock(event, context, getStatement(), run);
+			if (line > 0)
+				context.leaveBlock();
+		}
+		return null;
+	}
+}
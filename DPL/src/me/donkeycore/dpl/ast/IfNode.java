@@ -0,0 +1,66 @@
+package me.donkeycore.dpl.ast;
+
+import javax.script.ScriptException;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.conditional.Compare;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.statement.Statement;
+
+/**
+ * Runs its body if a condition is true <br>
+ * Syntax: <code>if(condition) { ...</code>
+ * 
+ * @see me.donkeycore.dpl.method.If
+ * @since 1.0
+ */
+public class IfNode extends Node {
+	
+	/**
+	 * The node run when the condition is true
+	 * 
+	 * @since 1.0
+	 */
+	private final Node body;
+	/**
+	 * The condition
+	 * 
+	 * @since 1.0
+	 */
+	private final Compare condition;
+	
+	/**
+	 * Create a new {@link IfNode}
+	 * 
+	 * @param statement The {@link Statement} containing the condition
+	 * @param condition The condition
+	 * @param body The node run when the condition is true
+	 * @since 1.0
+	 */
+	public IfNode(Statement statement, Compare condition, Node body) {
+		super(statement);
+		this.condition = condition;
+		this.body = body;
+	}
+	
+	/**
+	 * Retrieve the body of this block
+	 * 
+	 * @return The node run when the condition is true
+	 * @since 1.0
+	 */
+	public Node getBody() {
+		return body;
+	}
+	
+	public String getKeyword() {
+		return "if";
+	}
+	
+	public Object execute(ExecutionContext context) throws DonkeyException, ScriptException {
+		boolean b = condition.isTrue(context);
+		if (b)
+			body.execute(context);
+		return b;
+	}
+}
@@ -0,0 +1,102 @@
+package me.donkeycore.dpl.ast;
+
+import java.io.IOException;
+
+import javax.script.ScriptException;
+
+import me.donkeycore.dpl.Donkey;
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.io.InputSource;
+import me.donkeycore.dpl.statement.Statement;
+import me.donkeycore.dpl.variables.VarString;
+import me.donkeycore.dpl.variables.Variable;
+import me.donkeycore.dpl.variables.VariableTable;
+
+/**
+ * Runs its body once for every remaining line of input, with the line in a variable. Lines are read one at a time from the {@link InputSource} of the script, so any amount of piped input can be processed without holding it in memory. The output of the script is only flushed when the next line is not already buffered, rather than once per line. <br>
+ * Syntax: <code>@inputLines(key) { ...</code>
+ * 
+ * @see me.donkeycore.dpl.method.InputLines
+ * @since 1.0
+ */
+public class InputLinesNode extends Node {
+	
+	/**
+	 * The slot of the variable holding the line
+	 * 
+	 * @since 1.0
+	 */
+	private final int slot;
+	/**
+	 * The identifier of the variable holding the line
+	 * 
+	 * @since 1.0
+	 */
+	private final String key;
+	/**
+	 * The node run for every line
+	 * 
+	 * @since 1.0
+	 */
+	private final Node body;
+	
+	/**
+	 * Create a new {@link InputLinesNode}
+	 * 
+	 * @param statement The {@link Statement} opening the block
+	 * @param slot The slot of the variable holding the line, or <code>-1</code> to look it up by its key
+	 * @param key The identifier of the variable holding the line
+	 * @param body The node run for every line
+	 * @since 1.0
+	 */
+	public InputLinesNode(Statement statement, int slot, String key, Node body) {
+		super(statement);
+		this.slot = slot;
+		this.key = key;
+		this.body = body;
+	}
+	
+	/**
+	 * Retrieve the body of this block
+	 * 
+	 * @return The node run for every line
+	 * @since 1.0
+	 */
+	public Node getBody() {
+		return body;
+	}
+	
+	public String getKeyword() {
+		return "@inputLines";
+	}
+	
+	public Object execute(ExecutionContext context) throws DonkeyException, ScriptException {
+		InputSource in = context.getInput();
+		VariableTable table = context.getVariables();
+		long lines = 0;
+		while(context.canRun(getLineNumber())) {
+			context.setLine(getLineNumber());
+			if (!in.hasBuffered())
+				context.flush();
+			String line;
+			try {
+				line = in.readLine();
+			} catch(IOException e) {
+				Donkey.printError(e);
+				break;
+			}
+			if (line == null)
+				break;
+			Variable v = slot == -1 ? table.get(key) : table.get(slot);
+			if (v == null)
+				new VarString(key, line);
+			else
+				v.set((Object) line);
+			lines++;
+			if (body != null)
+				body.execute(context);
+		}
+		return lines;
+	}
+}
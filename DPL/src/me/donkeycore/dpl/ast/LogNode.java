@@ -0,0 +1,53 @@
+package me.donkeycore.dpl.ast;
+
+import me.donkeycore.dpl.Donkey;
+import me.donkeycore.dpl.Donkey.LogLevel;
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.statement.Statement;
+import me.donkeycore.dpl.variables.Template;
+
+/**
+ * Logs a message to console <br>
+ * Syntax: <code>@log:level message</code>
+ * 
+ * @see me.donkeycore.dpl.statement.Logger
+ * @since 1.0
+ */
+public class LogNode extends Node {
+	
+	/**
+	 * The level to log the message as
+	 * 
+	 * @since 1.0
+	 */
+	private final LogLevel level;
+	/**
+	 * The message to log, with variable references resolved to slots
+	 * 
+	 * @since 1.0
+	 */
+	private final Template message;
+	
+	/**
+	 * Create a new {@link LogNode}
+	 * 
+	 * @param statement The {@link Statement} containing the log statement
+	 * @param level The level to log the message as
+	 * @param message The message to log
+	 * @since 1.0
+	 */
+	public LogNode(Statement statement, LogLevel level, Template message) {
+		super(statement);
+		this.level = level;
+		this.message = message;
+	}
+	
+	public String getKeyword() {
+		return "@log:" + level.name().toLowerCase();
+	}
+	
+	public Object execute(ExecutionContext context) {
+		Donkey.log(level, message.render(context.getVariables()), "Script");
+		return null;
+	}
+}
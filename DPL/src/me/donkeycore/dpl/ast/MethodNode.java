@@ -0,0 +1,80 @@
+package me.donkeycore.dpl.ast;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.script.ScriptException;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.method.IMethod;
+import me.donkeycore.dpl.metrics.Metrics;
+import me.donkeycore.dpl.profile.FlightEvents;
+import me.donkeycore.dpl.statement.Statement;
+import me.donkeycore.dpl.variables.Template;
+
+/**
+ * Calls an {@link IMethod} resolved while parsing <br>
+ * Syntax: <code>name(args)</code>
+ * 
+ * @since 1.0
+ */
+public class MethodNode extends Node {
+	
+	/**
+	 * The method being called
+	 * 
+	 * @since 1.0
+	 */
+	private final IMethod target;
+	/**
+	 * The text between the parentheses, with variable references resolved to slots
+	 * 
+	 * @since 1.0
+	 */
+	private final Template args;
+	/**
+	 * The counter of the invocations of the target
+	 * 
+	 * @since 1.0
+	 */
+	private final LongAdder invocations;
+	
+	/**
+	 * Create a new {@link MethodNode}
+	 * 
+	 * @param statement The {@link Statement} calling the method
+	 * @param target The {@link IMethod} to call
+	 * @param args The text between the parentheses
+	 * @since 1.0
+	 */
+	public MethodNode(Statement statement, IMethod target, Template args) {
+		super(statement);
+		this.target = target;
+		this.args = args;
+		this.invocations = Metrics.invocations(target.getName());
+	}
+	
+	/**
+	 * Retrieve the method being called
+	 * 
+	 * @return The {@link IMethod} this node calls
+	 * @since 1.0
+	 */
+	public IMethod getTarget() {
+		return target;
+	}
+	
+	public String getKeyword() {
+		return target.getName();
+	}
+	
+	public Object execute(ExecutionContext context) throws DonkeyException, ScriptException {
+		invocations.increment();
+		Object event = FlightEvents.beginInvocation();
+		try {
+			return target.run(context, getStatement(), args.render(context.getVariables()).split(","));
+		} finally {
+			FlightEvents.endInvocation(event, context, getLineNumber(), target.getName());
+		}
+	}
+}
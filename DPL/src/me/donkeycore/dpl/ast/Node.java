@@ -0,0 +1,74 @@
+package me.donkeycore.dpl.ast;
+
+import javax.script.ScriptException;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.statement.Statement;
+
+/**
+ * A node of the parsed program tree. Every node is created once by the {@link me.donkeycore.dpl.parser.Parser Parser} and can be executed any number of times.
+ * 
+ * @see me.donkeycore.dpl.parser.Parser
+ * @since 1.0
+ */
+public abstract class Node {
+	
+	/**
+	 * The {@link Statement} this node was parsed from, or <code>null</code> for the program root
+	 * 
+	 * @since 1.0
+	 */
+	private final Statement statement;
+	
+	/**
+	 * Create a new {@link Node}
+	 * 
+	 * @param statement The {@link Statement} this node was parsed from
+	 * @since 1.0
+	 */
+	protected Node(Statement statement) {
+		this.statement = statement;
+	}
+	
+	/**
+	 * Retrieve the {@link Statement} this node was parsed from
+	 * 
+	 * @return The source statement, or <code>null</code> for the program root
+	 * @since 1.0
+	 */
+	public final Statement getStatement() {
+		return statement;
+	}
+	
+	/**
+	 * Retrieve the line number this node was parsed from
+	 * 
+	 * @return The line number, or <code>0</code> for the program root
+	 * @since 1.0
+	 */
+	public final int getLineNumber() {
+		return statement == null ? 0 : statement.getLineNumber();
+	}
+	
+	/**
+	 * Retrieve the name of the {@link me.donkeycore.dpl.method.IMethod IMethod} or {@link me.donkeycore.dpl.statement.IStatement IStatement} this node runs, used to group time spent by keyword when {@link me.donkeycore.dpl.profile.Profiler profiling}
+	 * 
+	 * @return The keyword, or <code>null</code> if the node does not run one
+	 * @since 1.0
+	 */
+	public String getKeyword() {
+		return null;
+	}
+	
+	/**
+	 * Execute the node
+	 * 
+	 * @param context The {@link ExecutionContext} of the running script
+	 * @return The object that the node returns, or <code>null</code> if there is no return
+	 * @throws DonkeyException If something goes wrong
+	 * @throws ScriptException If a math expression is invalid
+	 * @since 1.0
+	 */
+	public abstract Object execute(ExecutionContext context) throws DonkeyException, ScriptException;
+}
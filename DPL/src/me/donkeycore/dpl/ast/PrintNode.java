@@ -0,0 +1,53 @@
+package me.donkeycore.dpl.ast;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.statement.Statement;
+import me.donkeycore.dpl.variables.Template;
+
+/**
+ * Displays a message in the console <br>
+ * Syntax: <code>print message</code><br>
+ * Syntax: <code>println message</code>
+ * 
+ * @see me.donkeycore.dpl.statement.Print
+ * @see me.donkeycore.dpl.statement.Println
+ * @since 1.0
+ */
+public class PrintNode extends Node {
+	
+	/**
+	 * The message to display, with variable references resolved to slots
+	 * 
+	 * @since 1.0
+	 */
+	private final Template message;
+	/**
+	 * Whether to follow the message with a line break
+	 * 
+	 * @since 1.0
+	 */
+	private final boolean newline;
+	
+	/**
+	 * Create a new {@link PrintNode}
+	 * 
+	 * @param statement The {@link Statement} containing the print
+	 * @param message The message to display
+	 * @param newline Whether to follow the message with a line break
+	 * @since 1.0
+	 */
+	public PrintNode(Statement statement, Template message, boolean newline) {
+		super(statement);
+		this.message = message;
+		this.newline = newline;
+	}
+	
+	public String getKeyword() {
+		return newline ? "println" : "print";
+	}
+	
+	public Object execute(ExecutionContext context) {
+		context.getOutput().print(message.render(context.getVariables()), newline);
+		return null;
+	}
+}
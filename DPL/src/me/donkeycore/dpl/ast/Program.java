@@ -0,0 +1,81 @@
+package me.donkeycore.dpl.ast;
+
+import java.io.File;
+import java.util.List;
+
+import me.donkeycore.dpl.variables.SymbolTable;
+
+/**
+ * The root of a parsed script
+ * 
+ * @see me.donkeycore.dpl.parser.Parser#parse(File, List, me.donkeycore.dpl.io.BlockIndex)
+ * @since 1.0
+ */
+public final class Program extends BlockNode {
+	
+	/**
+	 * The file this program was parsed from
+	 * 
+	 * @since 1.0
+	 */
+	private final File file;
+	/**
+	 * The body of every <code>if</code> and <code>while</code> block, by the line opening it
+	 * 
+	 * @since 1.0
+	 */
+	private final BlockNode[] bodies;
+	/**
+	 * The slots of the variable names found in the program
+	 * 
+	 * @since 1.0
+	 */
+	private final SymbolTable symbols;
+	
+	/**
+	 * Create a new {@link Program}
+	 * 
+	 * @param file The file the program was parsed from
+	 * @param children The top-level nodes of the program
+	 * @param bodies The body of every block, by the line opening it
+	 * @param symbols The slots of the variable names found in the program
+	 * @since 1.0
+	 */
+	public Program(File file, List<Node> children, BlockNode[] bodies, SymbolTable symbols) {
+		super(null, children);
+		this.file = file;
+		this.bodies = bodies;
+		this.symbols = symbols;
+	}
+	
+	/**
+	 * Retrieve the file this program was parsed from
+	 * 
+	 * @return The source {@link File}
+	 * @since 1.0
+	 */
+	public File getFile() {
+		return file;
+	}
+	
+	/**
+	 * Retrieve the slots of the variable names found in the program
+	 * 
+	 * @return The {@link SymbolTable} of the program
+	 * @since 1.0
+	 */
+	public SymbolTable getSymbols() {
+		return symbols;
+	}
+	
+	/**
+	 * Retrieve the cached body of the <code>if</code> or <code>while</code> block opened on a line
+	 * 
+	 * @param line The line opening the block
+	 * @return The body of the block, or <code>null</code> if the line does not open one
+	 * @since 1.0
+	 */
+	public BlockNode getBody(int line) {
+		return line > 0 && line < bodies.length ? bodies[line] : null;
+	}
+}
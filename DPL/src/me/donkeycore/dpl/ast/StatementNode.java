@@ -0,0 +1,80 @@
+package me.donkeycore.dpl.ast;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.script.ScriptException;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.metrics.Metrics;
+import me.donkeycore.dpl.profile.FlightEvents;
+import me.donkeycore.dpl.statement.IStatement;
+import me.donkeycore.dpl.statement.Statement;
+import me.donkeycore.dpl.variables.Template;
+
+/**
+ * Runs an {@link IStatement} resolved while parsing <br>
+ * Syntax: <code>name args</code>
+ * 
+ * @since 1.0
+ */
+public class StatementNode extends Node {
+	
+	/**
+	 * The statement being run
+	 * 
+	 * @since 1.0
+	 */
+	private final IStatement target;
+	/**
+	 * The arguments given to the statement, with variable references resolved to slots
+	 * 
+	 * @since 1.0
+	 */
+	private final Template args;
+	/**
+	 * The counter of the invocations of the target
+	 * 
+	 * @since 1.0
+	 */
+	private final LongAdder invocations;
+	
+	/**
+	 * Create a new {@link StatementNode}
+	 * 
+	 * @param statement The {@link Statement} calling the statement
+	 * @param target The {@link IStatement} to run
+	 * @param args The arguments given to the statement
+	 * @since 1.0
+	 */
+	public StatementNode(Statement statement, IStatement target, Template args) {
+		super(statement);
+		this.target = target;
+		this.args = args;
+		this.invocations = Metrics.invocations(target.getName());
+	}
+	
+	/**
+	 * Retrieve the statement being run
+	 * 
+	 * @return The {@link IStatement} this node runs
+	 * @since 1.0
+	 */
+	public IStatement getTarget() {
+		return target;
+	}
+	
+	public String getKeyword() {
+		return target.getName();
+	}
+	
+	public Object execute(ExecutionContext context) throws DonkeyException, ScriptException {
+		invocations.increment();
+		Object event = FlightEvents.beginInvocation();
+		try {
+			return target.run(context, getStatement(), args.render(context.getVariables()));
+		} finally {
+			FlightEvents.endInvocation(event, context, getLineNumber(), target.getName());
+		}
+	}
+}
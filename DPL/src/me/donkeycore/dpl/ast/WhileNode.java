@@ -0,0 +1,71 @@
+package me.donkeycore.dpl.ast;
+
+import javax.script.ScriptException;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.conditional.Compare;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.statement.Statement;
+
+/**
+ * Repeats its body until a condition is false <br>
+ * Syntax: <code>while(condition) { ...</code>
+ * 
+ * @see me.donkeycore.dpl.method.While
+ * @since 1.0
+ */
+public class WhileNode extends Node {
+	
+	/**
+	 * The node repeated while the condition is true
+	 * 
+	 * @since 1.0
+	 */
+	private final Node body;
+	/**
+	 * The condition
+	 * 
+	 * @since 1.0
+	 */
+	private final Compare condition;
+	
+	/**
+	 * Create a new {@link WhileNode}
+	 * 
+	 * @param statement The {@link Statement} containing the condition
+	 * @param condition The condition
+	 * @param body The node repeated while the condition is true
+	 * @since 1.0
+	 */
+	public WhileNode(Statement statement, Compare condition, Node body) {
+		super(statement);
+		this.condition = condition;
+		this.body = body;
+	}
+	
+	/**
+	 * Retrieve the body of this block
+	 * 
+	 * @return The node repeated while the condition is true
+	 * @since 1.0
+	 */
+	public Node getBody() {
+		return body;
+	}
+	
+	public String getKeyword() {
+		return "while";
+	}
+	
+	public Object execute(ExecutionContext context) throws DonkeyException, ScriptException {
+		boolean run = false;
+		while(context.canRun(getLineNumber())) {
+			context.setLine(getLineNumber());
+			if (!condition.isTrue(context))
+				break;
+			run = true;
+			body.execute(context);
+		}
+		return run;
+	}
+}
@@ -4,27 +4,49 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import me.donkeycore.dpl.Donkey;
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.ExpressionCache;
 import me.donkeycore.dpl.conditional.booleanexpression.BooleanExpression;
 import me.donkeycore.dpl.exceptions.DonkeyException;
 import me.donkeycore.dpl.exceptions.MalformedBooleanException;
 import me.donkeycore.dpl.method.IMethod;
 import me.donkeycore.dpl.statement.IStatement;
 import me.donkeycore.dpl.statement.Statement;
+import me.donkeycore.dpl.variables.SymbolTable;
 import me.donkeycore.dpl.variables.Variable;
 
 /**
- * Compute a boolean value from a statement
+ * Compute a boolean value from a statement. A {@link Compare} created with {@link Compare#compile(Statement, SymbolTable)} evaluates a condition compiled into typed comparisons that read variable slots directly. Otherwise the condition is compiled once per text, before its variables are substituted, into comparisons that look the variables up by name; a condition that cannot be compiled is rewritten as text and read as a {@link BooleanExpression} every time.
  * 
  * @since 1.0
  */
 public class Compare {
 	
+	/**
+	 * The conditions of statements evaluated without a {@link SymbolTable}, keyed by their text before variables are substituted
+	 * 
+	 * @since 1.0
+	 */
+	private static final ExpressionCache<Condition> CONDITIONS = new ExpressionCache<Condition>(512);
+	/**
+	 * Cached in {@link Compare#CONDITIONS} for a condition that cannot be compiled
+	 * 
+	 * @since 1.0
+	 */
+	private static final Condition TEXT = new Condition.Constant(false);
+	
 	/**
 	 * The statement being evaluated
 	 * 
 	 * @since 1.0
 	 */
 	private final Statement statement;
+	/**
+	 * The compiled condition, or <code>null</code> to evaluate the statement as text
+	 * 
+	 * @since 1.0
+	 */
+	private final Condition condition;
 	
 	/**
 	 * Create a new {@link Compare} object
@@ -34,7 +56,73 @@ public class Compare {
 	 * @since 1.0
 	 */
 	public Compare(Statement statement) {
+		this(statement, null);
+	}
+	
+	private Compare(Statement statement, Condition condition) {
 		this.statement = statement;
+		this.condition = condition;
+	}
+	
+	/**
+	 * Compile the condition in the parenthesis of an <code>if</code> or <code>while</code> statement. Conditions that cannot be compiled are evaluated as text, the same as {@link Compare#Compare(Statement)}.
+	 * 
+	 * @param statement The statement with the conditional statement
+	 * @param symbols The table assigning slots to referenced names
+	 * @return The new {@link Compare} object
+	 * @since 1.0
+	 */
+	public static Compare compile(Statement statement, SymbolTable symbols) {
+		String c = condition(statement.getStatement());
+		if (c == null)
+			return new Compare(statement);
+		return new Compare(statement, ConditionParser.parse(c, symbols));
+	}
+	
+	/**
+	 * Retrieve the cache of the conditions evaluated by {@link Compare#Compare(Statement)}, for its counters
+	 * 
+	 * @return The cache of conditions
+	 * @see me.donkeycore.dpl.metrics.Metrics#getConditionCache()
+	 * @since 1.0
+	 */
+	public static ExpressionCache<?> getConditionCache() {
+		return CONDITIONS;
+	}
+	
+	/**
+	 * Find the condition in the parenthesis of an <code>if</code> or <code>while</code> statement
+	 * 
+	 * @param text The text of the statement
+	 * @return The condition, or <code>null</code> if it is not closed or is the name of a statement
+	 * @since 1.0
+	 */
+	private static String condition(String text) {
+		int open = text.indexOf('(');
+		int close = open == -1 ? -1 : ConditionParser.findClose(text, open);
+		if (close == -1)
+			return null;
+		String c = text.substring(open + 1, close).trim();
+		return Statement.getKeywords().getStatement(c) == null ? c : null;
+	}
+	
+	/**
+	 * Retrieve the compiled condition of a statement evaluated without a {@link SymbolTable}, compiling it on first use
+	 * 
+	 * @param text The text of the statement, before variables are substituted
+	 * @return The condition, or <code>null</code> if it must be rewritten as text
+	 * @since 1.0
+	 */
+	private static Condition cached(String text) {
+		String c = condition(text);
+		if (c == null)
+			return null;
+		Condition b = CONDITIONS.get(c);
+		if (b == null) {
+			b = ConditionParser.parse(c, null);
+			b = CONDITIONS.put(c, b == null ? TEXT : b);
+		}
+		return b == TEXT ? null : b;
 	}
 	
 	/**
@@ -48,20 +136,36 @@ public class Compare {
 	}
 	
 	/**
-	 * Evaluate if the conditional is true
+	 * Evaluate if the conditional is true in the {@link ExecutionContext} running on this thread
 	 * 
 	 * @return Whether the conditional is true
+	 * @see Compare#isTrue(ExecutionContext)
 	 * @since 1.0
 	 */
 	public Boolean isTrue() {
+		return isTrue(ExecutionContext.current());
+	}
+	
+	/**
+	 * Evaluate if the conditional is true
+	 * 
+	 * @param context The {@link ExecutionContext} of the running script
+	 * @return Whether the conditional is true
+	 * @since 1.0
+	 */
+	public Boolean isTrue(ExecutionContext context) {
+		if (condition != null)
+			return condition.isTrue(context, statement);
 		String c = statement.getStatement();
+		Condition compiled = cached(c);
+		if (compiled != null)
+			return compiled.isTrue(context, statement);
 		c = c.replaceAll(".*(if|while)\\(", "").replaceAll("\\).*", "");
-		for(Variable v : Variable.getVariables())
-			c = v.replace(c);
+		c = Variable.replaceAll(c);
 		for(IMethod m : Donkey.getMethods()) {
 			if (c.startsWith(m.getName() + "(")) {
 				try {
-					Object o = m.run(statement, c.replace(m.getName(), "").split(","));
+					Object o = m.run(context, statement, c.replace(m.getName(), "").split(","));
 					if (o instanceof Boolean)
 						return (Boolean) o;
 				} catch(DonkeyException e) {
@@ -72,7 +176,7 @@ public class Compare {
 		for(IStatement s : Donkey.getStatements()) {
 			if (c.equals(s.getName())) {
 				try {
-					Object o = s.run(statement, c.replace(s.getName(), ""));
+					Object o = s.run(context, statement, c.replace(s.getName(), ""));
 					if (o instanceof Boolean)
 						return (Boolean) o;
 				} catch(DonkeyException e) {
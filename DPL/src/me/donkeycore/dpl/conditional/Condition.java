@@ -0,0 +1,174 @@
+package me.donkeycore.dpl.conditional;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.statement.Statement;
+
+/**
+ * A node of a compiled <code>if</code> or <code>while</code> condition
+ * 
+ * @see ConditionParser
+ * @see Compare#compile(Statement, me.donkeycore.dpl.variables.SymbolTable)
+ * @since 1.0
+ */
+abstract class Condition {
+	
+	/**
+	 * Evaluate this node
+	 * 
+	 * @param context The {@link ExecutionContext} of the running script
+	 * @param statement The statement containing the condition
+	 * @return Whether the condition is true
+	 * @since 1.0
+	 */
+	abstract boolean isTrue(ExecutionContext context, Statement statement);
+	
+	/**
+	 * <code>true</code> or <code>false</code> written in the condition
+	 * 
+	 * @since 1.0
+	 */
+	static final class Constant extends Condition {
+		
+		private final boolean value;
+		
+		Constant(boolean value) {
+			this.value = value;
+		}
+		
+		boolean isTrue(ExecutionContext context, Statement statement) {
+			return value;
+		}
+	}
+	
+	/**
+	 * An operand used as a condition on its own, such as a method returning a boolean. It is true if its value is <code>true</code>.
+	 * 
+	 * @since 1.0
+	 */
+	static final class Truth extends Condition {
+		
+		private final Operand operand;
+		
+		Truth(Operand operand) {
+			this.operand = operand;
+		}
+		
+		boolean isTrue(ExecutionContext context, Statement statement) {
+			return "true".equals(operand.text(context, statement).trim());
+		}
+	}
+	
+	/**
+	 * A <code>!</code> in front of a condition
+	 * 
+	 * @since 1.0
+	 */
+	static final class Not extends Condition {
+		
+		private final Condition operand;
+		
+		Not(Condition operand) {
+			this.operand = operand;
+		}
+		
+		boolean isTrue(ExecutionContext context, Statement statement) {
+			return !operand.isTrue(context, statement);
+		}
+	}
+	
+	/**
+	 * Two conditions joined by <code>&amp;&amp;</code> or <code>||</code>. The right condition is only evaluated if it decides the result.
+	 * 
+	 * @since 1.0
+	 */
+	static final class Join extends Condition {
+		
+		private final boolean and;
+		private final Condition left;
+		private final Condition right;
+		
+		Join(boolean and, Condition left, Condition right) {
+			this.and = and;
+			this.left = left;
+			this.right = right;
+		}
+		
+		boolean isTrue(ExecutionContext context, Statement statement) {
+			if (left.isTrue(context, statement) != and)
+				return !and;
+			return right.isTrue(context, statement);
+		}
+	}
+	
+	/**
+	 * A comparison: one of <code>&lt; &gt; &lt;= &gt;= == !=</code><br>
+	 * Two numbers are compared by value. Otherwise <code>==</code> and <code>!=</code> compare the text of the operands ignoring case, and every other comparison is false.
+	 * 
+	 * @since 1.0
+	 */
+	static final class Comparison extends Condition {
+		
+		static final int LT = 0;
+		static final int GT = 1;
+		static final int LE = 2;
+		static final int GE = 3;
+		static final int EQ = 4;
+		static final int NE = 5;
+		
+		private final int op;
+		private final Operand left;
+		private final Operand right;
+		/**
+		 * Whether an operand calls a method, and so must only be read once
+		 * 
+		 * @since 1.0
+		 */
+		private final boolean calls;
+		
+		Comparison(int op, Operand left, Operand right) {
+			this.op = op;
+			this.left = left;
+			this.right = right;
+			this.calls = left instanceof Operand.Call || right instanceof Operand.Call;
+		}
+		
+		boolean isTrue(ExecutionContext context, Statement statement) {
+			if (calls)
+				return compare(left.text(context, statement), right.text(context, statement));
+			double a = left.number(context, statement);
+			double b = right.number(context, statement);
+			if (a == a && b == b)
+				return compare(a, b);
+			if (op != EQ && op != NE)
+				return false;
+			return left.text(context, statement).equalsIgnoreCase(right.text(context, statement)) == (op == EQ);
+		}
+		
+		private boolean compare(double a, double b) {
+			switch(op) {
+				case LT:
+					return a < b;
+				case GT:
+					return a > b;
+				case LE:
+					return a <= b;
+				case GE:
+					return a >= b;
+				case EQ:
+					return a == b;
+				default:
+					return a != b;
+			}
+		}
+		
+		private boolean compare(String a, String b) {
+			double x = Operand.parse(a);
+			double y = Operand.parse(b);
+			if (x == x && y == y)
+				return compare(x, y);
+			if (op != EQ && op != NE)
+				return false;
+			return a.equalsIgnoreCase(b) == (op == EQ);
+		}
+	}
+}
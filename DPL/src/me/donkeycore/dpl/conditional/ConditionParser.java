@@ -0,0 +1,216 @@
+package me.donkeycore.dpl.conditional;
+
+import me.donkeycore.dpl.exceptions.MathException;
+import me.donkeycore.dpl.math.MathExpression;
+import me.donkeycore.dpl.method.IMethod;
+import me.donkeycore.dpl.statement.Statement;
+import me.donkeycore.dpl.variables.SymbolTable;
+import me.donkeycore.dpl.variables.Template;
+
+/**
+ * Compiles the text of a condition into {@link Condition} nodes. <code>&amp;&amp;</code> and <code>||</code> are read from left to right like {@link me.donkeycore.dpl.conditional.booleanexpression.BooleanExpression#readLeftToRight(String)}, and each part between them is one of:
+ * 
+ * <pre>
+ * true, false
+ * !A           <code>Negates a part</code>
+ * (A)          <code>Groups a condition</code>
+ * A op B       <code>Compares two operands with &lt; &gt; &lt;= &gt;= == !=</code>
+ * A            <code>An operand whose value is true</code>
+ * </pre>
+ * 
+ * An operand is a number, a {@code `KEY`} reference, arithmetic, a method call, or any other text, optionally in double quotes.
+ * 
+ * @see Compare#compile(Statement, SymbolTable)
+ * @since 1.0
+ */
+final class ConditionParser {
+	
+	/**
+	 * The table assigning slots to referenced names, or <code>null</code> to look names up when evaluating
+	 * 
+	 * @since 1.0
+	 */
+	private final SymbolTable symbols;
+	
+	private ConditionParser(SymbolTable symbols) {
+		this.symbols = symbols;
+	}
+	
+	/**
+	 * Compile a condition
+	 * 
+	 * @param text The condition, without the parenthesis of the <code>if</code> or <code>while</code>
+	 * @param symbols The table assigning slots to referenced names, or <code>null</code> to look names up when evaluating
+	 * @return The root node of the condition, or <code>null</code> if the condition cannot be compiled
+	 * @since 1.0
+	 */
+	static Condition parse(String text, SymbolTable symbols) {
+		return new ConditionParser(symbols).parseJoin(text);
+	}
+	
+	/**
+	 * Find the parenthesis closing the one at an index, skipping variable references and quoted text
+	 * 
+	 * @param text The text to search
+	 * @param open The index of the open parenthesis
+	 * @return The index of the close parenthesis, or <code>-1</code> if it is not closed
+	 * @since 1.0
+	 */
+	static int findClose(String text, int open) {
+		int depth = 0;
+		for(int i = open; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '`' || c == '"') {
+				i = text.indexOf(c, i + 1);
+				if (i == -1)
+					return -1;
+			} else if (c == '(') {
+				depth++;
+			} else if (c == ')' && --depth == 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	private Condition parseJoin(String text) {
+		Condition left = null;
+		boolean and = false;
+		int start = 0;
+		for(int i = 0; i <= text.length(); i++) {
+			char c = i == text.length() ? 0 : text.charAt(i);
+			if (c == '(') {
+				i = findClose(text, i);
+				if (i == -1)
+					return null;
+			} else if (c == '`' || c == '"') {
+				i = text.indexOf(c, i + 1);
+				if (i == -1)
+					return null;
+			} else if (c == 0 || (c == '&' || c == '|') && i + 1 < text.length() && text.charAt(i + 1) == c) {
+				Condition right = parsePart(text.substring(start, i).trim());
+				if (right == null)
+					return null;
+				left = left == null ? right : new Condition.Join(and, left, right);
+				and = c == '&';
+				start = i + 2;
+				i++;
+			}
+		}
+		return left;
+	}
+	
+	private Condition parsePart(String text) {
+		if (text.isEmpty())
+			return null;
+		if (text.charAt(0) == '!' && !text.startsWith("!=")) {
+			Condition c = parsePart(text.substring(1).trim());
+			return c == null ? null : new Condition.Not(c);
+		}
+		if (text.equals("true"))
+			return new Condition.Constant(true);
+		if (text.equals("false"))
+			return new Condition.Constant(false);
+		if (text.charAt(0) == '(' && findClose(text, 0) == text.length() - 1) {
+			String inner = text.substring(1, text.length() - 1).trim();
+			if (isCondition(inner))
+				return parseJoin(inner);
+		}
+		int op = -1;
+		int at = -1;
+		int size = 0;
+		for(int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			boolean eq = i + 1 < text.length() && text.charAt(i + 1) == '=';
+			int found = -1;
+			if (c == '(') {
+				i = findClose(text, i);
+				if (i == -1)
+					return null;
+			} else if (c == '`' || c == '"') {
+				i = text.indexOf(c, i + 1);
+				if (i == -1)
+					return null;
+			} else if (c == '<') {
+				found = eq ? Condition.Comparison.LE : Condition.Comparison.LT;
+			} else if (c == '>') {
+				found = eq ? Condition.Comparison.GE : Condition.Comparison.GT;
+			} else if (c == '=' || c == '!' && eq) {
+				if (!eq)
+					return null;
+				found = c == '=' ? Condition.Comparison.EQ : Condition.Comparison.NE;
+			}
+			if (found != -1) {
+				if (op != -1)
+					return null;
+				op = found;
+				at = i;
+				size = eq ? 2 : 1;
+				i += size - 1;
+			}
+		}
+		if (op == -1) {
+			Operand o = parseOperand(text);
+			return o == null ? null : new Condition.Truth(o);
+		}
+		Operand left = parseOperand(text.substring(0, at).trim());
+		Operand right = parseOperand(text.substring(at + size).trim());
+		if (left == null || right == null)
+			return null;
+		return new Condition.Comparison(op, left, right);
+	}
+	
+	/**
+	 * Checks if text in parenthesis is a condition rather than arithmetic
+	 * 
+	 * @param text The text in the parenthesis
+	 * @return Whether the text contains a comparison or a boolean operator
+	 * @since 1.0
+	 */
+	private static boolean isCondition(String text) {
+		for(int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '`' || c == '"') {
+				i = text.indexOf(c, i + 1);
+				if (i == -1)
+					return false;
+			} else if ("<>=!&|".indexOf(c) != -1 || text.startsWith("true", i) || text.startsWith("false", i)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private Operand parseOperand(String text) {
+		if (text.isEmpty())
+			return null;
+		int len = text.length();
+		if (len > 1 && text.charAt(0) == '"' && text.charAt(len - 1) == '"' && text.indexOf('"', 1) == len - 1)
+			return parseText(text.substring(1, len - 1));
+		if (len > 2 && text.charAt(0) == '`' && text.indexOf('`', 1) == len - 1) {
+			String name = text.substring(1, len - 1);
+			if (name.indexOf(' ') == -1)
+				return new Operand.Reference(name, symbols == null ? -1 : symbols.slotOf(name));
+		}
+		IMethod m = Statement.getKeywords().findMethod(text);
+		if (m != null) {
+			int open = text.indexOf('(');
+			if (findClose(text, open) == len - 1)
+				return new Operand.Call(m, Template.compile(text.substring(open + 1, len - 1), symbols));
+		}
+		if (MathExpression.isArithmetic(text)) {
+			try {
+				MathExpression math = MathExpression.compile(text, symbols);
+				return Double.isNaN(Operand.parse(text)) ? new Operand.Arithmetic(math) : new Operand.Constant(text);
+			} catch(MathException e) {
+				return null;
+			}
+		}
+		return parseText(text);
+	}
+	
+	private Operand parseText(String text) {
+		Template t = Template.compile(text, symbols);
+		return t.isConstant() ? new Operand.Constant(t.render(null)) : new Operand.Text(t);
+	}
+}
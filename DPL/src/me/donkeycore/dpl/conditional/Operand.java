@@ -0,0 +1,216 @@
+package me.donkeycore.dpl.conditional;
+
+import me.donkeycore.dpl.Donkey;
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.exceptions.MathException;
+import me.donkeycore.dpl.math.MathExpression;
+import me.donkeycore.dpl.method.IMethod;
+import me.donkeycore.dpl.statement.Statement;
+import me.donkeycore.dpl.variables.Template;
+import me.donkeycore.dpl.variables.VarNumber;
+import me.donkeycore.dpl.variables.Variable;
+
+/**
+ * One side of a comparison in a compiled {@link Condition}. Every operand can be read as a number and as text; a value that is not a number reads as {@link Double#NaN}, so ordering comparisons with it are false.
+ * 
+ * @see ConditionParser
+ * @since 1.0
+ */
+abstract class Operand {
+	
+	/**
+	 * Read the operand as a number
+	 * 
+	 * @param context The {@link ExecutionContext} of the running script
+	 * @param statement The statement containing the condition
+	 * @return The value, or {@link Double#NaN} if it is not a number
+	 * @since 1.0
+	 */
+	abstract double number(ExecutionContext context, Statement statement);
+	
+	/**
+	 * Read the operand as text
+	 * 
+	 * @param context The {@link ExecutionContext} of the running script
+	 * @param statement The statement containing the condition
+	 * @return The value as it would be substituted into the condition
+	 * @since 1.0
+	 */
+	abstract String text(ExecutionContext context, Statement statement);
+	
+	/**
+	 * Parse text as a number without throwing
+	 * 
+	 * @param s The text to parse
+	 * @return The number, or {@link Double#NaN} if the text is not a number
+	 * @since 1.0
+	 */
+	static double parse(String s) {
+		s = s.trim();
+		if (s.isEmpty())
+			return Double.NaN;
+		for(int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if ((c < '0' || c > '9') && c != '.' && c != '-' && c != '+' && c != 'e' && c != 'E')
+				return Double.NaN;
+		}
+		try {
+			return Double.parseDouble(s);
+		} catch(NumberFormatException e) {
+			return Double.NaN;
+		}
+	}
+	
+	/**
+	 * Text that does not reference any variable
+	 * 
+	 * @since 1.0
+	 */
+	static final class Constant extends Operand {
+		
+		private final String text;
+		private final double number;
+		
+		Constant(String text) {
+			this.text = text;
+			this.number = parse(text);
+		}
+		
+		double number(ExecutionContext context, Statement statement) {
+			return number;
+		}
+		
+		String text(ExecutionContext context, Statement statement) {
+			return text;
+		}
+	}
+	
+	/**
+	 * A {@code `KEY`} reference to a variable. Numeric variables are read without going through text.
+	 * 
+	 * @since 1.0
+	 */
+	static final class Reference extends Operand {
+		
+		private final String name;
+		private final int slot;
+		
+		Reference(String name, int slot) {
+			this.name = name;
+			this.slot = slot;
+		}
+		
+		double number(ExecutionContext context, Statement statement) {
+			Variable v = lookup(context);
+			if (v instanceof VarNumber)
+				return ((VarNumber) v).getDouble();
+			return v == null ? Double.NaN : parse(v.getValueString());
+		}
+		
+		String text(ExecutionContext context, Statement statement) {
+			Variable v = lookup(context);
+			return v == null ? '`' + name + '`' : v.getValueString();
+		}
+		
+		private Variable lookup(ExecutionContext context) {
+			return slot == -1 ? context.getVariables().get(name) : context.getVariables().get(slot);
+		}
+	}
+	
+	/**
+	 * Text containing variable references
+	 * 
+	 * @since 1.0
+	 */
+	static final class Text extends Operand {
+		
+		private final Template template;
+		
+		Text(Template template) {
+			this.template = template;
+		}
+		
+		double number(ExecutionContext context, Statement statement) {
+			return parse(template.render(context.getVariables()));
+		}
+		
+		String text(ExecutionContext context, Statement statement) {
+			return template.render(context.getVariables());
+		}
+	}
+	
+	/**
+	 * An arithmetic expression
+	 * 
+	 * @since 1.0
+	 */
+	static final class Arithmetic extends Operand {
+		
+		private final MathExpression math;
+		
+		Arithmetic(MathExpression math) {
+			this.math = math;
+		}
+		
+		double number(ExecutionContext context, Statement statement) {
+			try {
+				return math.evaluate(context.getVariables(), context.getScratch()).getDouble();
+			} catch(MathException e) {
+				return Double.NaN;
+			}
+		}
+		
+		String text(ExecutionContext context, Statement statement) {
+			try {
+				return math.evaluate(context.getVariables(), context.getScratch()).toString();
+			} catch(MathException e) {
+				return math.toString();
+			}
+		}
+	}
+	
+	/**
+	 * The result of calling an {@link IMethod}
+	 * 
+	 * @since 1.0
+	 */
+	static final class Call extends Operand {
+		
+		private final IMethod method;
+		private final Template args;
+		
+		Call(IMethod method, Template args) {
+			this.method = method;
+			this.args = args;
+		}
+		
+		/**
+		 * Call the method
+		 * 
+		 * @param context The {@link ExecutionContext} of the running script
+		 * @param statement The statement containing the condition
+		 * @return The object the method returned, or <code>null</code> if it failed
+		 * @since 1.0
+		 */
+		Object call(ExecutionContext context, Statement statement) {
+			try {
+				return method.run(context, statement, args.render(context.getVariables()).split(","));
+			} catch(DonkeyException e) {
+				Donkey.printError(e);
+				return null;
+			}
+		}
+		
+		double number(ExecutionContext context, Statement statement) {
+			Object o = call(context, statement);
+			if (o instanceof Number)
+				return ((Number) o).doubleValue();
+			return o == null ? Double.NaN : parse(o.toString());
+		}
+		
+		String text(ExecutionContext context, Statement statement) {
+			return String.valueOf(call(context, statement));
+		}
+	}
+}
@@ -0,0 +1,411 @@
+package me.donkeycore.dpl.conditional.booleanexpression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import me.donkeycore.dpl.exceptions.MalformedBooleanException;
+
+/**
+ * A single pass parser for boolean expressions read from left to right. <code>&amp;&amp;</code> and <code>||</code> share the same precedence and group to the left, while <code>!</code> only applies to the operand directly after it:
+ * 
+ * <pre>
+ * !true &amp;&amp; false || true  <code>(((!true)&amp;&amp;false)||true)</code>
+ * </pre>
+ * 
+ * Validating, tokenizing and building the {@link IBoolean} tree happen in the same loop over the characters of the expression. Parenthesized groups are kept on an explicit stack, so the depth of an expression is not limited by the Java stack. Invalid characters are reported first, then unbalanced parenthesis, with the same indexes as {@link BooleanUtil#validAndformat(String)}. Misplaced operands or operators are reported last, with the message and index the original parser gave them, which read the expression from its last character; see {@link BooleanParser#locate()}.
+ * 
+ * @see BooleanExpressionLR
+ * @since 1.0
+ */
+final class BooleanParser {
+	
+	private static final int OPERAND = 0;
+	private static final int AND = 1;
+	private static final int OR = 2;
+	private static final int NOT = 3;
+	private static final int OPEN = 4;
+	private static final int CLOSE = 5;
+	
+	/**
+	 * A parenthesized group that is still being parsed
+	 * 
+	 * @since 1.0
+	 */
+	private static final class Group {
+		
+		/**
+		 * The group containing this one, or <code>null</code> for the whole expression
+		 * 
+		 * @since 1.0
+		 */
+		private final Group outer;
+		/**
+		 * The amount of <code>!</code> to apply to this group once it is closed
+		 * 
+		 * @since 1.0
+		 */
+		private final int negations;
+		/**
+		 * The value of the group so far, or <code>null</code> if no operand has been read
+		 * 
+		 * @since 1.0
+		 */
+		private IBoolean left;
+		/**
+		 * The operator waiting for its right operand, or {@link BooleanParser#OPERAND} if there is none
+		 * 
+		 * @since 1.0
+		 */
+		private int operator = OPERAND;
+		/**
+		 * The amount of <code>!</code> to apply to the next operand
+		 * 
+		 * @since 1.0
+		 */
+		private int pending = 0;
+		
+		private Group(Group outer, int negations) {
+			this.outer = outer;
+			this.negations = negations;
+		}
+	}
+	
+	/**
+	 * The expression being parsed
+	 * 
+	 * @since 1.0
+	 */
+	private final String text;
+	/**
+	 * The innermost group being parsed
+	 * 
+	 * @since 1.0
+	 */
+	private Group group = new Group(null, 0);
+	/**
+	 * Whether the next token has to be an operand
+	 * 
+	 * @since 1.0
+	 */
+	private boolean expectOperand = true;
+	/**
+	 * The index right after the last token that was parsed
+	 * 
+	 * @since 1.0
+	 */
+	private int end = 0;
+	/**
+	 * The message of the first misplaced token, or <code>null</code> if there is none
+	 * 
+	 * @since 1.0
+	 */
+	private String error;
+	/**
+	 * The index of the first misplaced token
+	 * 
+	 * @since 1.0
+	 */
+	private int errorIndex;
+	
+	private BooleanParser(String text) {
+		this.text = text;
+	}
+	
+	/**
+	 * Parse a boolean expression from left to right
+	 * 
+	 * @param booleanExpression The boolean expression to parse
+	 * @return The root of the parsed expression
+	 * @throws MalformedBooleanException If the boolean expression is malformed
+	 * @since 1.0
+	 */
+	static IBoolean parse(String booleanExpression) throws MalformedBooleanException {
+		if (booleanExpression == null || booleanExpression.isEmpty())
+			throw new IllegalArgumentException("booleanExpression is null or void");
+		return new BooleanParser(booleanExpression).parse();
+	}
+	
+	private IBoolean parse() throws MalformedBooleanException {
+		int length = text.length();
+		List<Integer> invalid = null;
+		int runStart = -1;
+		int open = 0;
+		int lastOpen = 0;
+		int unopened = -1;
+		int i = 0;
+		while(i < length) {
+			char c = text.charAt(i);
+			int token;
+			int size = 1;
+			IBoolean operand = null;
+			switch(c) {
+				case ' ':
+				case '\t':
+				case '\n':
+				case '\u000B':
+				case '\f':
+				case '\r':
+					token = -1;
+					break;
+				case '(':
+					token = OPEN;
+					break;
+				case ')':
+					token = CLOSE;
+					break;
+				case '!':
+					token = NOT;
+					break;
+				case '&':
+					token = text.startsWith("&&", i) ? AND : -2;
+					size = 2;
+					break;
+				case '|':
+					token = text.startsWith("||", i) ? OR : -2;
+					size = 2;
+					break;
+				case 't':
+					token = text.startsWith("true", i) ? OPERAND : -2;
+					if (token == OPERAND)
+						operand = new Boolean(true);
+					size = 4;
+					break;
+				case 'f':
+					token = text.startsWith("false", i) ? OPERAND : -2;
+					if (token == OPERAND)
+						operand = new Boolean(false);
+					size = 5;
+					break;
+				default:
+					token = -2;
+					break;
+			}
+			if (token == -2) {
+				// Same indexes as matching the valid characters with a regular expression: the bounds of every valid run
+				if (invalid == null)
+					invalid = new ArrayList<Integer>();
+				if (runStart > 0)
+					invalid.add(runStart);
+				if (runStart != -1)
+					invalid.add(i);
+				runStart = -1;
+				i++;
+				continue;
+			}
+			if (runStart == -1)
+				runStart = i;
+			if (token == OPEN) {
+				lastOpen = i;
+				open++;
+			} else if (token == CLOSE && --open < 0 && unopened == -1)
+				unopened = i;
+			if (token != -1 && invalid == null && unopened == -1 && error == null)
+				accept(token, operand, i + size);
+			i += size;
+		}
+		if (invalid != null) {
+			if (runStart > 0)
+				invalid.add(runStart);
+			if (invalid.isEmpty())
+				invalid.add(0);
+			throw new MalformedBooleanException("Expected [ ' ' ( ) || && ! true false ]", invalid, text);
+		}
+		if (unopened != -1)
+			throw new MalformedBooleanException("Have a close parenthesis without an open parenthesis", unopened, text);
+		if (open > 0)
+			throw new MalformedBooleanException("Have an open parenthesis without a close parenthesis", lastOpen, text);
+		if (error == null && expectOperand)
+			fail("Expected [ (, true, false, ! ]");
+		if (error != null) {
+			MalformedBooleanException e = locate();
+			throw e != null ? e : new MalformedBooleanException(error, errorIndex, text);
+		}
+		return group.left;
+	}
+	
+	/**
+	 * Find the misplaced token the way the original parser did. It formatted the expression into one character per token, then read it from the last character, parsing the inside of every parenthesized group before the text in front of it. The index it reported counts back from the length of the expression by the length of every token read, except that the text in front of a group is read as if it ended at the close parenthesis. This only runs once the expression is known to be malformed, and keeps the groups still to read on an explicit stack.
+	 * 
+	 * @return The exception the original parser threw, or <code>null</code> if it did not find a misplaced token
+	 * @since 1.0
+	 */
+	private MalformedBooleanException locate() {
+		String f = text.toUpperCase().replace("TRUE", "T").replace("FALSE", "F").replace("||", "|").replace("&&", "&");
+		int[] stack = new int[12];
+		int sp = 0;
+		int start = 0;
+		int end = f.length();
+		int index = text.length();
+		boolean operand = true;
+		while(true) {
+			char c = end > start ? f.charAt(end - 1) : '.';
+			if (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') {
+				end--;
+				index--;
+			} else if (operand) {
+				switch(c) {
+					case ')':
+						end--;
+						index--;
+						int open = end;
+						if (end > start) {
+							open = openOf(f, start, end);
+							if (open < 0)
+								return new MalformedBooleanException("Have a close parenthesis without an open parenthesis", index - (end - start) - 1, text);
+						}
+						if (sp == stack.length)
+							stack = Arrays.copyOf(stack, sp * 2);
+						stack[sp++] = start;
+						stack[sp++] = open;
+						stack[sp++] = index;
+						start = Math.min(open + 1, end);
+						break;
+					case 'T':
+						end--;
+						index -= 4;
+						operand = false;
+						break;
+					case 'F':
+						end--;
+						index -= 5;
+						operand = false;
+						break;
+					default:
+						return new MalformedBooleanException("Expected [ ' ', ), true, false ]", index, text);
+				}
+			} else {
+				switch(c) {
+					case '.':
+						if (sp == 0)
+							return null;
+						index = stack[--sp];
+						end = stack[--sp];
+						start = stack[--sp];
+						break;
+					case '(':
+					case '!':
+						end--;
+						index--;
+						break;
+					case '|':
+					case '&':
+						end--;
+						index -= 2;
+						operand = true;
+						break;
+					default:
+						return new MalformedBooleanException("Expected [ ' ', ), ||, &&, ! ]", index, text);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Find the open parenthesis the original parser paired with a close parenthesis, by stepping back through the open and close parenthesis in front of it together
+	 * 
+	 * @param f The formatted expression
+	 * @param start The index the text being read starts at
+	 * @param end The index of the close parenthesis
+	 * @return The index of the open parenthesis, or <code>-1</code> if there is none
+	 * @since 1.0
+	 */
+	private static int openOf(String f, int start, int end) {
+		int open = lastIndexOf(f, '(', start, end);
+		int close = lastIndexOf(f, ')', start, end);
+		while(close != -1 && open < close) {
+			open = lastIndexOf(f, '(', start, open);
+			close = lastIndexOf(f, ')', start, close);
+		}
+		return open;
+	}
+	
+	private static int lastIndexOf(String f, char c, int start, int end) {
+		for(int i = end - 1; i >= start; i--) {
+			if (f.charAt(i) == c)
+				return i;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Parse a token
+	 * 
+	 * @param token The type of the token
+	 * @param operand The value of the token if it is an operand
+	 * @param tokenEnd The index right after the token
+	 * @since 1.0
+	 */
+	private void accept(int token, IBoolean operand, int tokenEnd) {
+		if (expectOperand) {
+			switch(token) {
+				case OPERAND:
+					reduce(operand);
+					break;
+				case NOT:
+					group.pending++;
+					break;
+				case OPEN:
+					group = new Group(group, group.pending);
+					group.outer.pending = 0;
+					break;
+				default:
+					fail("Expected [ (, true, false, ! ]");
+					return;
+			}
+		} else {
+			switch(token) {
+				case AND:
+				case OR:
+					group.operator = token;
+					expectOperand = true;
+					break;
+				case CLOSE:
+					Group closed = group;
+					group = closed.outer;
+					group.pending = closed.negations;
+					reduce(closed.left);
+					break;
+				default:
+					fail("Expected [ ' ', ), ||, && ]");
+					return;
+			}
+		}
+		end = tokenEnd;
+	}
+	
+	/**
+	 * Combine an operand with the value of the current group
+	 * 
+	 * @param operand The operand that was read
+	 * @since 1.0
+	 */
+	private void reduce(IBoolean operand) {
+		for(; group.pending > 0; group.pending--)
+			operand = new BooleanNotOperation(operand);
+		switch(group.operator) {
+			case AND:
+				group.left = new BooleanAndOperation(group.left, operand);
+				break;
+			case OR:
+				group.left = new BooleanOrOperation(group.left, operand);
+				break;
+			default:
+				group.left = operand;
+				break;
+		}
+		group.operator = OPERAND;
+		expectOperand = false;
+	}
+	
+	/**
+	 * Record a misplaced token. The error is reported at the end of the last token that was parsed.
+	 * 
+	 * @param message The error message
+	 * @since 1.0
+	 */
+	private void fail(String message) {
+		error = message;
+		errorIndex = end;
+	}
+}
@@ -34,6 +34,6 @@ public class MethodUnsatisfiedException extends DonkeyException {
 	}
 	
 	private static String format(Statement s, IMethod m, String r) {
-		return "The method " + m.getName() + "() was unsatisfied when called in " + s.getRawStatement() + " on line " + s.getLineNumber() + " in " + Statement.getFile().getName() + " for the reason: " + r;
+		return "The method " + m.getName() + "() was unsatisfied when called in " + s.getRawStatement() + " on line " + s.getLineNumber() + " in " + (Statement.getFile() == null ? "<source>" : Statement.getFile().getName()) + " for the reason: " + r;
 	}
 }
\ No newline at end of file
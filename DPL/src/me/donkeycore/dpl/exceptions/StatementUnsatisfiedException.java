@@ -34,6 +34,6 @@ public class StatementUnsatisfiedException extends DonkeyException {
 	}
 	
 	private static String format(Statement statement, IStatement s, String r) {
-		return "The statement " + s.getName() + " was unsatisfied when called in " + statement.getRawStatement() + " on line " + statement.getLineNumber() + " in " + Statement.getFile().getName() + " for the reason: " + r;
+		return "The statement " + s.getName() + " was unsatisfied when called in " + statement.getRawStatement() + " on line " + statement.getLineNumber() + " in " + (Statement.getFile() == null ? "<source>" : Statement.getFile().getName()) + " for the reason: " + r;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package me.donkeycore.dpl.io;
+
+import java.util.List;
+
+import me.donkeycore.dpl.parser.Token;
+
+/**
+ * A table of matching braces, built once when a {@link DonkeyClass} loads its file
+ * 
+ * @see DonkeyClass#getBlockIndex()
+ * @since 1.0
+ */
+public final class BlockIndex {
+	
+	/**
+	 * For every token, the index of the token closing the block it opens, the amount of tokens if the block is never closed, or <code>-1</code> if it does not open a block
+	 * 
+	 * @since 1.0
+	 */
+	private final int[] match;
+	
+	private BlockIndex(int[] match) {
+		this.match = match;
+	}
+	
+	/**
+	 * Build the index of a list of tokens
+	 * 
+	 * @param tokens The tokens of a file, in source order
+	 * @return The {@link BlockIndex} of the tokens
+	 * @since 1.0
+	 */
+	public static BlockIndex build(List<Token> tokens) {
+		int size = tokens.size();
+		int[] match = new int[size];
+		int[] stack = new int[size];
+		int top = 0;
+		for(int i = 0; i < size; i++) {
+			match[i] = -1;
+			Token t = tokens.get(i);
+			if (t.getKind() == Token.Kind.OPEN || t.opensBlock()) {
+				stack[top++] = i;
+			} else if (t.getKind() == Token.Kind.CLOSE && top > 0) {
+				match[stack[--top]] = i;
+			}
+		}
+		while(top > 0)
+			match[stack[--top]] = size;
+		return new BlockIndex(match);
+	}
+	
+	/**
+	 * Retrieve the token closing the block opened by a token
+	 * 
+	 * @param token The index of the token opening the block
+	 * @return The index of the closing token, the amount of tokens if the block is never closed, or <code>-1</code> if the token does not open a block
+	 * @since 1.0
+	 */
+	public int getMatch(int token) {
+		return match[token];
+	}
+}
\ No newline at end of file
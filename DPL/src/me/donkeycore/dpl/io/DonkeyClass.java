@@ -1,6 +1,8 @@
 package me.donkeycore.dpl.io;
 
 import java.io.File;
+import java.util.Collections;
+import java.util.List;
 
 import me.donkeycore.dpl.Donkey;
 import me.donkeycore.dpl.exceptions.IncompatibleVariableTypesException;
@@ -8,9 +10,11 @@ import me.donkeycore.dpl.exceptions.InvalidFileException;
 import me.donkeycore.dpl.exceptions.InvalidStatementException;
 import me.donkeycore.dpl.exceptions.TypeDoesNotExistException;
 import me.donkeycore.dpl.exceptions.VariableAlreadyDeclaredException;
+import me.donkeycore.dpl.parser.Lexer;
+import me.donkeycore.dpl.parser.Token;
 
 /**
- * Manages basic attributes of the class file and creates an {@link IOClass} for the file
+ * Manages basic attributes of the class file and creates an {@link IOClass} for the file. The file is read and lexed once when the class is created.
  * 
  * @since 1.0
  */
@@ -34,6 +38,24 @@ public final class DonkeyClass {
 	 * @since 1.0
 	 */
 	private final IOClass c;
+	/**
+	 * The contents of the file
+	 * 
+	 * @since 1.0
+	 */
+	private final SourceBuffer source;
+	/**
+	 * The tokens of the file
+	 * 
+	 * @since 1.0
+	 */
+	private final List<Token> tokens;
+	/**
+	 * The matching braces and block bodies of the file
+	 * 
+	 * @since 1.0
+	 */
+	private final BlockIndex blocks;
 	
 	/**
 	 * Creates a new {@link DonkeyClass} instance.
@@ -46,6 +68,17 @@ public final class DonkeyClass {
 	public DonkeyClass(Donkey donkey, File file) {
 		this.donkey = donkey;
 		this.file = file;
+		SourceBuffer b = null;
+		List<Token> t = Collections.emptyList();
+		try {
+			b = SourceBuffer.of(file);
+			t = Collections.unmodifiableList(Lexer.lex(b));
+		} catch(Throwable e) {
+			Donkey.printError(e);
+		}
+		this.source = b;
+		this.tokens = t;
+		this.blocks = BlockIndex.build(tokens);
 		this.c = new IOClass(this);
 	}
 	
@@ -79,6 +112,36 @@ public final class DonkeyClass {
 		return this.file;
 	}
 	
+	/**
+	 * Retrieve the contents of the file, read when this class was created.
+	 * 
+	 * @return The {@link SourceBuffer} of the file
+	 * @since 1.0
+	 */
+	public SourceBuffer getSource() {
+		return this.source;
+	}
+	
+	/**
+	 * Retrieve the tokens of the file, lexed when this class was created.
+	 * 
+	 * @return An unmodifiable list of the file's tokens
+	 * @since 1.0
+	 */
+	public List<Token> getTokens() {
+		return this.tokens;
+	}
+	
+	/**
+	 * Retrieve the matching braces and block bodies of the file, built when this class was created.
+	 * 
+	 * @return The {@link BlockIndex} of the file
+	 * @since 1.0
+	 */
+	public BlockIndex getBlockIndex() {
+		return this.blocks;
+	}
+	
 	/**
 	 * Run the code inside the file.
 	 * 
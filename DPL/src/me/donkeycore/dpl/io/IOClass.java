@@ -1,18 +1,26 @@
 package me.donkeycore.dpl.io;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.LineNumberReader;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
 import me.donkeycore.dpl.Donkey;
 import me.donkeycore.dpl.Donkey.LogLevel;
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.ast.Node;
+import me.donkeycore.dpl.ast.Program;
 import me.donkeycore.dpl.exceptions.InvalidStatementException;
+import me.donkeycore.dpl.metrics.Metrics;
+import me.donkeycore.dpl.parser.Parser;
+import me.donkeycore.dpl.profile.FlightEvents;
+import me.donkeycore.dpl.profile.Profiler;
+import me.donkeycore.dpl.profile.Sampler;
 import me.donkeycore.dpl.statement.Statement;
+import me.donkeycore.dpl.variables.VariableTable;
 
 /**
  * Manages the I/O of the file and creates each statement to run them
@@ -31,10 +39,19 @@ public final class IOClass {
 	private final DonkeyClass clazz;
 	
 	/**
-	 * The current line number
+	 * The context of the run in progress, or <code>null</code> if the code is not running
+	 * 
+	 * @since 1.0
+	 */
+	private volatile ExecutionContext context;
+	
+	/**
+	 * The parsed program, created the first time it is needed
+	 * 
+	 * @see IOClass#getProgram()
 	 * @since 1.0
 	 */
-	private int line;
+	private Program program;
 	
 	/**
 	 * Create a new {@link IOClass} from a {@link DonkeyClass}
@@ -64,19 +81,31 @@ public final class IOClass {
 	 * @since 1.0
 	 */
 	public void runCode() throws InvalidStatementException {
+		ExecutionContext previous = null;
 		try {
-			String last = "";
-			for(Statement s : getStatements()) {
-				if (Statement.canRun(s.getLineNumber())) {
-					line = s.getLineNumber();
-					s.runStatement();
-					if (s.getStatement().startsWith("print"))
-						last = s.getStatement();
-				}
+			Program p = getProgram();
+			ExecutionContext context = new ExecutionContext(p, new VariableTable(p.getSymbols(), ExecutionContext.getDefault().getVariables()), createOutput());
+			context.setDonkeyClass(clazz);
+			profile(context);
+			Sampler.attach(context);
+			this.context = context;
+			previous = context.enter();
+			Object event = FlightEvents.beginScript();
+			long start = System.nanoTime();
+			try {
+				p.execute(context);
+			} catch(Throwable e) {
+				context.fail(e);
+				throw e;
+			} finally {
+				Sampler.detach(context);
+				Metrics.recordRun(context, System.nanoTime() - start);
+				FlightEvents.endScript(event, context);
 			}
-			if (last.matches("print\\s*;*"))
-				System.out.println();
-			System.out.println();
+			if (endsWithBarePrint(p))
+				context.getOutput().print("", true);
+			context.getOutput().print("", true);
+			context.flush();
 			long endTime = System.currentTimeMillis();
 			float totalTimeMS = endTime - getDonkeyClass().getDonkey().getStartTime();
 			float totalTimeD = totalTimeMS / 1000;
@@ -90,23 +119,97 @@ public final class IOClass {
 			totalTime = Statement.destroyEverythingAfterLastInstanceOf(totalTime, "\\.0");
 			if (totalTime.endsWith("."))
 				totalTime = totalTime.replaceAll("\\.$", "");
-			Donkey.log(LogLevel.DEBUG, "Finished in " + (totalTimeMS + "").replaceAll("\\.[0]\\b", "") + "ms (" + totalTime + " seconds) with exit code: " + Statement.errno, "Donkey");
+			Donkey.log(LogLevel.DEBUG, "Finished in " + (totalTimeMS + "").replaceAll("\\.[0]\\b", "") + "ms (" + totalTime + " seconds) with exit code: " + context.getErrno(), "Donkey");
+			Donkey.log(LogLevel.DEBUG, "Wrote " + context.getOutput().getBytesWritten() + " bytes of output in " + context.getOutput().getFlushCount() + " flushes", "Donkey");
 			Donkey.log(LogLevel.DEBUG, "Press Enter to continue.", "Donkey");
-			if (Donkey.debug) {
-				BufferedReader r = new BufferedReader(new InputStreamReader(System.in));
-				r.readLine();
-				r.close();
-			}
-			System.exit(Statement.errno);
+			context.flush();
+			if (context.isDebug())
+				context.getInput().readLine();
+			context.getOutput().close();
+			System.exit(context.getErrno());
 		} catch(Throwable e) {
 			if (e instanceof InvalidStatementException)
 				throw new InvalidStatementException(e.getMessage());
-			Donkey.log(LogLevel.FATAL, "A fatal error has occurred while running " + getDonkeyClass().getFile().getAbsolutePath() + " at line " + line + ":", "Donkey");
+			Donkey.log(LogLevel.FATAL, "A fatal error has occurred while running " + getDonkeyClass().getFile().getAbsolutePath() + " at line " + getCurrentLineNumber() + ":", "Donkey");
 			Donkey.printError(e);
+			ExecutionContext.current().flush();
 			System.exit(1);
+		} finally {
+			ExecutionContext.leave(previous);
 		}
 	}
 	
+	/**
+	 * Checks if the last <code>print</code> or <code>println</code> at the top of the program is a bare <code>print</code>, which leaves the cursor after the output and needs an extra line break before the exit message
+	 * 
+	 * @param p The program that ran
+	 * @return Whether to print another line break
+	 * @since 1.0
+	 */
+	private static boolean endsWithBarePrint(Program p) {
+		Node[] children = p.getChildren();
+		for(int i = children.length - 1; i >= 0; i--) {
+			String s = children[i].getStatement().getStatement();
+			if (s.startsWith("print"))
+				return s.matches("print\\s*;*");
+		}
+		return false;
+	}
+	
+	/**
+	 * Profile the script if the <code>dpl.profile</code> system property is set. When the JVM exits, the report of the hottest lines and the collapsed stacks are written to the path in the property, or next to the script if it is <code>true</code> or empty.
+	 * 
+	 * @param context The context of the run
+	 * @see Profiler#write(String)
+	 * @since 1.0
+	 */
+	private void profile(ExecutionContext context) {
+		String prefix = System.getProperty("dpl.profile");
+		if (prefix == null)
+			return;
+		final String path = prefix.isEmpty() || prefix.equals("true") ? clazz.getFile().getPath() : prefix;
+		final Profiler profiler = new Profiler(clazz.getFile());
+		context.setProfiler(profiler);
+		Donkey.log(LogLevel.DEBUG, "Profiling to " + path + ".profile.txt and " + path + ".folded", "Donkey");
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+			
+			public void run() {
+				try {
+					profiler.write(path);
+				} catch(FileNotFoundException e) {
+					System.err.println("Could not write the profile to " + path + ": " + e.getMessage());
+				}
+			}
+		}, "donkey-profiler"));
+	}
+	
+	/**
+	 * Create the {@link OutputSink} a script run from the command line prints to. It writes to {@link System#out}, or to the file named by the <code>dpl.output</code> system property. The size of its buffer in bytes is read from <code>dpl.output.buffer</code>, and the longest time output waits in it, in milliseconds, from <code>dpl.output.interval</code>.
+	 * 
+	 * @return The new {@link OutputSink}
+	 * @throws IOException If the output file cannot be opened
+	 * @since 1.0
+	 */
+	private static OutputSink createOutput() throws IOException {
+		String file = System.getProperty("dpl.output");
+		OutputStream target = file == null ? System.out : new FileOutputStream(file);
+		return new OutputSink(target, Integer.getInteger("dpl.output.buffer", OutputSink.DEFAULT_CAPACITY), Long.getLong("dpl.output.interval", 100));
+	}
+	
+	/**
+	 * Retrieve the parsed program of the file. The tokens of the {@link DonkeyClass} are parsed only the first time this is called.
+	 * 
+	 * @return The {@link Program} of the file
+	 * @throws InvalidStatementException If a line is not a valid statement
+	 * @since 1.0
+	 */
+	public Program getProgram() throws InvalidStatementException {
+		if (program != null)
+			return program;
+		Statement.setDonkeyClass(clazz);
+		return program = Parser.parse(clazz.getFile(), clazz.getTokens(), clazz.getBlockIndex());
+	}
+	
 	/**
 	 * Get all the statements contained in the file.
 	 * 
@@ -115,40 +218,44 @@ public final class IOClass {
 	 */
 	public Statement[] getStatements() {
 		List<Statement> statements = new ArrayList<Statement>();
-		LineNumberReader r = null;
 		try {
-			File f = clazz.getFile();
-			Statement.setFile(f);
-			r = new LineNumberReader(new BufferedReader(new FileReader(f)));
-			String s;
-			int line = 1;
-			while((s = r.readLine()) != null) {
+			Statement.setDonkeyClass(clazz);
+			SourceBuffer b = clazz.getSource();
+			for(int line = 1; line <= b.getLineCount(); line++) {
+				String s = b.getLine(line);
 				if (s.length() > 0)
 					statements.add(new Statement(getStatement(s, s), line));
-				line++;
 			}
-			r.close();
 			return statements.toArray(new Statement[statements.size()]);
 		} catch(Throwable e) {
 			Donkey.printError(e);
-		} finally {
-			if (r != null)
-				try {
-					r.close();
-				} catch(IOException e) {
-					Donkey.printError(e);
-				}
 		}
 		return null;
 	}
 	
 	/**
 	 * Get the line number currently being read
-	 * @return The line number
+	 * @return The line number, or <code>0</code> if the code has not run
+	 * @see ExecutionContext#getLine()
 	 * @since 1.0
 	 */
 	public int getCurrentLineNumber() {
-		return line;
+		ExecutionContext c = context;
+		return c == null ? 0 : c.getLine();
+	}
+	
+	/**
+	 * Change the line number currently being read. <br>
+	 * <b>Note: This is a method used by the system and should NOT be used.</b><br>
+	 * 
+	 * @param line The line number
+	 * @see ExecutionContext#setLine(int)
+	 * @since 1.0
+	 */
+	public void setCurrentLineNumber(int line) {
+		ExecutionContext c = context;
+		if (c != null)
+			c.setLine(line);
 	}
 	
 	/**
@@ -0,0 +1,185 @@
+package me.donkeycore.dpl.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+
+/**
+ * Where a running script reads its input from. Characters are read from the underlying stream in large blocks into one reusable buffer, and lines are split by scanning that buffer for line breaks, so reading many lines does not read the stream once per line. <br>
+ * Anything read ahead stays in the buffer for the next line. Every script reading {@link System#in} therefore shares {@link InputSource#stdin() one source}, so no line read ahead by one read is lost to the next.
+ * 
+ * @see me.donkeycore.dpl.ExecutionContext#getInput()
+ * @since 1.0
+ */
+public final class InputSource {
+	
+	/**
+	 * The default size of the buffer, in characters
+	 * 
+	 * @since 1.0
+	 */
+	public static final int DEFAULT_CAPACITY = 64 * 1024;
+	
+	/**
+	 * The source reading {@link System#in}, created when first needed
+	 * 
+	 * @since 1.0
+	 */
+	private static InputSource stdin;
+	
+	/**
+	 * The reader the characters come from
+	 * 
+	 * @since 1.0
+	 */
+	private final Reader reader;
+	private final char[] buffer;
+	/**
+	 * The index of the next character to read in the buffer
+	 * 
+	 * @since 1.0
+	 */
+	private int pos = 0;
+	/**
+	 * The amount of characters in the buffer
+	 * 
+	 * @since 1.0
+	 */
+	private int limit = 0;
+	private boolean eof = false;
+	private long lines = 0;
+	
+	/**
+	 * Create a new {@link InputSource}
+	 * 
+	 * @param reader The reader the characters come from
+	 * @param capacity The size of the buffer in characters
+	 * @since 1.0
+	 */
+	public InputSource(Reader reader, int capacity) {
+		this.reader = reader;
+		this.buffer = new char[Math.max(capacity, 16)];
+	}
+	
+	/**
+	 * Create a new {@link InputSource} with a buffer of {@link InputSource#DEFAULT_CAPACITY} characters
+	 * 
+	 * @param in The stream the bytes come from
+	 * @param charset The charset the bytes are decoded with
+	 * @since 1.0
+	 */
+	public InputSource(InputStream in, Charset charset) {
+		this(new InputStreamReader(in, charset), DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Retrieve the source reading {@link System#in}. The size of its buffer is read from the <code>dpl.input.buffer</code> system property.
+	 * 
+	 * @return The shared {@link InputSource} of the standard input
+	 * @since 1.0
+	 */
+	public static synchronized InputSource stdin() {
+		if (stdin == null)
+			stdin = new InputSource(new InputStreamReader(System.in, Charset.defaultCharset()), Integer.getInteger("dpl.input.buffer", DEFAULT_CAPACITY));
+		return stdin;
+	}
+	
+	/**
+	 * Create a source reading text held in memory
+	 * 
+	 * @param text The text to read
+	 * @return The new {@link InputSource}
+	 * @since 1.0
+	 */
+	public static InputSource of(String text) {
+		return new InputSource(new StringReader(text), Math.min(text.length() + 1, DEFAULT_CAPACITY));
+	}
+	
+	/**
+	 * Read the next line. A line ends with <code>\n</code>, <code>\r\n</code> or the end of the input.
+	 * 
+	 * @return The line without its line break, or <code>null</code> if there is no more input
+	 * @throws IOException If the underlying stream cannot be read
+	 * @since 1.0
+	 */
+	public synchronized String readLine() throws IOException {
+		StringBuilder partial = null;
+		while(true) {
+			if (pos == limit && !fill()) {
+				if (partial == null)
+					return null;
+				lines++;
+				return strip(partial.toString());
+			}
+			for(int i = pos; i < limit; i++) {
+				if (buffer[i] == '\n') {
+					String line;
+					if (partial == null) {
+						int end = i > pos && buffer[i - 1] == '\r' ? i - 1 : i;
+						line = new String(buffer, pos, end - pos);
+					} else {
+						line = strip(partial.append(buffer, pos, i - pos).toString());
+					}
+					pos = i + 1;
+					lines++;
+					return line;
+				}
+			}
+			if (partial == null)
+				partial = new StringBuilder(limit - pos + 80);
+			partial.append(buffer, pos, limit - pos);
+			pos = limit;
+		}
+	}
+	
+	/**
+	 * Checks if characters are waiting in the buffer, so that reading the next line may not wait on the underlying stream
+	 * 
+	 * @return Whether any characters were read ahead
+	 * @since 1.0
+	 */
+	public synchronized boolean hasBuffered() {
+		return pos < limit;
+	}
+	
+	/**
+	 * Read the next block of characters into the buffer, replacing what was in it
+	 * 
+	 * @return Whether any characters were read
+	 * @throws IOException If the underlying stream cannot be read
+	 * @since 1.0
+	 */
+	private boolean fill() throws IOException {
+		if (eof)
+			return false;
+		int n;
+		do {
+			n = reader.read(buffer, 0, buffer.length);
+		} while(n == 0);
+		pos = 0;
+		if (n == -1) {
+			limit = 0;
+			eof = true;
+			return false;
+		}
+		limit = n;
+		return true;
+	}
+	
+	private static String strip(String line) {
+		return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+	}
+	
+	/**
+	 * Retrieve the amount of lines read
+	 * 
+	 * @return The amount of lines returned by {@link InputSource#readLine()}
+	 * @since 1.0
+	 */
+	public synchronized long getLinesRead() {
+		return lines;
+	}
+}
@@ -0,0 +1,277 @@
+package me.donkeycore.dpl.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Where a running script prints to. Text is encoded straight into one reusable byte buffer, which is written to the target stream only at flush points: when the buffer is full, when {@link OutputSink#flush()} is called (at the end of the script, before <code>@input</code> reads and before <code>wait</code> sleeps), and optionally once a time interval has passed since the last flush. <br>
+ * A sink can write to any stream, to a {@link OutputSink#toFile(File) file} or to {@link OutputSink#capture() memory}. It is itself an {@link OutputStream}, so {@link me.donkeycore.dpl.ExecutionContext#getOut() a PrintStream} can write through it.
+ * 
+ * @see me.donkeycore.dpl.ExecutionContext#getOutput()
+ * @since 1.0
+ */
+public final class OutputSink extends OutputStream {
+	
+	/**
+	 * The default size of the buffer, in bytes
+	 * 
+	 * @since 1.0
+	 */
+	public static final int DEFAULT_CAPACITY = 64 * 1024;
+	
+	/**
+	 * The stream receiving the output
+	 * 
+	 * @since 1.0
+	 */
+	private final OutputStream target;
+	/**
+	 * Whether every write is passed on at once, as if the buffer had no room
+	 * 
+	 * @since 1.0
+	 */
+	private final boolean immediate;
+	/**
+	 * The longest time output waits in the buffer once something else is printed, in nanoseconds, or <code>0</code> for no limit
+	 * 
+	 * @since 1.0
+	 */
+	private final long interval;
+	/**
+	 * The charset text is encoded in, or <code>null</code> for UTF-8, which is encoded without creating arrays
+	 * 
+	 * @since 1.0
+	 */
+	private final Charset charset;
+	private final byte[] buffer;
+	private final byte[] newline;
+	private int size = 0;
+	private long lastFlush = System.nanoTime();
+	private long flushes = 0;
+	private long written = 0;
+	
+	/**
+	 * Create a new {@link OutputSink}
+	 * 
+	 * @param target The stream receiving the output
+	 * @param capacity The size of the buffer in bytes, or <code>0</code> to pass every write on at once
+	 * @param intervalMillis The longest time output waits in the buffer once something else is printed, or <code>0</code> for no limit
+	 * @since 1.0
+	 */
+	public OutputSink(OutputStream target, int capacity, long intervalMillis) {
+		this.target = target;
+		this.immediate = capacity <= 0;
+		this.buffer = new byte[immediate ? 1024 : Math.max(capacity, 16)];
+		this.interval = intervalMillis * 1000000;
+		Charset c = target instanceof PrintStream || target instanceof FileOutputStream ? Charset.defaultCharset() : StandardCharsets.UTF_8;
+		this.charset = c.equals(StandardCharsets.UTF_8) ? null : c;
+		this.newline = System.lineSeparator().getBytes(c);
+	}
+	
+	/**
+	 * Create a new {@link OutputSink} with a buffer of {@link OutputSink#DEFAULT_CAPACITY} bytes and no time limit
+	 * 
+	 * @param target The stream receiving the output
+	 * @since 1.0
+	 */
+	public OutputSink(OutputStream target) {
+		this(target, DEFAULT_CAPACITY, 0);
+	}
+	
+	/**
+	 * Create a sink keeping the output in memory
+	 * 
+	 * @return The new {@link OutputSink}; read the output with {@link OutputSink#getCaptured()}
+	 * @since 1.0
+	 */
+	public static OutputSink capture() {
+		return new OutputSink(new ByteArrayOutputStream(), DEFAULT_CAPACITY, 0);
+	}
+	
+	/**
+	 * Create a sink writing to a file, replacing its contents
+	 * 
+	 * @param file The file to write to
+	 * @return The new {@link OutputSink}; {@link OutputSink#close() close} it when the script ends
+	 * @throws IOException If the file cannot be opened
+	 * @since 1.0
+	 */
+	public static OutputSink toFile(File file) throws IOException {
+		return new OutputSink(new FileOutputStream(file), DEFAULT_CAPACITY, 0);
+	}
+	
+	/**
+	 * Print text the way the <code>print</code> and <code>println</code> statements do: a backslash followed by <code>n</code> is written as a line break.
+	 * 
+	 * @param text The text to print
+	 * @param line Whether to end the line after the text
+	 * @since 1.0
+	 */
+	public synchronized void print(CharSequence text, boolean line) {
+		if (charset == null)
+			encode(text);
+		else
+			put(text.toString().replace("\\n", "\n").getBytes(charset));
+		if (line)
+			put(newline);
+		written();
+	}
+	
+	/**
+	 * Encode text as UTF-8 into the buffer
+	 * 
+	 * @param text The text to encode
+	 * @since 1.0
+	 */
+	private void encode(CharSequence text) {
+		int length = text.length();
+		for(int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (size + 4 > buffer.length)
+				drain();
+			if (c == '\\' && i + 1 < length && text.charAt(i + 1) == 'n') {
+				buffer[size++] = '\n';
+				i++;
+			} else if (c < 0x80) {
+				buffer[size++] = (byte) c;
+			} else if (c < 0x800) {
+				buffer[size++] = (byte) (0xC0 | c >> 6);
+				buffer[size++] = (byte) (0x80 | c & 0x3F);
+			} else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+				int p = Character.toCodePoint(c, text.charAt(++i));
+				buffer[size++] = (byte) (0xF0 | p >> 18);
+				buffer[size++] = (byte) (0x80 | p >> 12 & 0x3F);
+				buffer[size++] = (byte) (0x80 | p >> 6 & 0x3F);
+				buffer[size++] = (byte) (0x80 | p & 0x3F);
+			} else if (Character.isSurrogate(c)) {
+				buffer[size++] = '?';
+			} else {
+				buffer[size++] = (byte) (0xE0 | c >> 12);
+				buffer[size++] = (byte) (0x80 | c >> 6 & 0x3F);
+				buffer[size++] = (byte) (0x80 | c & 0x3F);
+			}
+		}
+	}
+	
+	private void put(byte[] b) {
+		write(b, 0, b.length);
+	}
+	
+	public synchronized void write(int b) {
+		if (size == buffer.length)
+			drain();
+		buffer[size++] = (byte) b;
+		written();
+	}
+	
+	public synchronized void write(byte[] b, int off, int len) {
+		while(len > 0) {
+			if (size == buffer.length)
+				drain();
+			int n = Math.min(len, buffer.length - size);
+			System.arraycopy(b, off, buffer, size, n);
+			size += n;
+			off += n;
+			len -= n;
+		}
+		written();
+	}
+	
+	/**
+	 * Called after every write, to pass it on if the sink is immediate or the time limit passed
+	 * 
+	 * @since 1.0
+	 */
+	private void written() {
+		if (immediate || interval > 0 && System.nanoTime() - lastFlush >= interval)
+			flush();
+	}
+	
+	/**
+	 * Write the buffer to the target stream, without flushing the stream
+	 * 
+	 * @since 1.0
+	 */
+	private void drain() {
+		if (size == 0)
+			return;
+		try {
+			target.write(buffer, 0, size);
+		} catch(IOException e) {
+			// the output is lost, as it is with System.out
+		}
+		written += size;
+		flushes++;
+		size = 0;
+	}
+	
+	/**
+	 * Write everything printed so far to the target stream
+	 * 
+	 * @since 1.0
+	 */
+	public synchronized void flush() {
+		drain();
+		lastFlush = System.nanoTime();
+		try {
+			target.flush();
+		} catch(IOException e) {
+			// the output is lost, as it is with System.out
+		}
+	}
+	
+	/**
+	 * Flush the sink and close the target stream, unless it is {@link System#out} or {@link System#err}
+	 * 
+	 * @since 1.0
+	 */
+	public synchronized void close() {
+		flush();
+		if (target != System.out && target != System.err) {
+			try {
+				target.close();
+			} catch(IOException e) {
+				// nothing left to write
+			}
+		}
+	}
+	
+	/**
+	 * Retrieve the output kept by a sink created with {@link OutputSink#capture()}
+	 * 
+	 * @return Everything printed so far, or <code>null</code> if the sink does not keep its output in memory
+	 * @since 1.0
+	 */
+	public synchronized String getCaptured() {
+		if (!(target instanceof ByteArrayOutputStream))
+			return null;
+		drain();
+		return new String(((ByteArrayOutputStream) target).toByteArray(), StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Retrieve the amount of times the buffer was written to the target stream
+	 * 
+	 * @return The amount of flushes
+	 * @since 1.0
+	 */
+	public synchronized long getFlushCount() {
+		return flushes;
+	}
+	
+	/**
+	 * Retrieve the amount of bytes written to the target stream
+	 * 
+	 * @return The amount of bytes, not counting those still in the buffer
+	 * @since 1.0
+	 */
+	public synchronized long getBytesWritten() {
+		return written;
+	}
+}
@@ -0,0 +1,245 @@
+package me.donkeycore.dpl.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import me.donkeycore.dpl.metrics.Metrics;
+
+/**
+ * The contents of a file, read once and indexed by line. Line terminators are the same as {@link java.io.BufferedReader#readLine()}: <code>\n</code>, <code>\r</code> or <code>\r\n</code>. Files of at least {@link SourceBuffer#MAP_THRESHOLD} bytes are memory-mapped instead of copied onto the heap.
+ * 
+ * @see SourceBuffer#of(File)
+ * @see SourceBuffer#read(File)
+ * @since 1.0
+ */
+public final class SourceBuffer {
+	
+	/**
+	 * The size in bytes from which files are memory-mapped
+	 * 
+	 * @since 1.0
+	 */
+	public static final long MAP_THRESHOLD = 1024 * 1024;
+	
+	/**
+	 * The buffers that were loaded, by absolute path. They are only softly reachable from here, so the garbage collector can free the contents and unmap the files of buffers nothing else uses.
+	 * 
+	 * @since 1.0
+	 */
+	private static final Map<String, Entry> buffers = new ConcurrentHashMap<String, Entry>();
+	/**
+	 * The entries of {@link SourceBuffer#buffers} whose buffer was freed
+	 * 
+	 * @since 1.0
+	 */
+	private static final ReferenceQueue<SourceBuffer> freed = new ReferenceQueue<SourceBuffer>();
+	
+	/**
+	 * The file that was read
+	 * 
+	 * @since 1.0
+	 */
+	private final File file;
+	/**
+	 * The modification time of the file when it was read
+	 * 
+	 * @since 1.0
+	 */
+	private final long lastModified;
+	/**
+	 * The contents of the file
+	 * 
+	 * @since 1.0
+	 */
+	private final ByteBuffer bytes;
+	/**
+	 * The offset where each line starts, followed by the size of the file
+	 * 
+	 * @since 1.0
+	 */
+	private final int[] offsets;
+	/**
+	 * The amount of lines in the file
+	 * 
+	 * @since 1.0
+	 */
+	private final int count;
+	/**
+	 * The lines that were already decoded
+	 * 
+	 * @since 1.0
+	 */
+	private final String[] lines;
+	/**
+	 * The charset used to decode lines, the same as {@link java.io.FileReader}
+	 * 
+	 * @since 1.0
+	 */
+	private final Charset charset = Charset.defaultCharset();
+	
+	/**
+	 * Read and index a file
+	 * 
+	 * @param file The file to read
+	 * @throws IOException If the file cannot be read
+	 * @since 1.0
+	 */
+	private SourceBuffer(File file) throws IOException {
+		this.file = file;
+		this.lastModified = file.lastModified();
+		Metrics.countSourceRead();
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			FileChannel ch = raf.getChannel();
+			long size = ch.size();
+			if (size > Integer.MAX_VALUE)
+				throw new IOException("The file " + file.getAbsolutePath() + " is too large!");
+			if (size >= MAP_THRESHOLD) {
+				bytes = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			} else {
+				byte[] b = new byte[(int) size];
+				ByteBuffer wrap = ByteBuffer.wrap(b);
+				while(wrap.hasRemaining()) {
+					if (ch.read(wrap) < 0)
+						break;
+				}
+				bytes = ByteBuffer.wrap(b);
+			}
+		} finally {
+			raf.close();
+		}
+		int size = bytes.limit();
+		int[] o = new int[16];
+		int n = 0;
+		int i = 0;
+		while(i < size) {
+			if (n + 1 >= o.length) {
+				int[] grown = new int[o.length * 2];
+				System.arraycopy(o, 0, grown, 0, n);
+				o = grown;
+			}
+			o[n++] = i;
+			while(i < size) {
+				byte b = bytes.get(i++);
+				if (b == '\n')
+					break;
+				if (b == '\r') {
+					if (i < size && bytes.get(i) == '\n')
+						i++;
+					break;
+				}
+			}
+		}
+		o[n] = size;
+		this.offsets = o;
+		this.count = n;
+		this.lines = new String[n];
+	}
+	
+	/**
+	 * Retrieve the buffer of a file, reading it only if it was not read before or has changed since.
+	 * 
+	 * @param file The file to read
+	 * @return The {@link SourceBuffer} of the file
+	 * @throws IOException If the file cannot be read
+	 * @since 1.0
+	 */
+	public static SourceBuffer of(File file) throws IOException {
+		for(Entry e = (Entry) freed.poll(); e != null; e = (Entry) freed.poll())
+			buffers.remove(e.key, e);
+		String key = file.getAbsolutePath();
+		Entry e = buffers.get(key);
+		SourceBuffer b = e == null ? null : e.get();
+		if (b == null || b.lastModified != file.lastModified() || b.bytes.limit() != file.length()) {
+			b = new SourceBuffer(file);
+			buffers.put(key, new Entry(key, b));
+		}
+		return b;
+	}
+	
+	/**
+	 * Read a file without keeping its buffer for later calls, for programs that compile many files once each
+	 * 
+	 * @param file The file to read
+	 * @return A new {@link SourceBuffer} of the file
+	 * @throws IOException If the file cannot be read
+	 * @since 1.0
+	 */
+	public static SourceBuffer read(File file) throws IOException {
+		return new SourceBuffer(file);
+	}
+	
+	/**
+	 * Retrieve the file that was read
+	 * 
+	 * @return The {@link File} of this buffer
+	 * @since 1.0
+	 */
+	public File getFile() {
+		return file;
+	}
+	
+	/**
+	 * Retrieve the amount of lines in the file
+	 * 
+	 * @return The amount of lines
+	 * @since 1.0
+	 */
+	public int getLineCount() {
+		return count;
+	}
+	
+	/**
+	 * Retrieve a line of the file, without its line terminator
+	 * 
+	 * @param line The line number, where the first line is <code>1</code>
+	 * @return The line, or an empty string if the file does not have that line
+	 * @since 1.0
+	 */
+	public String getLine(int line) {
+		Metrics.countSourceLine();
+		if (line < 1 || line > count)
+			return "";
+		String s = lines[line - 1];
+		if (s != null)
+			return s;
+		int start = offsets[line - 1];
+		int end = offsets[line];
+		if (end > start && bytes.get(end - 1) == '\n')
+			end--;
+		if (end > start && bytes.get(end - 1) == '\r')
+			end--;
+		if (bytes.hasArray()) {
+			s = new String(bytes.array(), start, end - start, charset);
+		} else {
+			ByteBuffer b = bytes.duplicate();
+			b.limit(end);
+			b.position(start);
+			s = charset.decode(b).toString();
+		}
+		return lines[line - 1] = s;
+	}
+	
+	/**
+	 * A buffer in {@link SourceBuffer#buffers}, which remembers its path to be removed once the buffer is freed
+	 * 
+	 * @since 1.0
+	 */
+	private static final class Entry extends SoftReference<SourceBuffer> {
+		
+		private final String key;
+		
+		Entry(String key, SourceBuffer buffer) {
+			super(buffer, freed);
+			this.key = key;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,426 @@
+package me.donkeycore.dpl.log;
+
+import java.io.PrintStream;
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import me.donkeycore.dpl.Donkey.LogLevel;
+
+/**
+ * Writes log messages on a background thread, so that logging does not wait for the console. Messages are put in a bounded ring of reusable entries and written in batches, in the order they were logged, by one writer thread. Timestamps are formatted at most once per second. <br>
+ * When the ring is full, the {@link Overflow} policy decides whether the caller waits or the message is dropped. Dropped messages are counted and reported in a warning once there is room again. <br>
+ * Log messages are not ordered against text printed straight to a stream; call {@link AsyncLogger#flush()} before printing if the order matters, or write the text of {@link AsyncLogger#format(LogLevel, String, String)} on the calling thread, as {@link me.donkeycore.dpl.Donkey#log(LogLevel, String, String) Donkey.log} does for a running script. The capacity, policy and sample rate are read from the <code>dpl.log.capacity</code>, <code>dpl.log.overflow</code> and <code>dpl.log.sample</code> system properties.
+ * 
+ * @see me.donkeycore.dpl.Donkey#log(LogLevel, String, String)
+ * @since 1.0
+ */
+public final class AsyncLogger {
+	
+	/**
+	 * What to do with a message logged while the ring is full
+	 * 
+	 * @since 1.0
+	 */
+	public static enum Overflow {
+		/**
+		 * Wait until the writer thread makes room
+		 * 
+		 * @since 1.0
+		 */
+		BLOCK,
+		/**
+		 * Drop the message
+		 * 
+		 * @since 1.0
+		 */
+		DROP,
+		/**
+		 * Wait for room for one message out of every {@link AsyncLogger#getSampleRate() sample rate}, and drop the others
+		 * 
+		 * @since 1.0
+		 */
+		SAMPLE;
+	}
+	
+	/**
+	 * A message waiting to be written. Entries are allocated once and reused.
+	 * 
+	 * @since 1.0
+	 */
+	private static final class Entry {
+		
+		private long time;
+		private LogLevel level;
+		private String prefix;
+		private String message;
+		private PrintStream out;
+	}
+	
+	/**
+	 * The text of the timestamp of one second
+	 * 
+	 * @since 1.0
+	 */
+	private static final class Timestamp {
+		
+		/**
+		 * The second, in milliseconds since the epoch
+		 * 
+		 * @since 1.0
+		 */
+		private final long second;
+		private final String text;
+		
+		private Timestamp(long second, String text) {
+			this.second = second;
+			this.text = text;
+		}
+	}
+	
+	/**
+	 * The logger used by {@link me.donkeycore.dpl.Donkey#log(LogLevel, String, String) Donkey.log}
+	 * 
+	 * @since 1.0
+	 */
+	private static final AsyncLogger logger = new AsyncLogger(Integer.getInteger("dpl.log.capacity", 8192), Overflow.valueOf(System.getProperty("dpl.log.overflow", "BLOCK").toUpperCase()), Integer.getInteger("dpl.log.sample", 100));
+	
+	/**
+	 * Guards the ring and the counters
+	 * 
+	 * @since 1.0
+	 */
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+	private final Condition notFull = lock.newCondition();
+	private final Condition written = lock.newCondition();
+	/**
+	 * The entries waiting to be written, from {@link AsyncLogger#head}
+	 * 
+	 * @since 1.0
+	 */
+	private final Entry[] ring;
+	/**
+	 * The entries being written by the writer thread, swapped with the slots of the ring
+	 * 
+	 * @since 1.0
+	 */
+	private final Entry[] batch;
+	private int head = 0;
+	private int size = 0;
+	/**
+	 * The amount of messages put in the ring, and the amount of them that were written
+	 * 
+	 * @since 1.0
+	 */
+	private long accepted = 0, done = 0;
+	/**
+	 * The amount of messages dropped in total, and since the last warning about it
+	 * 
+	 * @since 1.0
+	 */
+	private long dropped = 0, unreported = 0;
+	/**
+	 * The amount of messages that found the ring full, used to sample them
+	 * 
+	 * @since 1.0
+	 */
+	private long overflowed = 0;
+	private volatile Overflow overflow;
+	private volatile int sampleRate;
+	/**
+	 * The writer thread, started with the first message
+	 * 
+	 * @since 1.0
+	 */
+	private Thread writer;
+	
+	/**
+	 * Text formatted by the writer thread
+	 * 
+	 * @since 1.0
+	 */
+	private final StringBuilder text = new StringBuilder(256);
+	/**
+	 * The cached timestamp, replaced at most once per second by whichever thread formats a message first
+	 * 
+	 * @since 1.0
+	 */
+	private volatile Timestamp timestamp = new Timestamp(-1, null);
+	
+	/**
+	 * Create a new {@link AsyncLogger}
+	 * 
+	 * @param capacity The amount of messages that can wait to be written
+	 * @param overflow What to do with a message logged while the ring is full
+	 * @param sampleRate With {@link Overflow#SAMPLE}, one message out of this many is kept while the ring is full
+	 * @since 1.0
+	 */
+	public AsyncLogger(int capacity, Overflow overflow, int sampleRate) {
+		this.ring = new Entry[Math.max(1, capacity)];
+		this.batch = new Entry[ring.length];
+		for(int i = 0; i < ring.length; i++) {
+			ring[i] = new Entry();
+			batch[i] = new Entry();
+		}
+		this.overflow = overflow;
+		this.sampleRate = Math.max(1, sampleRate);
+	}
+	
+	/**
+	 * Retrieve the logger used by {@link me.donkeycore.dpl.Donkey#log(LogLevel, String, String) Donkey.log}
+	 * 
+	 * @return The shared {@link AsyncLogger}
+	 * @since 1.0
+	 */
+	public static AsyncLogger getLogger() {
+		return logger;
+	}
+	
+	/**
+	 * Retrieve what is done with a message logged while the ring is full
+	 * 
+	 * @return The overflow policy
+	 * @since 1.0
+	 */
+	public Overflow getOverflow() {
+		return overflow;
+	}
+	
+	/**
+	 * Change what is done with a message logged while the ring is full
+	 * 
+	 * @param overflow The new overflow policy
+	 * @since 1.0
+	 */
+	public void setOverflow(Overflow overflow) {
+		this.overflow = overflow;
+	}
+	
+	/**
+	 * Retrieve how many messages logged while the ring is full share one kept message, with {@link Overflow#SAMPLE}
+	 * 
+	 * @return The sample rate
+	 * @since 1.0
+	 */
+	public int getSampleRate() {
+		return sampleRate;
+	}
+	
+	/**
+	 * Change how many messages logged while the ring is full share one kept message, with {@link Overflow#SAMPLE}
+	 * 
+	 * @param sampleRate The new sample rate
+	 * @since 1.0
+	 */
+	public void setSampleRate(int sampleRate) {
+		this.sampleRate = Math.max(1, sampleRate);
+	}
+	
+	/**
+	 * Retrieve the amount of messages dropped because the ring was full
+	 * 
+	 * @return The amount of dropped messages
+	 * @since 1.0
+	 */
+	public long getDropped() {
+		lock.lock();
+		try {
+			return dropped;
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Log a message. It is formatted and written later by the writer thread.
+	 * 
+	 * @param level The level of the message
+	 * @param message The message
+	 * @param prefix The prefix of the message, such as <code>Donkey</code> or <code>Script</code>
+	 * @param out The stream to write the message to
+	 * @since 1.0
+	 */
+	public void log(LogLevel level, String message, String prefix, PrintStream out) {
+		long time = System.currentTimeMillis();
+		lock.lock();
+		try {
+			if (writer == null)
+				start();
+			if (size == ring.length) {
+				Overflow o = overflow;
+				if (o == Overflow.DROP || o == Overflow.SAMPLE && overflowed++ % sampleRate != 0) {
+					dropped++;
+					unreported++;
+					return;
+				}
+				while(size == ring.length)
+					notFull.awaitUninterruptibly();
+			}
+			Entry e = ring[(head + size) % ring.length];
+			e.time = time;
+			e.level = level;
+			e.prefix = prefix;
+			e.message = message;
+			e.out = out;
+			size++;
+			accepted++;
+			notEmpty.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Format a message the same way the writer thread does, for a caller that writes it itself. This can be called from any thread.
+	 * 
+	 * @param level The level of the message
+	 * @param message The message
+	 * @param prefix The prefix of the message, such as <code>Donkey</code> or <code>Script</code>
+	 * @return The line to write, ending with a line separator
+	 * @since 1.0
+	 */
+	public String format(LogLevel level, String message, String prefix) {
+		return append(new StringBuilder(message.length() + 40), System.currentTimeMillis(), level, prefix, message).toString();
+	}
+	
+	/**
+	 * Wait until every message logged before this call was written
+	 * 
+	 * @since 1.0
+	 */
+	public void flush() {
+		lock.lock();
+		try {
+			long target = accepted;
+			while(done < target) {
+				if (!written.await(1, TimeUnit.SECONDS) && (writer == null || !writer.isAlive()))
+					return;
+			}
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Start the writer thread, and flush the logger when the JVM shuts down. Called while holding the lock.
+	 * 
+	 * @since 1.0
+	 */
+	private void start() {
+		writer = new Thread(new Runnable() {
+			
+			public void run() {
+				drain();
+			}
+		}, "donkey-logger");
+		writer.setDaemon(true);
+		writer.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+			
+			public void run() {
+				flush();
+			}
+		}, "donkey-logger-flush"));
+	}
+	
+	/**
+	 * Write messages as they are logged, until the JVM stops
+	 * 
+	 * @since 1.0
+	 */
+	private void drain() {
+		while(true) {
+			int n;
+			long missed;
+			lock.lock();
+			try {
+				while(size == 0)
+					notEmpty.awaitUninterruptibly();
+				n = size;
+				for(int i = 0; i < n; i++) {
+					int slot = (head + i) % ring.length;
+					Entry e = ring[slot];
+					ring[slot] = batch[i];
+					batch[i] = e;
+				}
+				head = (head + n) % ring.length;
+				size = 0;
+				missed = unreported;
+				unreported = 0;
+				notFull.signalAll();
+			} finally {
+				lock.unlock();
+			}
+			PrintStream last = null;
+			for(int i = 0; i < n; i++) {
+				Entry e = batch[i];
+				if (last != null && e.out != last)
+					write(last);
+				last = e.out;
+				format(e.time, e.level, e.prefix, e.message);
+				e.prefix = null;
+				e.message = null;
+				e.out = null;
+			}
+			if (missed > 0)
+				format(System.currentTimeMillis(), LogLevel.WARNING, "Donkey", missed + " log messages were dropped because the log buffer was full");
+			if (last != null)
+				write(last);
+			else if (text.length() > 0)
+				write(System.out);
+			lock.lock();
+			try {
+				done += n;
+				written.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+	
+	private void format(long time, LogLevel level, String prefix, String message) {
+		append(text, time, level, prefix, message);
+	}
+	
+	private StringBuilder append(StringBuilder b, long time, LogLevel level, String prefix, String message) {
+		return b.append(timestamp(time)).append('[').append(prefix).append('/').append(level.name()).append("]: ").append(message).append(System.lineSeparator());
+	}
+	
+	private void write(PrintStream out) {
+		out.print(text);
+		out.flush();
+		text.setLength(0);
+	}
+	
+	/**
+	 * Format a timestamp as <code>[hh:mm:ss:AM] </code>, reusing the text of the previous timestamp if it is in the same second
+	 * 
+	 * @param time The time in milliseconds since the epoch
+	 * @return The formatted timestamp
+	 * @since 1.0
+	 */
+	private String timestamp(long time) {
+		long s = time - time % 1000;
+		Timestamp t = timestamp;
+		if (s != t.second) {
+			Calendar c = Calendar.getInstance();
+			c.setTimeInMillis(time);
+			StringBuilder b = new StringBuilder(14).append('[');
+			pad(b, c.get(Calendar.HOUR)).append(':');
+			pad(b, c.get(Calendar.MINUTE)).append(':');
+			pad(b, c.get(Calendar.SECOND)).append(':');
+			timestamp = t = new Timestamp(s, b.append(c.get(Calendar.AM_PM) == Calendar.AM ? "AM" : "PM").append("] ").toString());
+		}
+		return t.text;
+	}
+	
+	private static StringBuilder pad(StringBuilder b, int n) {
+		if (n < 10)
+			b.append('0');
+		return b.append(n);
+	}
+}
@@ -0,0 +1,123 @@
+package me.donkeycore.dpl.math;
+
+import me.donkeycore.dpl.exceptions.MathException;
+import me.donkeycore.dpl.metrics.Metrics;
+import me.donkeycore.dpl.profile.FlightEvents;
+import me.donkeycore.dpl.variables.SymbolTable;
+import me.donkeycore.dpl.variables.VariableTable;
+
+/**
+ * An arithmetic expression parsed once and evaluated without a script engine. <h1>Syntax:</h1>
+ * 
+ * <pre>
+ * A + B <code>Adds the numbers</code>
+ * A - B <code>Subtracts the numbers</code>
+ * A * B <code>Multiplies the numbers</code>
+ * A / B <code>Divides the numbers</code>
+ * A % B <code>Finds the remainder from dividing the numbers</code>
+ * A ^ B <code>Raises A to the power of B</code>
+ * -A <code>Negates the number</code>
+ * (A) <code>Groups an expression</code>
+ * `KEY` <code>The value of a variable</code>
+ * </pre>
+ * 
+ * Whole numbers are calculated exactly as longs; an operation that overflows or does not divide evenly continues as a double.
+ * 
+ * @see MathValue
+ * @since 1.0
+ */
+public final class MathExpression {
+	
+	/**
+	 * The source text
+	 * 
+	 * @since 1.0
+	 */
+	private final String text;
+	/**
+	 * The root node of the expression
+	 * 
+	 * @since 1.0
+	 */
+	private final MathNode root;
+	
+	private MathExpression(String text, MathNode root) {
+		this.text = text;
+		this.root = root;
+	}
+	
+	/**
+	 * Parse an arithmetic expression
+	 * 
+	 * @param text The expression to parse
+	 * @param symbols The table assigning slots to referenced names, or <code>null</code> to look names up when evaluating
+	 * @return The parsed {@link MathExpression}
+	 * @throws MathException If the expression is not valid arithmetic
+	 * @since 1.0
+	 */
+	public static MathExpression compile(String text, SymbolTable symbols) throws MathException {
+		return new MathExpression(text, MathParser.parse(text, symbols));
+	}
+	
+	/**
+	 * Checks if text only contains characters that may appear in arithmetic, outside of variable references. This does not check that the text is valid.
+	 * 
+	 * @param text The text to check
+	 * @return Whether the text could be arithmetic
+	 * @since 1.0
+	 */
+	public static boolean isArithmetic(String text) {
+		boolean any = false;
+		for(int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '`') {
+				int end = text.indexOf('`', i + 1);
+				if (end == -1)
+					return false;
+				i = end;
+				any = true;
+			} else if (c >= '0' && c <= '9') {
+				any = true;
+			} else if ("+-*/%^(). \t".indexOf(c) == -1) {
+				return false;
+			}
+		}
+		return any;
+	}
+	
+	/**
+	 * Evaluate the expression
+	 * 
+	 * @param table The variables of the running script
+	 * @param out The value to store the result in
+	 * @return <code>out</code>
+	 * @throws MathException If a referenced variable is not a number
+	 * @since 1.0
+	 */
+	public MathValue evaluate(VariableTable table, MathValue out) throws MathException {
+		Metrics.countExpression();
+		Object event = FlightEvents.beginExpression();
+		try {
+			root.evaluate(table, out);
+		} finally {
+			FlightEvents.endExpression(event, text);
+		}
+		return out;
+	}
+	
+	/**
+	 * Evaluate the expression
+	 * 
+	 * @param table The variables of the running script
+	 * @return The result as a double
+	 * @throws MathException If a referenced variable is not a number
+	 * @since 1.0
+	 */
+	public double evaluate(VariableTable table) throws MathException {
+		return evaluate(table, new MathValue()).getDouble();
+	}
+	
+	public String toString() {
+		return text;
+	}
+}
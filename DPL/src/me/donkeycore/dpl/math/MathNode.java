@@ -0,0 +1,206 @@
+package me.donkeycore.dpl.math;
+
+import me.donkeycore.dpl.exceptions.MathException;
+import me.donkeycore.dpl.variables.VarDouble;
+import me.donkeycore.dpl.variables.VarInteger;
+import me.donkeycore.dpl.variables.Variable;
+import me.donkeycore.dpl.variables.VariableTable;
+
+/**
+ * A node of a parsed {@link MathExpression}
+ * 
+ * @see MathParser
+ * @since 1.0
+ */
+abstract class MathNode {
+	
+	/**
+	 * Evaluate this node
+	 * 
+	 * @param table The variables of the running script
+	 * @param out The value to store the result in
+	 * @throws MathException If a referenced variable is not a number
+	 * @since 1.0
+	 */
+	abstract void evaluate(VariableTable table, MathValue out) throws MathException;
+	
+	/**
+	 * A number written in the expression
+	 * 
+	 * @since 1.0
+	 */
+	static final class Constant extends MathNode {
+		
+		private final MathValue value;
+		
+		Constant(MathValue value) {
+			this.value = value;
+		}
+		
+		void evaluate(VariableTable table, MathValue out) {
+			out.integral = value.integral;
+			out.longValue = value.longValue;
+			out.doubleValue = value.doubleValue;
+		}
+	}
+	
+	/**
+	 * A {@code `KEY`} reference to a variable
+	 * 
+	 * @since 1.0
+	 */
+	static final class Reference extends MathNode {
+		
+		private final String name;
+		private final int slot;
+		
+		Reference(String name, int slot) {
+			this.name = name;
+			this.slot = slot;
+		}
+		
+		void evaluate(VariableTable table, MathValue out) throws MathException {
+			Variable v = slot == -1 ? table.get(name) : table.get(slot);
+			if (v instanceof VarInteger) {
+				out.set(((VarInteger) v).getInt());
+			} else if (v instanceof VarDouble) {
+				out.set(((VarDouble) v).getDouble());
+			} else {
+				if (v == null)
+					throw new MathException('`' + name + '`', "Undeclared variable");
+				String s = v.getValueString().trim();
+				try {
+					if (s.indexOf('.') == -1 && s.indexOf('e') == -1 && s.indexOf('E') == -1)
+						out.set(Long.parseLong(s));
+					else
+						out.set(Double.parseDouble(s));
+				} catch(NumberFormatException e) {
+					throw new MathException('`' + name + '`', "Not a number: " + s);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * A unary minus
+	 * 
+	 * @since 1.0
+	 */
+	static final class Negate extends MathNode {
+		
+		private final MathNode operand;
+		
+		Negate(MathNode operand) {
+			this.operand = operand;
+		}
+		
+		void evaluate(VariableTable table, MathValue out) throws MathException {
+			operand.evaluate(table, out);
+			if (out.integral && out.longValue != Long.MIN_VALUE)
+				out.longValue = -out.longValue;
+			else
+				out.set(-out.getDouble());
+		}
+	}
+	
+	/**
+	 * A binary operation: one of <code>+ - * / % ^</code>
+	 * 
+	 * @since 1.0
+	 */
+	static final class Binary extends MathNode {
+		
+		private final char op;
+		private final MathNode left;
+		private final MathNode right;
+		
+		Binary(char op, MathNode left, MathNode right) {
+			this.op = op;
+			this.left = left;
+			this.right = right;
+		}
+		
+		void evaluate(VariableTable table, MathValue out) throws MathException {
+			left.evaluate(table, out);
+			boolean integral = out.integral;
+			long a = out.longValue;
+			double x = out.getDouble();
+			right.evaluate(table, out);
+			if (integral && out.integral && exact(a, out.longValue, out))
+				return;
+			double y = out.getDouble();
+			switch(op) {
+				case '+':
+					out.set(x + y);
+					break;
+				case '-':
+					out.set(x - y);
+					break;
+				case '*':
+					out.set(x * y);
+					break;
+				case '/':
+					out.set(x / y);
+					break;
+				case '%':
+					out.set(x % y);
+					break;
+				default:
+					out.set(Math.pow(x, y));
+			}
+		}
+		
+		/**
+		 * Apply the operation to whole numbers
+		 * 
+		 * @param a The left operand
+		 * @param b The right operand
+		 * @param out The value to store the result in
+		 * @return Whether the result is an exact whole number; if not, <code>out</code> is left unchanged
+		 * @since 1.0
+		 */
+		private boolean exact(long a, long b, MathValue out) {
+			try {
+				switch(op) {
+					case '+':
+						out.set(Math.addExact(a, b));
+						return true;
+					case '-':
+						out.set(Math.subtractExact(a, b));
+						return true;
+					case '*':
+						out.set(Math.multiplyExact(a, b));
+						return true;
+					case '/':
+						if (b == 0 || a % b != 0)
+							return false;
+						out.set(a / b);
+						return true;
+					case '%':
+						if (b == 0)
+							return false;
+						out.set(a % b);
+						return true;
+					default:
+						if (b < 0)
+							return false;
+						out.set(pow(a, b));
+						return true;
+				}
+			} catch(ArithmeticException e) {
+				return false;
+			}
+		}
+		
+		private static long pow(long a, long b) {
+			if (a == 0 || a == 1)
+				return b == 0 ? 1 : a;
+			if (a == -1)
+				return (b & 1) == 0 ? 1 : -1;
+			long r = 1;
+			for(long i = 0; i < b; i++)
+				r = Math.multiplyExact(r, a);
+			return r;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package me.donkeycore.dpl.math;
+
+import me.donkeycore.dpl.exceptions.MathException;
+import me.donkeycore.dpl.variables.SymbolTable;
+
+/**
+ * A recursive descent parser for arithmetic. From lowest to highest precedence:
+ * 
+ * <pre>
+ * A + B, A - B        <code>left to right</code>
+ * A * B, A / B, A % B <code>left to right</code>
+ * -A, +A
+ * A ^ B               <code>right to left</code>
+ * (A), 1.5, `KEY`
+ * </pre>
+ * 
+ * @see MathExpression#compile(String, SymbolTable)
+ * @since 1.0
+ */
+final class MathParser {
+	
+	/**
+	 * The expression being parsed
+	 * 
+	 * @since 1.0
+	 */
+	private final String text;
+	/**
+	 * The table assigning slots to referenced names, or <code>null</code> to look names up when evaluating
+	 * 
+	 * @since 1.0
+	 */
+	private final SymbolTable symbols;
+	/**
+	 * The index of the next character to parse
+	 * 
+	 * @since 1.0
+	 */
+	private int pos = 0;
+	
+	private MathParser(String text, SymbolTable symbols) {
+		this.text = text;
+		this.symbols = symbols;
+	}
+	
+	/**
+	 * Parse an arithmetic expression
+	 * 
+	 * @param text The expression to parse
+	 * @param symbols The table assigning slots to referenced names, or <code>null</code> to look names up when evaluating
+	 * @return The root node of the expression
+	 * @throws MathException If the expression is not valid arithmetic
+	 * @since 1.0
+	 */
+	static MathNode parse(String text, SymbolTable symbols) throws MathException {
+		MathParser p = new MathParser(text, symbols);
+		MathNode n = p.parseSum();
+		if (p.peek() != -1)
+			throw p.error("Unexpected character: " + text.charAt(p.pos));
+		return n;
+	}
+	
+	private MathNode parseSum() throws MathException {
+		MathNode n = parseProduct();
+		for(int c = peek(); c == '+' || c == '-'; c = peek()) {
+			pos++;
+			n = new MathNode.Binary((char) c, n, parseProduct());
+		}
+		return n;
+	}
+	
+	private MathNode parseProduct() throws MathException {
+		MathNode n = parseUnary();
+		for(int c = peek(); c == '*' || c == '/' || c == '%'; c = peek()) {
+			pos++;
+			n = new MathNode.Binary((char) c, n, parseUnary());
+		}
+		return n;
+	}
+	
+	private MathNode parseUnary() throws MathException {
+		int c = peek();
+		if (c == '-') {
+			pos++;
+			return new MathNode.Negate(parseUnary());
+		}
+		if (c == '+') {
+			pos++;
+			return parseUnary();
+		}
+		return parsePower();
+	}
+	
+	private MathNode parsePower() throws MathException {
+		MathNode n = parsePrimary();
+		if (peek() == '^') {
+			pos++;
+			return new MathNode.Binary('^', n, parseUnary());
+		}
+		return n;
+	}
+	
+	private MathNode parsePrimary() throws MathException {
+		int c = peek();
+		if (c == '(') {
+			pos++;
+			MathNode n = parseSum();
+			if (peek() != ')')
+				throw error("Missing )");
+			pos++;
+			return n;
+		}
+		if (c == '`') {
+			int end = text.indexOf('`', pos + 1);
+			if (end == -1 || end == pos + 1)
+				throw error("Invalid variable reference");
+			String name = text.substring(pos + 1, end);
+			pos = end + 1;
+			return new MathNode.Reference(name, symbols == null ? -1 : symbols.slotOf(name));
+		}
+		if (c >= '0' && c <= '9' || c == '.')
+			return parseNumber();
+		throw error(c == -1 ? "Unexpected end of expression" : "Unexpected character: " + (char) c);
+	}
+	
+	private MathNode parseNumber() throws MathException {
+		int start = pos;
+		while(pos < text.length() && Character.isDigit(text.charAt(pos)))
+			pos++;
+		boolean integral = true;
+		if (pos < text.length() && text.charAt(pos) == '.') {
+			integral = false;
+			pos++;
+			while(pos < text.length() && Character.isDigit(text.charAt(pos)))
+				pos++;
+		}
+		String s = text.substring(start, pos);
+		if (s.equals("."))
+			throw error("Invalid number");
+		MathValue v = new MathValue();
+		if (integral && s.length() < 19)
+			v.set(Long.parseLong(s));
+		else
+			v.set(Double.parseDouble(s));
+		return new MathNode.Constant(v);
+	}
+	
+	/**
+	 * Skip whitespace and look at the next character
+	 * 
+	 * @return The next character, or <code>-1</code> at the end of the expression
+	 * @since 1.0
+	 */
+	private int peek() {
+		while(pos < text.length() && Character.isWhitespace(text.charAt(pos)))
+			pos++;
+		return pos < text.length() ? text.charAt(pos) : -1;
+	}
+	
+	private MathException error(String message) {
+		return new MathException(text, message + " at index " + pos);
+	}
+}
@@ -0,0 +1,83 @@
+package me.donkeycore.dpl.math;
+
+/**
+ * The result of evaluating a {@link MathExpression}. Results stay whole numbers for as long as every operation on them is exact, and become doubles otherwise.
+ * 
+ * @see MathExpression#evaluate(me.donkeycore.dpl.variables.VariableTable, MathValue)
+ * @since 1.0
+ */
+public final class MathValue {
+	
+	/**
+	 * Whether the value is a whole number held in {@link MathValue#longValue}
+	 * 
+	 * @since 1.0
+	 */
+	boolean integral;
+	/**
+	 * The value, if it is a whole number
+	 * 
+	 * @since 1.0
+	 */
+	long longValue;
+	/**
+	 * The value, if it is not a whole number
+	 * 
+	 * @since 1.0
+	 */
+	double doubleValue;
+	
+	void set(long l) {
+		integral = true;
+		longValue = l;
+	}
+	
+	void set(double d) {
+		integral = false;
+		doubleValue = d;
+	}
+	
+	/**
+	 * Checks if the value is an exact whole number
+	 * 
+	 * @return Whether the value was calculated without leaving whole numbers
+	 * @since 1.0
+	 */
+	public boolean isIntegral() {
+		return integral;
+	}
+	
+	/**
+	 * Retrieve the value as a long
+	 * 
+	 * @return The value, truncated if it is not a whole number
+	 * @since 1.0
+	 */
+	public long getLong() {
+		return integral ? longValue : (long) doubleValue;
+	}
+	
+	/**
+	 * Retrieve the value as a double
+	 * 
+	 * @return The value
+	 * @since 1.0
+	 */
+	public double getDouble() {
+		return integral ? longValue : doubleValue;
+	}
+	
+	/**
+	 * Retrieve the value as it is written into a script. Whole numbers are written without a trailing <code>.0</code>.
+	 * 
+	 * @return The text of the value
+	 * @since 1.0
+	 */
+	public String toString() {
+		if (integral)
+			return Long.toString(longValue);
+		if (doubleValue == Math.rint(doubleValue) && Math.abs(doubleValue) < 1e15)
+			return Long.toString((long) doubleValue);
+		return Double.toString(doubleValue);
+	}
+}
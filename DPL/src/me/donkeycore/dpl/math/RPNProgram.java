@@ -0,0 +1,336 @@
+package me.donkeycore.dpl.math;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import me.donkeycore.dpl.exceptions.MathException;
+import me.donkeycore.dpl.metrics.Metrics;
+import me.donkeycore.dpl.variables.VarNumber;
+import me.donkeycore.dpl.variables.Variable;
+import me.donkeycore.dpl.variables.VariableTable;
+
+/**
+ * A math expression in RPN (Reverse Polish Notation) compiled into an array of instructions. Numbers become constants and any other token that is not an operator becomes a named input. Evaluating runs the instructions over a <code>double[]</code> stack sized when compiling. <h1>Syntax:</h1>
+ * 
+ * <pre>
+ * A B + <code>is the same as</code> A + B
+ * A B - <code>is the same as</code> A - B
+ * A B * <code>is the same as</code> A * B
+ * A B / <code>is the same as</code> A / B
+ * A B ^ <code>is the same as</code> A ^ B
+ * A B % <code>is the same as</code> A % B
+ * A B + C - <code>is the same as</code> A + B - C
+ * </pre>
+ * 
+ * @see me.donkeycore.dpl.Expression#evaluateRPN(String)
+ * @since 1.0
+ */
+public final class RPNProgram {
+	
+	private static final int ADD = -1;
+	private static final int SUBTRACT = -2;
+	private static final int MULTIPLY = -3;
+	private static final int DIVIDE = -4;
+	private static final int MODULO = -5;
+	private static final int POWER = -6;
+	/**
+	 * The instruction pushing the first input; the instruction pushing input <code>i</code> is <code>INPUT - i</code>
+	 * 
+	 * @since 1.0
+	 */
+	private static final int INPUT = -7;
+	/**
+	 * The arrays every thread evaluates single programs with, so that an evaluation does not allocate
+	 * 
+	 * @since 1.0
+	 */
+	private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<Scratch>() {
+		
+		protected Scratch initialValue() {
+			return new Scratch();
+		}
+	};
+	
+	/**
+	 * The source text
+	 * 
+	 * @since 1.0
+	 */
+	private final String text;
+	/**
+	 * The instructions. An instruction that is not negative pushes the constant at that index.
+	 * 
+	 * @since 1.0
+	 */
+	private final int[] code;
+	/**
+	 * The numbers written in the expression
+	 * 
+	 * @since 1.0
+	 */
+	private final double[] constants;
+	/**
+	 * The names of the inputs, in the order they first appear
+	 * 
+	 * @since 1.0
+	 */
+	private final String[] inputs;
+	/**
+	 * The deepest the stack gets while evaluating
+	 * 
+	 * @since 1.0
+	 */
+	private final int depth;
+	
+	private RPNProgram(String text, int[] code, double[] constants, String[] inputs, int depth) {
+		this.text = text;
+		this.code = code;
+		this.constants = constants;
+		this.inputs = inputs;
+		this.depth = depth;
+	}
+	
+	/**
+	 * Compile an expression in RPN. Tokens are separated by spaces, tabs or commas. Like the original evaluator, tokens left on the stack under the result are ignored.
+	 * 
+	 * @param s The expression to compile
+	 * @return The compiled {@link RPNProgram}
+	 * @throws MathException If the expression is invalid
+	 * @since 1.0
+	 */
+	public static RPNProgram compile(String s) throws MathException {
+		String[] tks = s.trim().split("[ \t,]+");
+		int[] code = new int[tks.length];
+		double[] constants = new double[tks.length];
+		List<String> inputs = new ArrayList<String>();
+		int nconst = 0;
+		int sp = 0;
+		int depth = 0;
+		for(int i = 0; i < tks.length; i++) {
+			String tk = tks[i];
+			if (tk.isEmpty())
+				throw new MathException(s, "Invalid expression");
+			int op = operator(tk);
+			if (op != 0) {
+				if (sp < 2)
+					throw new MathException(s, "Invalid expression");
+				sp--;
+			} else if (isNumber(tk)) {
+				try {
+					constants[nconst] = Double.parseDouble(tk);
+				} catch(NumberFormatException e) {
+					throw new MathException(s, "Invalid operation: " + tk);
+				}
+				op = nconst++;
+				sp++;
+			} else if (isName(tk)) {
+				int input = inputs.indexOf(tk);
+				if (input == -1) {
+					input = inputs.size();
+					inputs.add(tk);
+				}
+				op = INPUT - input;
+				sp++;
+			} else {
+				throw new MathException(s, "Invalid operation: " + tk);
+			}
+			code[i] = op;
+			depth = Math.max(depth, sp);
+		}
+		if (sp == 0)
+			throw new MathException(s, "Invalid expression");
+		double[] c = new double[nconst];
+		System.arraycopy(constants, 0, c, 0, nconst);
+		return new RPNProgram(s, code, c, inputs.toArray(new String[inputs.size()]), depth);
+	}
+	
+	private static int operator(String tk) {
+		if (tk.length() != 1)
+			return 0;
+		switch(tk.charAt(0)) {
+			case '+':
+				return ADD;
+			case '-':
+				return SUBTRACT;
+			case '*':
+				return MULTIPLY;
+			case '/':
+				return DIVIDE;
+			case '%':
+				return MODULO;
+			case '^':
+				return POWER;
+			default:
+				return 0;
+		}
+	}
+	
+	private static boolean isNumber(String tk) {
+		char c = tk.charAt(0);
+		if ((c == '-' || c == '+') && tk.length() > 1)
+			c = tk.charAt(1);
+		return c >= '0' && c <= '9' || c == '.';
+	}
+	
+	private static boolean isName(String tk) {
+		if (!Character.isJavaIdentifierStart(tk.charAt(0)))
+			return false;
+		for(int i = 1; i < tk.length(); i++) {
+			if (!Character.isJavaIdentifierPart(tk.charAt(i)))
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Retrieve the names of the inputs
+	 * 
+	 * @return The names of the inputs, in the order their values are given to {@link RPNProgram#evaluate(double...)}
+	 * @since 1.0
+	 */
+	public String[] getInputs() {
+		return inputs.clone();
+	}
+	
+	/**
+	 * Retrieve the amount of inputs
+	 * 
+	 * @return The amount of values to give to {@link RPNProgram#evaluate(double...)}
+	 * @since 1.0
+	 */
+	public int getInputCount() {
+		return inputs.length;
+	}
+	
+	/**
+	 * Retrieve the name of an input
+	 * 
+	 * @param i The index of the input
+	 * @return The name of the input
+	 * @since 1.0
+	 */
+	public String getInput(int i) {
+		return inputs[i];
+	}
+	
+	/**
+	 * Evaluate the program
+	 * 
+	 * @param values The value of every input
+	 * @return The value left on top of the stack
+	 * @throws MathException If the wrong amount of values is given
+	 * @since 1.0
+	 */
+	public double evaluate(double... values) throws MathException {
+		check(values);
+		Metrics.countExpression();
+		return run(SCRATCH.get().stack(depth), values);
+	}
+	
+	/**
+	 * Evaluate the program, reading every input from the numeric variable with its name
+	 * 
+	 * @param table The variables of the running script
+	 * @return The value left on top of the stack
+	 * @throws MathException If an input is not a numeric variable
+	 * @since 1.0
+	 */
+	public double evaluate(VariableTable table) throws MathException {
+		Scratch s = SCRATCH.get();
+		double[] values = s.values(inputs.length);
+		for(int i = 0; i < inputs.length; i++) {
+			Variable v = table.get(inputs[i]);
+			if (!(v instanceof VarNumber))
+				throw new MathException(text, "Invalid operation: " + inputs[i]);
+			values[i] = ((VarNumber) v).getDouble();
+		}
+		Metrics.countExpression();
+		return run(s.stack(depth), values);
+	}
+	
+	/**
+	 * Evaluate the program once for every set of input values, reusing one stack
+	 * 
+	 * @param bindings The values of the inputs for every evaluation
+	 * @param results The array to store the result of every evaluation in, at the same index as its values
+	 * @throws MathException If the wrong amount of values is given for an evaluation
+	 * @since 1.0
+	 */
+	public void evaluate(double[][] bindings, double[] results) throws MathException {
+		if (results.length < bindings.length)
+			throw new MathException(text, "Expected " + bindings.length + " results but only " + results.length + " fit");
+		double[] stack = new double[depth];
+		for(int i = 0; i < bindings.length; i++) {
+			check(bindings[i]);
+			Metrics.countExpression();
+			results[i] = run(stack, bindings[i]);
+		}
+	}
+	
+	private void check(double[] values) throws MathException {
+		if (values.length != inputs.length)
+			throw new MathException(text, "Expected " + inputs.length + " inputs but was given " + values.length);
+	}
+	
+	private double run(double[] stack, double[] values) {
+		int sp = 0;
+		for(int op : code) {
+			if (op >= 0) {
+				stack[sp++] = constants[op];
+			} else if (op <= INPUT) {
+				stack[sp++] = values[INPUT - op];
+			} else {
+				double y = stack[--sp];
+				double x = stack[sp - 1];
+				switch(op) {
+					case ADD:
+						x += y;
+						break;
+					case SUBTRACT:
+						x -= y;
+						break;
+					case MULTIPLY:
+						x *= y;
+						break;
+					case DIVIDE:
+						x /= y;
+						break;
+					case MODULO:
+						x %= y;
+						break;
+					default:
+						x = Math.pow(x, y);
+				}
+				stack[sp - 1] = x;
+			}
+		}
+		return stack[sp - 1];
+	}
+	
+	public String toString() {
+		return text;
+	}
+	
+	/**
+	 * The stack and input values of one thread, grown to fit the largest program it has evaluated
+	 * 
+	 * @since 1.0
+	 */
+	private static final class Scratch {
+		
+		private double[] stack = new double[16];
+		private double[] values = new double[16];
+		
+		double[] stack(int depth) {
+			if (stack.length < depth)
+				stack = new double[depth];
+			return stack;
+		}
+		
+		double[] values(int count) {
+			if (values.length < count)
+				values = new double[count];
+			return values;
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package me.donkeycore.dpl.method;
 
+import me.donkeycore.dpl.ExecutionContext;
 import me.donkeycore.dpl.exceptions.DonkeyException;
 import me.donkeycore.dpl.statement.Statement;
 
@@ -32,4 +33,18 @@ public interface IMethod {
 	 * @return The return type that the method may return, or <code>null</code> if there is none.
 	 */
 	public abstract Object run(Statement statement, String[] args) throws DonkeyException;
+	
+	/**
+	 * Run the method in a script's {@link ExecutionContext}. Methods should override this rather than {@link IMethod#run(Statement, String[])} and keep their state in the context, so that several scripts can run them at once. The default implementation calls {@link IMethod#run(Statement, String[])}, so methods written before contexts existed keep working.
+	 * 
+	 * @param context The {@link ExecutionContext} of the running script
+	 * @param statement The {@link Statement} that called the method
+	 * @param args The arguments the method has been given
+	 * @throws DonkeyException If something goes wrong
+	 * @since 1.0
+	 * @return The return type that the method may return, or <code>null</code> if there is none.
+	 */
+	public default Object run(ExecutionContext context, Statement statement, String[] args) throws DonkeyException {
+		return run(statement, args);
+	}
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package me.donkeycore.dpl.method;
 import javax.script.ScriptException;
 
 import me.donkeycore.dpl.Donkey;
+import me.donkeycore.dpl.ExecutionContext;
 import me.donkeycore.dpl.conditional.Compare;
 import me.donkeycore.dpl.exceptions.DonkeyException;
 import me.donkeycore.dpl.statement.Statement;
@@ -21,7 +22,11 @@ public class If implements IMethod {
 	}
 	
 	public Object run(Statement statement, String[] args) throws DonkeyException {
-		boolean b = new Compare(statement).isTrue();
+		return run(ExecutionContext.current(), statement, args);
+	}
+	
+	public Object run(ExecutionContext context, Statement statement, String[] args) throws DonkeyException {
+		boolean b = new Compare(statement).isTrue(context);
 		try {
 			statement.runBlock(b);
 		} catch(ScriptException e) {
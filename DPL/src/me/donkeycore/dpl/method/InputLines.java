@@ -0,0 +1,41 @@
+package me.donkeycore.dpl.method;
+
+import javax.script.ScriptException;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.ast.InputLinesNode;
+import me.donkeycore.dpl.ast.Program;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.exceptions.MethodUnsatisfiedException;
+import me.donkeycore.dpl.statement.Statement;
+
+/**
+ * Run a block once for every remaining line of input <br>
+ * Syntax: <code>@inputLines(key) { ...</code><br>
+ * 
+ * <b>key</b> The variable holding the line, declared as a <code>string</code> if it does not exist
+ * @see InputLinesNode
+ * @since 1.0
+ */
+public class InputLines implements IMethod {
+	
+	public String getName() {
+		return "@inputLines";
+	}
+	
+	public Object run(Statement statement, String[] args) throws DonkeyException {
+		return run(ExecutionContext.current(), statement, args);
+	}
+	
+	public Object run(ExecutionContext context, Statement statement, String[] args) throws DonkeyException {
+		String key = args.length == 0 ? "" : args[0].trim();
+		if (key.isEmpty() || args.length > 1)
+			throw new MethodUnsatisfiedException(statement, this, "Expected one variable name");
+		Program p = context.getProgram();
+		try {
+			return new InputLinesNode(statement, -1, key, p == null ? null : p.getBody(statement.getLineNumber())).execute(context);
+		} catch(ScriptException e) {
+			throw new MethodUnsatisfiedException(statement, this, e.getMessage());
+		}
+	}
+}
@@ -18,7 +18,7 @@ import me.donkeycore.dpl.statement.Statement;
 public class JS implements IMethod {
 	
 	/**
-	 * JavaScript engine evaluating all expressions
+	 * JavaScript engine evaluating all expressions. Engines are not safe to use from several threads, so every use is synchronized on it.
 	 * 
 	 * @since 1.0
 	 */
@@ -33,7 +33,9 @@ public class JS implements IMethod {
 		if (args.length == 0 || args[0].equals(""))
 			return null;
 		try {
-			return js.eval(args[0]);
+			synchronized(js) {
+				return js.eval(args[0]);
+			}
 		} catch(ScriptException e) {
 			throw new MethodUnsatisfiedException(statement, this, "Invalid JS");
 		}
@@ -1,22 +1,17 @@
 package me.donkeycore.dpl.method;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 import me.donkeycore.dpl.exceptions.DonkeyException;
 import me.donkeycore.dpl.statement.Statement;
 
 /**
- * Used to generate pseudorandom values
+ * Used to generate pseudorandom values. Every thread draws from its own {@link ThreadLocalRandom}, so scripts running at once do not contend for one generator.
  * 
  * @since 1.0
  */
 public class Random {
 	
-	/**
-	 * A {@link java.util.Random} instance used to calculate pseudorandom values
-	 * 
-	 * @since 1.0
-	 */
-	private static final java.util.Random r = new java.util.Random();
-	
 	/**
 	 * Generate a random value: <code>true</code> or <code>false</code> <br>
 	 * Syntax: <code>@randomBoolean()</code>
@@ -30,7 +25,7 @@ public class Random {
 		}
 		
 		public Object run(Statement statement, String[] args) throws DonkeyException {
-			return r.nextBoolean();
+			return ThreadLocalRandom.current().nextBoolean();
 		}
 	}
 	
@@ -51,6 +46,7 @@ public class Random {
 		}
 		
 		public Object run(Statement statement, String[] args) throws DonkeyException {
+			ThreadLocalRandom r = ThreadLocalRandom.current();
 			if (args.length == 0 || args[0].equals(""))
 				return r.nextInt();
 			if (args.length == 1)
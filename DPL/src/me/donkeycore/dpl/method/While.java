@@ -3,6 +3,7 @@ package me.donkeycore.dpl.method;
 import javax.script.ScriptException;
 
 import me.donkeycore.dpl.Donkey;
+import me.donkeycore.dpl.ExecutionContext;
 import me.donkeycore.dpl.conditional.Compare;
 import me.donkeycore.dpl.exceptions.DonkeyException;
 import me.donkeycore.dpl.statement.Statement;
@@ -21,11 +22,15 @@ public class While implements IMethod {
 	}
 	
 	public Object run(Statement statement, String[] args) throws DonkeyException {
+		return run(ExecutionContext.current(), statement, args);
+	}
+	
+	public Object run(ExecutionContext context, Statement statement, String[] args) throws DonkeyException {
 		boolean run = false;
 		try {
-			while(new Compare(Statement.getUpdatedStatement(statement)).isTrue()) {
+			while(new Compare(Statement.getUpdatedStatement(statement)).isTrue(context)) {
 				run = true;
-				statement.runBlock(true, true);
+				statement.runBlock(true);
 			}
 		} catch(ScriptException e) {
 			Donkey.printError(e);
@@ -0,0 +1,73 @@
+package me.donkeycore.dpl.metrics;
+
+import java.beans.ConstructorProperties;
+
+import me.donkeycore.dpl.ExpressionCache;
+
+/**
+ * The state of an {@link ExpressionCache} at one moment
+ * 
+ * @since 1.0
+ */
+public final class CacheSnapshot {
+	
+	private final int size;
+	private final int capacity;
+	private final long hits;
+	private final long misses;
+	private final long evictions;
+	
+	/**
+	 * Create a new {@link CacheSnapshot}
+	 * 
+	 * @param size The amount of cached expressions
+	 * @param capacity The maximum amount of cached expressions
+	 * @param hits The amount of lookups that found a cached expression
+	 * @param misses The amount of lookups that did not find a cached expression
+	 * @param evictions The amount of expressions removed to make room for others
+	 * @since 1.0
+	 */
+	@ConstructorProperties({ "size", "capacity", "hits", "misses", "evictions" })
+	public CacheSnapshot(int size, int capacity, long hits, long misses, long evictions) {
+		this.size = size;
+		this.capacity = capacity;
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+	}
+	
+	/**
+	 * Take a snapshot of a cache
+	 * 
+	 * @param cache The cache
+	 * @return The {@link CacheSnapshot} of its size and counters
+	 * @since 1.0
+	 */
+	static CacheSnapshot of(ExpressionCache<?> cache) {
+		return new CacheSnapshot(cache.size(), cache.getCapacity(), cache.getHits(), cache.getMisses(), cache.getEvictions());
+	}
+	
+	public int getSize() {
+		return size;
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	public long getHits() {
+		return hits;
+	}
+	
+	public long getMisses() {
+		return misses;
+	}
+	
+	public long getEvictions() {
+		return evictions;
+	}
+	
+	public String toString() {
+		return "size=" + size + "/" + capacity + " hits=" + hits + " misses=" + misses + " evictions=" + evictions;
+	}
+}
@@ -0,0 +1,68 @@
+package me.donkeycore.dpl.metrics;
+
+import java.util.Map;
+
+/**
+ * Exposes the {@link Metrics} of the JVM over JMX
+ * 
+ * @see Metrics#registerMBean()
+ * @since 1.0
+ */
+final class DonkeyMetrics implements DonkeyMetricsMXBean {
+	
+	public long getStatementsExecuted() {
+		return Metrics.getStatementsExecuted();
+	}
+	
+	public long getBlockEntries() {
+		return Metrics.getBlockEntries();
+	}
+	
+	public long getExpressionEvaluations() {
+		return Metrics.getExpressionEvaluations();
+	}
+	
+	public long getVariableLookups() {
+		return Metrics.getVariableLookups();
+	}
+	
+	public long getSourceFileReads() {
+		return Metrics.getSourceFileReads();
+	}
+	
+	public long getSourceLineReads() {
+		return Metrics.getSourceLineReads();
+	}
+	
+	public Map<String, Long> getInvocations() {
+		return Metrics.getInvocations();
+	}
+	
+	public Map<String, Long> getPluginLoadTimes() {
+		return Metrics.getPluginLoadTimes();
+	}
+	
+	public HistogramSnapshot getPluginLoadDurations() {
+		return Metrics.getPluginLoadHistogram().snapshot();
+	}
+	
+	public HistogramSnapshot getScriptRunDurations() {
+		return Metrics.getRunHistogram().snapshot();
+	}
+	
+	public CacheSnapshot getMathCache() {
+		return Metrics.getMathCache();
+	}
+	
+	public CacheSnapshot getRPNCache() {
+		return Metrics.getRPNCache();
+	}
+	
+	public CacheSnapshot getConditionCache() {
+		return Metrics.getConditionCache();
+	}
+	
+	public void reset() {
+		Metrics.reset();
+	}
+}
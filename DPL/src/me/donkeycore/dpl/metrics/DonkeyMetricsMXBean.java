@@ -0,0 +1,81 @@
+package me.donkeycore.dpl.metrics;
+
+import java.util.Map;
+
+/**
+ * The interpreter {@link Metrics} as seen over JMX
+ * 
+ * @since 1.0
+ */
+public interface DonkeyMetricsMXBean {
+	
+	/**
+	 * @return The amount of statements run by blocks
+	 */
+	long getStatementsExecuted();
+	
+	/**
+	 * @return The amount of times a block started running
+	 */
+	long getBlockEntries();
+	
+	/**
+	 * @return The amount of math expressions evaluated
+	 */
+	long getExpressionEvaluations();
+	
+	/**
+	 * @return The amount of variable lookups of the runs that ended
+	 */
+	long getVariableLookups();
+	
+	/**
+	 * @return The amount of times a source file was read from disk
+	 */
+	long getSourceFileReads();
+	
+	/**
+	 * @return The amount of lines read from source files
+	 */
+	long getSourceLineReads();
+	
+	/**
+	 * @return The invocations of every method and statement, by name
+	 */
+	Map<String, Long> getInvocations();
+	
+	/**
+	 * @return The time taken to load every plugin, in nanoseconds, by class name
+	 */
+	Map<String, Long> getPluginLoadTimes();
+	
+	/**
+	 * @return The durations of plugin loads, in nanoseconds
+	 */
+	HistogramSnapshot getPluginLoadDurations();
+	
+	/**
+	 * @return The durations of the runs of scripts, in nanoseconds
+	 */
+	HistogramSnapshot getScriptRunDurations();
+	
+	/**
+	 * @return The size and counters of the cache of arithmetic expressions
+	 */
+	CacheSnapshot getMathCache();
+	
+	/**
+	 * @return The size and counters of the cache of RPN expressions
+	 */
+	CacheSnapshot getRPNCache();
+	
+	/**
+	 * @return The size and counters of the cache of conditions
+	 */
+	CacheSnapshot getConditionCache();
+	
+	/**
+	 * Set every counter back to <code>0</code>, including those of the caches, and empty the run durations
+	 */
+	void reset();
+}
@@ -0,0 +1,67 @@
+package me.donkeycore.dpl.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * The state of a {@link LatencyHistogram} at one moment. Every duration is in nanoseconds.
+ * 
+ * @since 1.0
+ */
+public final class HistogramSnapshot {
+	
+	private final long count;
+	private final long mean;
+	private final long max;
+	private final long p50;
+	private final long p90;
+	private final long p99;
+	
+	/**
+	 * Create a new {@link HistogramSnapshot}
+	 * 
+	 * @param count The amount of recorded durations
+	 * @param mean The mean duration
+	 * @param max The longest duration
+	 * @param p50 The median duration
+	 * @param p90 The 90th percentile
+	 * @param p99 The 99th percentile
+	 * @since 1.0
+	 */
+	@ConstructorProperties({ "count", "mean", "max", "p50", "p90", "p99" })
+	public HistogramSnapshot(long count, long mean, long max, long p50, long p90, long p99) {
+		this.count = count;
+		this.mean = mean;
+		this.max = max;
+		this.p50 = p50;
+		this.p90 = p90;
+		this.p99 = p99;
+	}
+	
+	public long getCount() {
+		return count;
+	}
+	
+	public long getMean() {
+		return mean;
+	}
+	
+	public long getMax() {
+		return max;
+	}
+	
+	public long getP50() {
+		return p50;
+	}
+	
+	public long getP90() {
+		return p90;
+	}
+	
+	public long getP99() {
+		return p99;
+	}
+	
+	public String toString() {
+		return "count=" + count + " mean=" + mean + "ns max=" + max + "ns p50=" + p50 + "ns p90=" + p90 + "ns p99=" + p99 + "ns";
+	}
+}
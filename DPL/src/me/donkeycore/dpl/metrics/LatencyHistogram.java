@@ -0,0 +1,149 @@
+package me.donkeycore.dpl.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations that many threads can record into without contending. Every power of two is split into four buckets, so a percentile is accurate to within a quarter of its value.
+ * 
+ * @since 1.0
+ */
+public final class LatencyHistogram {
+	
+	/**
+	 * The amount of buckets: one for each value below 8, then four for each power of two up to 2^62
+	 * 
+	 * @since 1.0
+	 */
+	private static final int BUCKETS = 8 + 60 * 4;
+	
+	private final LongAdder[] buckets = new LongAdder[BUCKETS];
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+	
+	/**
+	 * Create a new, empty {@link LatencyHistogram}
+	 * 
+	 * @since 1.0
+	 */
+	public LatencyHistogram() {
+		for(int i = 0; i < BUCKETS; i++)
+			buckets[i] = new LongAdder();
+	}
+	
+	/**
+	 * Record a duration
+	 * 
+	 * @param nanos The duration in nanoseconds; negative durations are recorded as <code>0</code>
+	 * @since 1.0
+	 */
+	public void record(long nanos) {
+		if (nanos < 0)
+			nanos = 0;
+		buckets[index(nanos)].increment();
+		count.increment();
+		sum.add(nanos);
+		max.accumulate(nanos);
+	}
+	
+	private static int index(long v) {
+		if (v < 8)
+			return (int) v;
+		int e = 63 - Long.numberOfLeadingZeros(v);
+		return 8 + (e - 3) * 4 + (int) ((v >>> (e - 2)) & 3);
+	}
+	
+	/**
+	 * The largest value in a bucket
+	 * 
+	 * @param i The index of the bucket
+	 * @return The upper bound of the bucket
+	 * @since 1.0
+	 */
+	private static long upper(int i) {
+		if (i < 8)
+			return i;
+		int e = (i - 8) / 4 + 3;
+		long sub = (i - 8) % 4;
+		return (1L << e) + ((sub + 1) << (e - 2)) - 1;
+	}
+	
+	/**
+	 * Retrieve the amount of recorded durations
+	 * 
+	 * @return The count
+	 * @since 1.0
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+	
+	/**
+	 * Retrieve the sum of the recorded durations
+	 * 
+	 * @return The sum, in nanoseconds
+	 * @since 1.0
+	 */
+	public long getSum() {
+		return sum.sum();
+	}
+	
+	/**
+	 * Retrieve the longest recorded duration
+	 * 
+	 * @return The maximum, in nanoseconds
+	 * @since 1.0
+	 */
+	public long getMax() {
+		return max.get();
+	}
+	
+	/**
+	 * Estimate a percentile of the recorded durations
+	 * 
+	 * @param percentile The percentile, from <code>0</code> to <code>100</code>
+	 * @return The upper bound of the bucket holding the percentile, at most {@link LatencyHistogram#getMax()}, in nanoseconds, or <code>0</code> if nothing was recorded
+	 * @since 1.0
+	 */
+	public long getPercentile(double percentile) {
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+		for(int i = 0; i < BUCKETS; i++)
+			total += counts[i] = buckets[i].sum();
+		if (total == 0)
+			return 0;
+		long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+		long seen = 0;
+		for(int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank)
+				return Math.min(upper(i), getMax());
+		}
+		return getMax();
+	}
+	
+	/**
+	 * Take a snapshot of the histogram
+	 * 
+	 * @return The count, mean, maximum and common percentiles
+	 * @since 1.0
+	 */
+	public HistogramSnapshot snapshot() {
+		long c = getCount();
+		return new HistogramSnapshot(c, c == 0 ? 0 : getSum() / c, getMax(), getPercentile(50), getPercentile(90), getPercentile(99));
+	}
+	
+	/**
+	 * Forget every recorded duration
+	 * 
+	 * @since 1.0
+	 */
+	public void reset() {
+		for(LongAdder b : buckets)
+			b.reset();
+		count.reset();
+		sum.reset();
+		max.reset();
+	}
+}
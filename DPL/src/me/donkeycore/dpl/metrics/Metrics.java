@@ -0,0 +1,290 @@
+package me.donkeycore.dpl.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import me.donkeycore.dpl.Donkey;
+import me.donkeycore.dpl.Donkey.LogLevel;
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.ExpressionCache;
+import me.donkeycore.dpl.conditional.Compare;
+
+/**
+ * Counters and latency histograms of the interpreter, shared by every script in the JVM. Counters are {@link LongAdder LongAdders}, so threads running scripts do not contend on them. Variable lookups, the most frequent event, are counted by each {@link me.donkeycore.dpl.variables.VariableTable VariableTable} and added here when a run {@link Metrics#recordRun(ExecutionContext, long) ends}. <br>
+ * The same values are available over JMX as <code>{@value Metrics#OBJECT_NAME}</code> once {@link Metrics#registerMBean()} is called, which happens on its own if the <code>dpl.jmx</code> system property is <code>true</code>.
+ * 
+ * @see DonkeyMetricsMXBean
+ * @since 1.0
+ */
+public final class Metrics {
+	
+	/**
+	 * The name the metrics are registered under in the platform MBean server
+	 * 
+	 * @since 1.0
+	 */
+	public static final String OBJECT_NAME = "me.donkeycore.dpl:type=Metrics";
+	
+	private static final LongAdder statements = new LongAdder();
+	private static final LongAdder blocks = new LongAdder();
+	private static final LongAdder expressions = new LongAdder();
+	private static final LongAdder lookups = new LongAdder();
+	private static final LongAdder sourceReads = new LongAdder();
+	private static final LongAdder sourceLines = new LongAdder();
+	/**
+	 * The invocations of every method and statement, by name
+	 * 
+	 * @since 1.0
+	 */
+	private static final Map<String, LongAdder> invocations = new ConcurrentHashMap<String, LongAdder>();
+	/**
+	 * The time taken to load every plugin, in nanoseconds, by class name
+	 * 
+	 * @since 1.0
+	 */
+	private static final Map<String, Long> pluginLoads = new ConcurrentHashMap<String, Long>();
+	private static final LatencyHistogram pluginLoadTimes = new LatencyHistogram();
+	private static final LatencyHistogram runs = new LatencyHistogram();
+	private static boolean registered = false;
+	
+	static {
+		if (Boolean.getBoolean("dpl.jmx"))
+			registerMBean();
+	}
+	
+	private Metrics() {}
+	
+	/**
+	 * Count statements run by a block
+	 * 
+	 * @param n The amount of statements
+	 * @since 1.0
+	 */
+	public static void countStatements(long n) {
+		statements.add(n);
+	}
+	
+	/**
+	 * Count a block starting to run
+	 * 
+	 * @since 1.0
+	 */
+	public static void countBlock() {
+		blocks.increment();
+	}
+	
+	/**
+	 * Count a math expression being evaluated
+	 * 
+	 * @since 1.0
+	 */
+	public static void countExpression() {
+		expressions.increment();
+	}
+	
+	/**
+	 * Count a source file being read from disk
+	 * 
+	 * @since 1.0
+	 */
+	public static void countSourceRead() {
+		sourceReads.increment();
+	}
+	
+	/**
+	 * Count a line being read from a source file, such as when {@link me.donkeycore.dpl.statement.Statement#getUpdatedStatement(me.donkeycore.dpl.statement.Statement) a statement is read again}
+	 * 
+	 * @since 1.0
+	 */
+	public static void countSourceLine() {
+		sourceLines.increment();
+	}
+	
+	/**
+	 * Retrieve the counter of the invocations of a method or statement. Nodes resolve their counter once while parsing, so counting an invocation does not look up the name.
+	 * 
+	 * @param name The name of the method or statement
+	 * @return The counter to increment on every invocation
+	 * @since 1.0
+	 */
+	public static LongAdder invocations(String name) {
+		LongAdder a = invocations.get(name);
+		if (a == null) {
+			a = new LongAdder();
+			LongAdder old = ((ConcurrentHashMap<String, LongAdder>) invocations).putIfAbsent(name, a);
+			if (old != null)
+				a = old;
+		}
+		return a;
+	}
+	
+	/**
+	 * Record the time taken to load a plugin
+	 * 
+	 * @param name The class name of the plugin
+	 * @param nanos The time taken, in nanoseconds
+	 * @since 1.0
+	 */
+	public static void recordPluginLoad(String name, long nanos) {
+		pluginLoads.put(name, nanos);
+		pluginLoadTimes.record(nanos);
+	}
+	
+	/**
+	 * Record a run of a script that ended, adding the variable lookups of its {@link me.donkeycore.dpl.variables.VariableTable VariableTable}
+	 * 
+	 * @param context The context of the run
+	 * @param nanos The time the run took, in nanoseconds
+	 * @since 1.0
+	 */
+	public static void recordRun(ExecutionContext context, long nanos) {
+		if (context.getVariables() != null)
+			lookups.add(context.getVariables().drainLookupCount());
+		runs.record(nanos);
+	}
+	
+	public static long getStatementsExecuted() {
+		return statements.sum();
+	}
+	
+	public static long getBlockEntries() {
+		return blocks.sum();
+	}
+	
+	public static long getExpressionEvaluations() {
+		return expressions.sum();
+	}
+	
+	/**
+	 * Retrieve the amount of variable lookups of the runs that ended
+	 * 
+	 * @return The amount of lookups
+	 * @since 1.0
+	 */
+	public static long getVariableLookups() {
+		return lookups.sum();
+	}
+	
+	public static long getSourceFileReads() {
+		return sourceReads.sum();
+	}
+	
+	public static long getSourceLineReads() {
+		return sourceLines.sum();
+	}
+	
+	/**
+	 * Retrieve the invocations of every method and statement
+	 * 
+	 * @return The amount of invocations, by name, sorted by name
+	 * @since 1.0
+	 */
+	public static Map<String, Long> getInvocations() {
+		Map<String, Long> m = new TreeMap<String, Long>();
+		for(Map.Entry<String, LongAdder> e : invocations.entrySet())
+			m.put(e.getKey(), e.getValue().sum());
+		return m;
+	}
+	
+	/**
+	 * Retrieve the time taken to load every plugin
+	 * 
+	 * @return The time in nanoseconds, by class name, sorted by name
+	 * @since 1.0
+	 */
+	public static Map<String, Long> getPluginLoadTimes() {
+		return new TreeMap<String, Long>(pluginLoads);
+	}
+	
+	public static LatencyHistogram getPluginLoadHistogram() {
+		return pluginLoadTimes;
+	}
+	
+	/**
+	 * Retrieve the durations of the runs of scripts
+	 * 
+	 * @return The histogram of run durations, in nanoseconds
+	 * @since 1.0
+	 */
+	public static LatencyHistogram getRunHistogram() {
+		return runs;
+	}
+	
+	/**
+	 * Retrieve the cache of arithmetic expressions
+	 * 
+	 * @return The size and counters of {@link ExpressionCache#MATH}
+	 * @since 1.0
+	 */
+	public static CacheSnapshot getMathCache() {
+		return CacheSnapshot.of(ExpressionCache.MATH);
+	}
+	
+	/**
+	 * Retrieve the cache of RPN expressions
+	 * 
+	 * @return The size and counters of {@link ExpressionCache#RPN}
+	 * @since 1.0
+	 */
+	public static CacheSnapshot getRPNCache() {
+		return CacheSnapshot.of(ExpressionCache.RPN);
+	}
+	
+	/**
+	 * Retrieve the cache of the conditions of <code>if</code> and <code>while</code> statements run without a parsed program
+	 * 
+	 * @return The size and counters of {@link Compare#getConditionCache()}
+	 * @since 1.0
+	 */
+	public static CacheSnapshot getConditionCache() {
+		return CacheSnapshot.of(Compare.getConditionCache());
+	}
+	
+	/**
+	 * Set every counter back to <code>0</code> and empty every histogram. Plugin load times are kept, since plugins are only loaded once. The counters of the expression caches are reset, but the cached expressions are kept.
+	 * 
+	 * @since 1.0
+	 */
+	public static void reset() {
+		statements.reset();
+		blocks.reset();
+		expressions.reset();
+		lookups.reset();
+		sourceReads.reset();
+		sourceLines.reset();
+		for(LongAdder a : invocations.values())
+			a.reset();
+		runs.reset();
+		ExpressionCache.MATH.resetCounters();
+		ExpressionCache.RPN.resetCounters();
+		Compare.getConditionCache().resetCounters();
+	}
+	
+	/**
+	 * Register the metrics in the platform MBean server as <code>{@value Metrics#OBJECT_NAME}</code>. Calling this again does nothing.
+	 * 
+	 * @return Whether the metrics are registered
+	 * @since 1.0
+	 */
+	public static synchronized boolean registerMBean() {
+		if (registered)
+			return true;
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name))
+				server.registerMBean(new DonkeyMetrics(), name);
+			return registered = true;
+		} catch(JMException e) {
+			Donkey.log(LogLevel.WARNING, "Could not register " + OBJECT_NAME + ": " + e.getMessage(), "Donkey");
+			return false;
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package me.donkeycore.dpl.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.io.SourceBuffer;
+import me.donkeycore.dpl.statement.Statement;
+
+/**
+ * Splits a script into {@link Token tokens}, one per line containing code. Escapes, quotes and comments are handled once here by {@link Statement#Statement(String, int)}.
+ * 
+ * @see Parser
+ * @since 1.0
+ */
+public final class Lexer {
+	
+	/**
+	 * Implemented to create a static class
+	 * 
+	 * @see Lexer
+	 * @since 1.0
+	 */
+	private Lexer() {}
+	
+	/**
+	 * Lex every line of a file
+	 * 
+	 * @param source The contents of the file
+	 * @return The tokens of the file, in source order
+	 * @throws DonkeyException If a line cannot be lexed
+	 * @since 1.0
+	 */
+	public static List<Token> lex(SourceBuffer source) throws DonkeyException {
+		List<Token> tokens = new ArrayList<Token>();
+		for(int line = 1; line <= source.getLineCount(); line++)
+			lex(tokens, source.getLine(line), line);
+		return tokens;
+	}
+	
+	/**
+	 * Lex a list of lines, where the first line is line number 1
+	 * 
+	 * @param lines The lines to lex
+	 * @return The tokens of the lines, in source order
+	 * @throws DonkeyException If a line cannot be lexed
+	 * @since 1.0
+	 */
+	public static List<Token> lex(List<String> lines) throws DonkeyException {
+		List<Token> tokens = new ArrayList<Token>();
+		int line = 1;
+		for(String s : lines)
+			lex(tokens, s, line++);
+		return tokens;
+	}
+	
+	/**
+	 * Lex a single line
+	 * 
+	 * @param tokens The list to add the tokens to
+	 * @param s The line to lex
+	 * @param line The line number
+	 * @throws DonkeyException If the line cannot be lexed
+	 * @since 1.0
+	 */
+	private static void lex(List<Token> tokens, String s, int line) throws DonkeyException {
+		if (s.trim().isEmpty())
+			return;
+		Statement statement = new Statement(s, line);
+		String text = statement.getStatement();
+		if (text.isEmpty() || text.startsWith("//") || text.startsWith("#"))
+			return;
+		if (text.equals("{")) {
+			tokens.add(new Token(Token.Kind.OPEN, statement));
+		} else if (text.startsWith("}")) {
+			tokens.add(new Token(Token.Kind.CLOSE, statement));
+			String rest = text.substring(1).trim();
+			if (!rest.isEmpty())
+				lex(tokens, rest, line);
+		} else
+			tokens.add(new Token(Token.Kind.STATEMENT, statement));
+	}
+}
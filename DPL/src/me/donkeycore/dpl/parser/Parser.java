@@ -0,0 +1,270 @@
+package me.donkeycore.dpl.parser;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import me.donkeycore.dpl.Donkey.LogLevel;
+import me.donkeycore.dpl.ast.AssignNode;
+import me.donkeycore.dpl.ast.BlockNode;
+import me.donkeycore.dpl.ast.IfNode;
+import me.donkeycore.dpl.ast.InputLinesNode;
+import me.donkeycore.dpl.ast.LogNode;
+import me.donkeycore.dpl.ast.MethodNode;
+import me.donkeycore.dpl.ast.Node;
+import me.donkeycore.dpl.ast.PrintNode;
+import me.donkeycore.dpl.ast.Program;
+import me.donkeycore.dpl.ast.StatementNode;
+import me.donkeycore.dpl.ast.WhileNode;
+import me.donkeycore.dpl.conditional.Compare;
+import me.donkeycore.dpl.exceptions.InvalidStatementException;
+import me.donkeycore.dpl.exceptions.MathException;
+import me.donkeycore.dpl.io.BlockIndex;
+import me.donkeycore.dpl.math.MathExpression;
+import me.donkeycore.dpl.method.IMethod;
+import me.donkeycore.dpl.method.If;
+import me.donkeycore.dpl.method.InputLines;
+import me.donkeycore.dpl.method.While;
+import me.donkeycore.dpl.statement.IStatement;
+import me.donkeycore.dpl.statement.KeywordTable;
+import me.donkeycore.dpl.statement.Logger;
+import me.donkeycore.dpl.statement.Print;
+import me.donkeycore.dpl.statement.Println;
+import me.donkeycore.dpl.statement.Statement;
+import me.donkeycore.dpl.variables.SymbolTable;
+import me.donkeycore.dpl.variables.Template;
+
+/**
+ * Builds a {@link Program} from the {@link Token tokens} of a script. Every method and statement is resolved once here, through the {@link KeywordTable}, instead of every time a line runs.
+ * 
+ * @see Lexer
+ * @see BlockIndex
+ * @since 1.0
+ */
+public final class Parser {
+	
+	/**
+	 * The tokens being parsed
+	 * 
+	 * @since 1.0
+	 */
+	private final List<Token> tokens;
+	/**
+	 * The matching braces of the tokens
+	 * 
+	 * @since 1.0
+	 */
+	private final BlockIndex index;
+	/**
+	 * The body of every <code>if</code>, <code>while</code> and <code>@inputLines</code> block, by the line opening it
+	 * 
+	 * @since 1.0
+	 */
+	private final BlockNode[] bodies;
+	/**
+	 * The slots of the variable names found in the script
+	 * 
+	 * @since 1.0
+	 */
+	private final SymbolTable symbols = new SymbolTable();
+	/**
+	 * The index of the next token to parse
+	 * 
+	 * @since 1.0
+	 */
+	private int pos = 0;
+	
+	/**
+	 * Create a new {@link Parser}
+	 * 
+	 * @param tokens The tokens to parse
+	 * @param index The matching braces of the tokens
+	 * @since 1.0
+	 */
+	private Parser(List<Token> tokens, BlockIndex index) {
+		this.tokens = tokens;
+		this.index = index;
+		this.bodies = new BlockNode[tokens.isEmpty() ? 1 : tokens.get(tokens.size() - 1).getLineNumber() + 1];
+	}
+	
+	/**
+	 * Parse the tokens of a script into a {@link Program}
+	 * 
+	 * @param file The file the tokens were lexed from
+	 * @param tokens The tokens to parse
+	 * @param index The matching braces of the tokens
+	 * @return The parsed program
+	 * @throws InvalidStatementException If a line is not a valid statement
+	 * @see BlockIndex#build(List)
+	 * @since 1.0
+	 */
+	public static Program parse(File file, List<Token> tokens, BlockIndex index) throws InvalidStatementException {
+		Parser p = new Parser(tokens, index);
+		List<Node> nodes = new ArrayList<Node>();
+		while(p.hasNext()) {
+			if (p.peek().getKind() == Token.Kind.CLOSE)
+				p.pos++;
+			else
+				nodes.add(p.parseStatement());
+		}
+		return new Program(file, nodes, p.bodies, p.symbols);
+	}
+	
+	private boolean hasNext() {
+		return pos < tokens.size();
+	}
+	
+	private Token peek() {
+		return tokens.get(pos);
+	}
+	
+	/**
+	 * Parse the next statement, including the body of any block it opens
+	 * 
+	 * @return The parsed node
+	 * @throws InvalidStatementException If the statement is invalid
+	 * @since 1.0
+	 */
+	private Node parseStatement() throws InvalidStatementException {
+		Token t = tokens.get(pos++);
+		Statement st = t.getStatement();
+		if (t.getKind() == Token.Kind.OPEN)
+			return parseBlock(pos - 1);
+		String text = t.getText();
+		KeywordTable k = Statement.getKeywords();
+		IMethod m = k.findMethod(text);
+		if (m != null) {
+			if (m instanceof If)
+				return new IfNode(st, Compare.compile(st, symbols), parseBody(t));
+			if (m instanceof While)
+				return new WhileNode(st, Compare.compile(st, symbols), parseBody(t));
+			int open = text.indexOf('(');
+			if (m instanceof InputLines) {
+				String key = text.substring(open + 1, text.indexOf(')', open)).trim();
+				if (key.isEmpty() || key.indexOf(',') != -1)
+					throw new InvalidStatementException(text, t.getLineNumber());
+				return new InputLinesNode(st, key.indexOf('`') == -1 ? symbols.slotOf(key) : -1, key, parseBody(t));
+			}
+			return new MethodNode(st, m, compile(text.substring(open + 1, text.indexOf(')', open))));
+		}
+		IStatement s = k.findStatement(text);
+		if (s != null) {
+			Template args = compile(stripLeading(text.substring(s.getName().length())));
+			if (s instanceof Println)
+				return new PrintNode(st, args, true);
+			if (s instanceof Print)
+				return new PrintNode(st, args, false);
+			LogLevel level = getLogLevel(s);
+			if (level != null)
+				return new LogNode(st, level, args);
+			return new StatementNode(st, s, args);
+		}
+		if (text.contains("="))
+			return parseAssignment(st, text);
+		throw new InvalidStatementException(text, t.getLineNumber());
+	}
+	
+	/**
+	 * Parse the body of a block opened by a token. A token ending with <code>{</code> or followed by a line containing <code>{</code> runs until the matching <code>}</code>, otherwise the body is the next statement.
+	 * 
+	 * @param opener The token opening the block
+	 * @return The body of the block
+	 * @throws InvalidStatementException If a statement in the body is invalid
+	 * @since 1.0
+	 */
+	private BlockNode parseBody(Token opener) throws InvalidStatementException {
+		BlockNode body;
+		if (opener.opensBlock())
+			body = parseBlock(pos - 1);
+		else if (hasNext() && peek().getKind() == Token.Kind.OPEN)
+			body = parseBlock(pos++);
+		else {
+			List<Node> nodes = new ArrayList<Node>(1);
+			if (hasNext() && peek().getKind() != Token.Kind.CLOSE)
+				nodes.add(parseStatement());
+			body = new BlockNode(opener.getStatement(), nodes);
+		}
+		return bodies[opener.getLineNumber()] = body;
+	}
+	
+	/**
+	 * Parse every statement until the matching <code>}</code> or the end of the file
+	 * 
+	 * @param opener The index of the token opening the block
+	 * @return The parsed block
+	 * @throws InvalidStatementException If a statement in the block is invalid
+	 * @since 1.0
+	 */
+	private BlockNode parseBlock(int opener) throws InvalidStatementException {
+		int end = index.getMatch(opener);
+		pos = opener + 1;
+		List<Node> body = new ArrayList<Node>();
+		while(pos < end) {
+			if (peek().getKind() == Token.Kind.CLOSE)
+				pos++;
+			else
+				body.add(parseStatement());
+		}
+		pos = Math.min(end + 1, tokens.size());
+		return new BlockNode(tokens.get(opener).getStatement(), body);
+	}
+	
+	/**
+	 * Parse an assignment, splitting it the same way {@link me.donkeycore.dpl.variables.Variable#set(String)} does. The assigned variable is resolved to a slot unless its name is itself built from a variable reference, and a value that is only arithmetic is compiled to a {@link MathExpression}.
+	 * 
+	 * @param st The statement containing the assignment
+	 * @param text The text of the assignment
+	 * @return The parsed node
+	 * @since 1.0
+	 */
+	private AssignNode parseAssignment(Statement st, String text) {
+		String[] s = text.split("=");
+		String key;
+		String type = "";
+		try {
+			String decl = s[0].trim();
+			key = decl.split(" ")[1].trim();
+			int i = decl.lastIndexOf(key);
+			type = (decl.substring(0, i) + decl.substring(i + key.length())).trim();
+		} catch(Exception e) {
+			key = s[0].trim();
+		}
+		StringBuilder value = new StringBuilder();
+		for(int id = 1; id < s.length; id++)
+			value.append(s[id]);
+		int slot = key.indexOf('`') == -1 ? symbols.slotOf(key) : -1;
+		MathExpression math = null;
+		String v = value.toString().trim();
+		if (MathExpression.isArithmetic(v)) {
+			try {
+				math = MathExpression.compile(v, symbols);
+			} catch(MathException e) {}
+		}
+		return new AssignNode(st, slot, key, type, compile(value.toString()), math);
+	}
+	
+	private Template compile(String text) {
+		return Template.compile(text, symbols);
+	}
+	
+	private static LogLevel getLogLevel(IStatement s) {
+		if (s instanceof Logger.Debug)
+			return LogLevel.DEBUG;
+		if (s instanceof Logger.Info)
+			return LogLevel.INFO;
+		if (s instanceof Logger.Warning)
+			return LogLevel.WARNING;
+		if (s instanceof Logger.Error)
+			return LogLevel.ERROR;
+		if (s instanceof Logger.Fatal)
+			return LogLevel.FATAL;
+		return null;
+	}
+	
+	private static String stripLeading(String s) {
+		int i = 0;
+		while(i < s.length() && Character.isWhitespace(s.charAt(i)))
+			i++;
+		return s.substring(i);
+	}
+}
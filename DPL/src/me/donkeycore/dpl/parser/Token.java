@@ -0,0 +1,118 @@
+package me.donkeycore.dpl.parser;
+
+import me.donkeycore.dpl.statement.Statement;
+
+/**
+ * A single lexed line of a script
+ * 
+ * @see Lexer
+ * @since 1.0
+ */
+public final class Token {
+	
+	/**
+	 * The kind of a {@link Token}
+	 * 
+	 * @since 1.0
+	 */
+	public static enum Kind {
+		/**
+		 * A line only containing <code>{</code>
+		 * 
+		 * @since 1.0
+		 */
+		OPEN,
+		/**
+		 * A line starting with <code>}</code>
+		 * 
+		 * @since 1.0
+		 */
+		CLOSE,
+		/**
+		 * Any other line containing code
+		 * 
+		 * @since 1.0
+		 */
+		STATEMENT;
+	}
+	
+	/**
+	 * The kind of this token
+	 * 
+	 * @since 1.0
+	 */
+	private final Kind kind;
+	/**
+	 * The {@link Statement} this token was lexed from
+	 * 
+	 * @since 1.0
+	 */
+	private final Statement statement;
+	
+	/**
+	 * Create a new {@link Token}
+	 * 
+	 * @param kind The kind of the token
+	 * @param statement The {@link Statement} the token was lexed from
+	 * @since 1.0
+	 */
+	Token(Kind kind, Statement statement) {
+		this.kind = kind;
+		this.statement = statement;
+	}
+	
+	/**
+	 * Retrieve the kind of this token
+	 * 
+	 * @return The {@link Kind} of the token
+	 * @since 1.0
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+	
+	/**
+	 * Retrieve the {@link Statement} this token was lexed from
+	 * 
+	 * @return The source statement
+	 * @since 1.0
+	 */
+	public Statement getStatement() {
+		return statement;
+	}
+	
+	/**
+	 * Retrieve the parsed text of this token
+	 * 
+	 * @return The text of the statement
+	 * @see Statement#getStatement()
+	 * @since 1.0
+	 */
+	public String getText() {
+		return statement.getStatement();
+	}
+	
+	/**
+	 * Retrieve the line number this token was lexed from
+	 * 
+	 * @return The line number
+	 * @since 1.0
+	 */
+	public int getLineNumber() {
+		return statement.getLineNumber();
+	}
+	
+	/**
+	 * Checks if this token opens a block, such as <code>if(condition) {</code>
+	 * 
+	 * @return Whether the token opens a block
+	 * @since 1.0
+	 */
+	public boolean opensBlock() {
+		return kind == Kind.STATEMENT && getText().endsWith("{");
+	}
+	
+	public String toString() {
+		return kind + "@" + getLineNumber() + ": " + getText();
+	}
+}
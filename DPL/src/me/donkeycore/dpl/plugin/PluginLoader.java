@@ -13,6 +13,8 @@ import java.util.jar.JarFile;
 
 import me.donkeycore.dpl.Donkey;
 import me.donkeycore.dpl.io.FileCreator;
+import me.donkeycore.dpl.metrics.Metrics;
+import me.donkeycore.dpl.profile.FlightEvents;
 
 /**
  * This singleton class loads all {@link DPlugin} classes found in JARs.<br>
@@ -166,9 +168,13 @@ public class PluginLoader {
 							String cn = n.replace('/', '.').substring(0, n.length() - 6);
 							Class<?> c = Class.forName(cn, false, u);
 							if (c.getSuperclass().getName().equals(DPlugin.class.getName())) {
+								Object event = FlightEvents.beginPluginLoad();
+								long start = System.nanoTime();
 								Object o = c.getConstructor().newInstance();
 								if(o instanceof DPlugin)
 									((DPlugin) o).onLoad();
+								Metrics.recordPluginLoad(cn, System.nanoTime() - start);
+								FlightEvents.endPluginLoad(event, cn, f);
 								plugins.add((DPlugin) o);
 							}
 						}
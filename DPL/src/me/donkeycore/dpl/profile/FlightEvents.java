@@ -0,0 +1,183 @@
+package me.donkeycore.dpl.profile;
+
+import java.io.File;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.ast.Node;
+import me.donkeycore.dpl.profile.events.ScriptEvents;
+import me.donkeycore.dpl.statement.Statement;
+
+/**
+ * Emits the Java Flight Recorder events of the interpreter, described in {@link ScriptEvents}. The <code>jdk.jfr</code> module is missing from Java 8 before 8u272 and from runtime images built without it, so this class checks that it is present once and only then calls {@link ScriptEvents}, which is not loaded otherwise. <br>
+ * Every <code>begin</code> method returns the event to pass to the matching <code>end</code> method, or <code>null</code> if nothing is recording. Events are only created once the flight recorder is initialized, so a JVM that never records does not allocate them; a script already running when the first recording starts is not reported as a whole.
+ * 
+ * @since 1.0
+ */
+public final class FlightEvents {
+	
+	/**
+	 * Whether the <code>jdk.jfr</code> module is present
+	 * 
+	 * @since 1.0
+	 */
+	private static final boolean SUPPORTED = isSupported();
+	
+	private FlightEvents() {}
+	
+	private static boolean isSupported() {
+		try {
+			Class.forName("jdk.jfr.FlightRecorder", false, FlightEvents.class.getClassLoader());
+			return true;
+		} catch(ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Check whether events may be recorded
+	 * 
+	 * @return Whether <code>jdk.jfr</code> is present and the flight recorder is initialized
+	 * @since 1.0
+	 */
+	public static boolean isRecording() {
+		return SUPPORTED && ScriptEvents.isRecording();
+	}
+	
+	/**
+	 * Begin timing the run of a script
+	 * 
+	 * @return The event, or <code>null</code> if nothing is recording
+	 * @since 1.0
+	 */
+	public static Object beginScript() {
+		return isRecording() ? ScriptEvents.beginScript() : null;
+	}
+	
+	/**
+	 * End the run of a script
+	 * 
+	 * @param event The event returned by {@link FlightEvents#beginScript()}
+	 * @param context The {@link ExecutionContext} of the script that ended
+	 * @since 1.0
+	 */
+	public static void endScript(Object event, ExecutionContext context) {
+		if (event != null)
+			ScriptEvents.endScript(event, context);
+	}
+	
+	/**
+	 * Begin timing the body of a block
+	 * 
+	 * @return The event, or <code>null</code> if nothing is recording
+	 * @since 1.0
+	 */
+	public static Object beginBlock() {
+		return isRecording() ? ScriptEvents.beginBlock() : null;
+	}
+	
+	/**
+	 * End the body of a block
+	 * 
+	 * @param event The event returned by {@link FlightEvents#beginBlock()}
+	 * @param context The {@link ExecutionContext} of the running script
+	 * @param opener The statement that opened the block, or <code>null</code> for the body of the script
+	 * @param statements The amount of statements the block ran
+	 * @since 1.0
+	 */
+	public static void endBlock(Object event, ExecutionContext context, Statement opener, int statements) {
+		if (event != null)
+			ScriptEvents.endBlock(event, context, opener, statements);
+	}
+	
+	/**
+	 * Begin timing a statement, reported if it takes longer than the threshold of the recording
+	 * 
+	 * @return The event, or <code>null</code> if nothing is recording
+	 * @since 1.0
+	 */
+	public static Object beginStatement() {
+		return isRecording() ? ScriptEvents.beginStatement() : null;
+	}
+	
+	/**
+	 * End a statement
+	 * 
+	 * @param event The event returned by {@link FlightEvents#beginStatement()}
+	 * @param context The {@link ExecutionContext} of the running script
+	 * @param node The node of the statement
+	 * @since 1.0
+	 */
+	public static void endStatement(Object event, ExecutionContext context, Node node) {
+		if (event != null)
+			ScriptEvents.endStatement(event, context, node);
+	}
+	
+	/**
+	 * Begin timing the invocation of a method or statement
+	 * 
+	 * @return The event, or <code>null</code> if nothing is recording
+	 * @since 1.0
+	 */
+	public static Object beginInvocation() {
+		return isRecording() ? ScriptEvents.beginInvocation() : null;
+	}
+	
+	/**
+	 * End the invocation of a method or statement
+	 * 
+	 * @param event The event returned by {@link FlightEvents#beginInvocation()}
+	 * @param context The {@link ExecutionContext} of the running script
+	 * @param line The line of the invocation
+	 * @param method The name of the method or statement
+	 * @since 1.0
+	 */
+	public static void endInvocation(Object event, ExecutionContext context, int line, String method) {
+		if (event != null)
+			ScriptEvents.endInvocation(event, context, line, method);
+	}
+	
+	/**
+	 * Begin timing the evaluation of a math expression
+	 * 
+	 * @return The event, or <code>null</code> if nothing is recording
+	 * @since 1.0
+	 */
+	public static Object beginExpression() {
+		return isRecording() ? ScriptEvents.beginExpression() : null;
+	}
+	
+	/**
+	 * End the evaluation of a math expression
+	 * 
+	 * @param event The event returned by {@link FlightEvents#beginExpression()}
+	 * @param expression The text of the expression
+	 * @since 1.0
+	 */
+	public static void endExpression(Object event, String expression) {
+		if (event != null)
+			ScriptEvents.endExpression(event, expression);
+	}
+	
+	/**
+	 * Begin timing the load of a plugin
+	 * 
+	 * @return The event, or <code>null</code> if nothing is recording
+	 * @since 1.0
+	 */
+	public static Object beginPluginLoad() {
+		return isRecording() ? ScriptEvents.beginPluginLoad() : null;
+	}
+	
+	/**
+	 * End the load of a plugin
+	 * 
+	 * @param event The event returned by {@link FlightEvents#beginPluginLoad()}
+	 * @param plugin The class name of the plugin
+	 * @param jar The jar the plugin was loaded from
+	 * @since 1.0
+	 */
+	public static void endPluginLoad(Object event, String plugin, File jar) {
+		if (event != null)
+			ScriptEvents.endPluginLoad(event, plugin, jar);
+	}
+}
@@ -0,0 +1,281 @@
+package me.donkeycore.dpl.profile;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import me.donkeycore.dpl.ast.Node;
+
+/**
+ * Counts how often every line of a script runs and how long it takes. Time is measured around every node run by a {@link me.donkeycore.dpl.ast.BlockNode BlockNode}, and kept per source line, per keyword and per nesting of blocks. <br>
+ * Total time includes the lines a block runs; self time does not. The results can be written as a report of the hottest lines and as collapsed stacks, one line per nesting of blocks with its self time in microseconds, which flame graph tools read. <br>
+ * A profiler is not thread safe; it belongs to the one {@link me.donkeycore.dpl.ExecutionContext ExecutionContext} it was {@link me.donkeycore.dpl.ExecutionContext#setProfiler(Profiler) set} on. When no profiler is set, the interpreter only checks for one once per node.
+ * 
+ * @since 1.0
+ */
+public final class Profiler {
+	
+	/**
+	 * A nesting of blocks, for the collapsed stacks
+	 * 
+	 * @since 1.0
+	 */
+	private static final class Frame {
+		
+		private final String label;
+		private final Map<Node, Frame> children = new HashMap<Node, Frame>();
+		private long self;
+		
+		private Frame(String label) {
+			this.label = label;
+		}
+		
+		private Frame child(Node n) {
+			Frame f = children.get(n);
+			if (f == null) {
+				String text = n.getStatement() == null ? "" : n.getStatement().getStatement().trim();
+				f = new Frame(("line " + n.getLineNumber() + ": " + text).replace(';', ',').replaceAll("\\s+", " "));
+				children.put(n, f);
+			}
+			return f;
+		}
+	}
+	
+	/**
+	 * The time spent in every keyword
+	 * 
+	 * @since 1.0
+	 */
+	private static final class Keyword {
+		
+		private final String name;
+		private long count;
+		private long total;
+		
+		private Keyword(String name) {
+			this.name = name;
+		}
+	}
+	
+	/**
+	 * The file being profiled
+	 * 
+	 * @since 1.0
+	 */
+	private final File file;
+	/**
+	 * The text of every line, for the report
+	 * 
+	 * @since 1.0
+	 */
+	private String[] text = new String[16];
+	private long[] counts = new long[16];
+	private long[] totals = new long[16];
+	private long[] selfs = new long[16];
+	private final Map<String, Keyword> keywords = new HashMap<String, Keyword>();
+	private final Frame root;
+	private Frame current;
+	/**
+	 * The frames, start times and time spent in children of the nodes running
+	 * 
+	 * @since 1.0
+	 */
+	private Frame[] frames = new Frame[16];
+	private long[] starts = new long[16];
+	private long[] children = new long[16];
+	private int depth = 0;
+	private final long created = System.nanoTime();
+	
+	/**
+	 * Create a new {@link Profiler}
+	 * 
+	 * @param file The file being profiled, or <code>null</code> if the script was not loaded from a file
+	 * @since 1.0
+	 */
+	public Profiler(File file) {
+		this.file = file;
+		this.root = new Frame(file == null ? "<source>" : file.getName());
+		this.current = root;
+	}
+	
+	/**
+	 * Start timing a node
+	 * 
+	 * @param n The node about to run
+	 * @since 1.0
+	 */
+	public void enter(Node n) {
+		if (depth == frames.length) {
+			frames = Arrays.copyOf(frames, depth * 2);
+			starts = Arrays.copyOf(starts, depth * 2);
+			children = Arrays.copyOf(children, depth * 2);
+		}
+		frames[depth] = current;
+		children[depth] = 0;
+		current = current.child(n);
+		starts[depth++] = System.nanoTime();
+	}
+	
+	/**
+	 * Stop timing the node given to the last call to {@link Profiler#enter(Node)}
+	 * 
+	 * @param n The node that ran
+	 * @since 1.0
+	 */
+	public void exit(Node n) {
+		long total = System.nanoTime() - starts[--depth];
+		long self = total - children[depth];
+		current.self += self;
+		current = frames[depth];
+		frames[depth] = null;
+		if (depth > 0)
+			children[depth - 1] += total;
+		int line = n.getLineNumber();
+		if (line >= counts.length) {
+			int size = Math.max(line + 1, counts.length * 2);
+			text = Arrays.copyOf(text, size);
+			counts = Arrays.copyOf(counts, size);
+			totals = Arrays.copyOf(totals, size);
+			selfs = Arrays.copyOf(selfs, size);
+		}
+		if (text[line] == null && n.getStatement() != null)
+			text[line] = n.getStatement().getStatement().trim();
+		counts[line]++;
+		totals[line] += total;
+		selfs[line] += self;
+		String name = n.getKeyword();
+		if (name != null) {
+			Keyword k = keywords.get(name);
+			if (k == null)
+				keywords.put(name, k = new Keyword(name));
+			k.count++;
+			k.total += total;
+		}
+	}
+	
+	/**
+	 * Retrieve how often a line ran
+	 * 
+	 * @param line The line number
+	 * @return The amount of times the line ran
+	 * @since 1.0
+	 */
+	public long getCount(int line) {
+		return line < counts.length ? counts[line] : 0;
+	}
+	
+	/**
+	 * Retrieve the time spent running a line, not counting the lines it runs
+	 * 
+	 * @param line The line number
+	 * @return The self time of the line, in nanoseconds
+	 * @since 1.0
+	 */
+	public long getSelfTime(int line) {
+		return line < selfs.length ? selfs[line] : 0;
+	}
+	
+	/**
+	 * Retrieve the time spent running a line, including the lines it runs
+	 * 
+	 * @param line The line number
+	 * @return The total time of the line, in nanoseconds
+	 * @since 1.0
+	 */
+	public long getTotalTime(int line) {
+		return line < totals.length ? totals[line] : 0;
+	}
+	
+	/**
+	 * Write the report of the hottest lines, sorted by self time, followed by the time spent in every keyword
+	 * 
+	 * @param out Where to write the report
+	 * @since 1.0
+	 */
+	public void writeReport(PrintStream out) {
+		long elapsed = System.nanoTime() - created;
+		long sum = 0;
+		List<Integer> lines = new ArrayList<Integer>();
+		for(int i = 0; i < counts.length; i++) {
+			if (counts[i] > 0) {
+				lines.add(i);
+				sum += selfs[i];
+			}
+		}
+		Collections.sort(lines, new Comparator<Integer>() {
+			
+			public int compare(Integer a, Integer b) {
+				return Long.compare(selfs[b], selfs[a]);
+			}
+		});
+		out.println("Profile of " + (file == null ? "<source>" : file.getAbsolutePath()) + ": " + millis(elapsed) + " ms elapsed, " + millis(sum) + " ms in statements");
+		out.println();
+		out.println(String.format("%6s %12s %12s %12s %7s  %s", "Line", "Count", "Self ms", "Total ms", "Self %", "Statement"));
+		for(int line : lines)
+			out.println(String.format("%6d %12d %12s %12s %6.1f%%  %s", line, counts[line], millis(selfs[line]), millis(totals[line]), sum == 0 ? 0 : selfs[line] * 100.0 / sum, text[line] == null ? "" : text[line]));
+		List<Keyword> k = new ArrayList<Keyword>(keywords.values());
+		Collections.sort(k, new Comparator<Keyword>() {
+			
+			public int compare(Keyword a, Keyword b) {
+				return Long.compare(b.total, a.total);
+			}
+		});
+		out.println();
+		out.println(String.format("%-16s %12s %12s", "Keyword", "Count", "Total ms"));
+		for(Keyword w : k)
+			out.println(String.format("%-16s %12d %12s", w.name, w.count, millis(w.total)));
+		out.flush();
+	}
+	
+	/**
+	 * Write the collapsed stacks: every nesting of blocks on its own line, as its frames separated by <code>;</code>, a space and its self time in microseconds
+	 * 
+	 * @param out Where to write the stacks
+	 * @since 1.0
+	 */
+	public void writeCollapsed(PrintStream out) {
+		writeCollapsed(out, root, root.label);
+		out.flush();
+	}
+	
+	private static void writeCollapsed(PrintStream out, Frame f, String path) {
+		long micros = f.self / 1000;
+		if (micros > 0)
+			out.println(path + " " + micros);
+		for(Frame c : f.children.values())
+			writeCollapsed(out, c, path + ";" + c.label);
+	}
+	
+	/**
+	 * Write the report to <code>prefix.profile.txt</code> and the collapsed stacks to <code>prefix.folded</code>
+	 * 
+	 * @param prefix The path of the files, without their extensions
+	 * @throws FileNotFoundException If a file cannot be created
+	 * @since 1.0
+	 */
+	public void write(String prefix) throws FileNotFoundException {
+		PrintStream report = new PrintStream(prefix + ".profile.txt");
+		try {
+			writeReport(report);
+		} finally {
+			report.close();
+		}
+		PrintStream folded = new PrintStream(prefix + ".folded");
+		try {
+			writeCollapsed(folded);
+		} finally {
+			folded.close();
+		}
+	}
+	
+	private static String millis(long nanos) {
+		return String.format("%.3f", nanos / 1000000.0);
+	}
+}
@@ -0,0 +1,299 @@
+package me.donkeycore.dpl.profile;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import me.donkeycore.dpl.ExecutionContext;
+
+/**
+ * Samples where running scripts are. Every interval a daemon thread reads the {@link ExecutionContext#getStack() stack} of every watched context, and counts how often each line and each path of blocks was seen. Scripts are never slowed down by timing; the interpreter only publishes the line it runs and the blocks it is in. <br>
+ * The histograms are written sorted by count and then by name, so samples of two releases can be compared with a plain diff.
+ * 
+ * @see Profiler
+ * @since 1.0
+ */
+public final class Sampler {
+	
+	/**
+	 * The sampler of the JVM, or <code>null</code> if it has not been created
+	 * 
+	 * @since 1.0
+	 */
+	private static Sampler sampler;
+	
+	/**
+	 * The time between samples, in milliseconds
+	 * 
+	 * @since 1.0
+	 */
+	private final long interval;
+	/**
+	 * The contexts being sampled
+	 * 
+	 * @since 1.0
+	 */
+	private final List<ExecutionContext> watched = new CopyOnWriteArrayList<ExecutionContext>();
+	/**
+	 * How often every line was seen running, by <code>file:line</code>
+	 * 
+	 * @since 1.0
+	 */
+	private final Map<String, long[]> lines = new HashMap<String, long[]>();
+	/**
+	 * How often every path of blocks was seen, by its frames separated by <code>;</code>
+	 * 
+	 * @since 1.0
+	 */
+	private final Map<String, long[]> paths = new HashMap<String, long[]>();
+	private long samples = 0;
+	private Thread thread;
+	
+	/**
+	 * Create a new {@link Sampler}
+	 * 
+	 * @param intervalMillis The time between samples, in milliseconds
+	 * @since 1.0
+	 */
+	public Sampler(long intervalMillis) {
+		this.interval = Math.max(1, intervalMillis);
+	}
+	
+	/**
+	 * Retrieve the sampler of the JVM, if the <code>dpl.sample</code> system property is set. It is started when first retrieved, samples every <code>dpl.sample.interval</code> milliseconds (10 by default), and writes its histograms when the JVM exits to the path in the property, or to <code>dpl</code> in the working directory if it is <code>true</code> or empty.
+	 * 
+	 * @return The sampler, or <code>null</code> if sampling is off
+	 * @see Sampler#write(String)
+	 * @since 1.0
+	 */
+	public static synchronized Sampler getSampler() {
+		if (sampler != null)
+			return sampler;
+		String prefix = System.getProperty("dpl.sample");
+		if (prefix == null)
+			return null;
+		final String path = prefix.isEmpty() || prefix.equals("true") ? "dpl" : prefix;
+		final Sampler s = new Sampler(Long.getLong("dpl.sample.interval", 10));
+		s.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+			
+			public void run() {
+				s.stop();
+				try {
+					s.write(path);
+				} catch(FileNotFoundException e) {
+					System.err.println("Could not write the samples to " + path + ": " + e.getMessage());
+				}
+			}
+		}, "donkey-sampler-write"));
+		return sampler = s;
+	}
+	
+	/**
+	 * Start sampling the context, if the sampler of the JVM is on
+	 * 
+	 * @param context The context of a run about to start
+	 * @see Sampler#getSampler()
+	 * @since 1.0
+	 */
+	public static void attach(ExecutionContext context) {
+		Sampler s = getSampler();
+		if (s != null)
+			s.watch(context);
+	}
+	
+	/**
+	 * Stop sampling the context, if the sampler of the JVM is on
+	 * 
+	 * @param context The context of a run that ended
+	 * @since 1.0
+	 */
+	public static void detach(ExecutionContext context) {
+		Sampler s = sampler;
+		if (s != null)
+			s.unwatch(context);
+	}
+	
+	/**
+	 * Sample a context until {@link Sampler#unwatch(ExecutionContext)} is called
+	 * 
+	 * @param context The context to sample
+	 * @since 1.0
+	 */
+	public void watch(ExecutionContext context) {
+		watched.add(context);
+	}
+	
+	/**
+	 * Stop sampling a context
+	 * 
+	 * @param context The context to stop sampling
+	 * @since 1.0
+	 */
+	public void unwatch(ExecutionContext context) {
+		watched.remove(context);
+	}
+	
+	/**
+	 * Start the sampling thread
+	 * 
+	 * @since 1.0
+	 */
+	public synchronized void start() {
+		if (thread != null)
+			return;
+		thread = new Thread(new Runnable() {
+			
+			public void run() {
+				while(!Thread.currentThread().isInterrupted()) {
+					try {
+						Thread.sleep(interval);
+					} catch(InterruptedException e) {
+						return;
+					}
+					sample();
+				}
+			}
+		}, "donkey-sampler");
+		thread.setDaemon(true);
+		thread.start();
+	}
+	
+	/**
+	 * Stop the sampling thread, keeping the samples taken
+	 * 
+	 * @since 1.0
+	 */
+	public synchronized void stop() {
+		if (thread == null)
+			return;
+		thread.interrupt();
+		try {
+			thread.join(1000);
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		thread = null;
+	}
+	
+	/**
+	 * Take one sample of every watched context that is running a line
+	 * 
+	 * @since 1.0
+	 */
+	public void sample() {
+		for(ExecutionContext c : watched) {
+			int[] stack = c.getStack();
+			int size = stack.length;
+			int line = stack[size - 1];
+			if (line <= 0)
+				continue;
+			// a block starting or ending is still on the line opening it
+			if (size > 1 && stack[size - 2] == line)
+				size--;
+			File f = c.getFile();
+			String name = f == null ? "<source>" : f.getName();
+			StringBuilder path = new StringBuilder(name);
+			for(int i = 0; i < size; i++)
+				path.append(';').append(name).append(':').append(stack[i]);
+			synchronized(this) {
+				samples++;
+				count(lines, name + ":" + line);
+				count(paths, path.toString());
+			}
+		}
+	}
+	
+	private static void count(Map<String, long[]> map, String key) {
+		long[] n = map.get(key);
+		if (n == null)
+			map.put(key, n = new long[1]);
+		n[0]++;
+	}
+	
+	/**
+	 * Retrieve the amount of samples taken
+	 * 
+	 * @return The amount of times a running line was seen
+	 * @since 1.0
+	 */
+	public synchronized long getSampleCount() {
+		return samples;
+	}
+	
+	/**
+	 * Write the histograms of lines and of paths of blocks, each sorted by count and then by name
+	 * 
+	 * @param out Where to write the histograms
+	 * @since 1.0
+	 */
+	public synchronized void writeHistogram(PrintStream out) {
+		out.println("Samples: " + samples + " every " + interval + " ms");
+		out.println();
+		out.println(String.format("%10s %7s  %s", "Samples", "%", "Line"));
+		for(Map.Entry<String, long[]> e : sorted(lines))
+			out.println(String.format("%10d %6.1f%%  %s", e.getValue()[0], percent(e.getValue()[0]), e.getKey()));
+		out.println();
+		out.println(String.format("%10s %7s  %s", "Samples", "%", "Path"));
+		for(Map.Entry<String, long[]> e : sorted(paths))
+			out.println(String.format("%10d %6.1f%%  %s", e.getValue()[0], percent(e.getValue()[0]), e.getKey()));
+		out.flush();
+	}
+	
+	/**
+	 * Write every path of blocks as collapsed stacks, followed by a space and the amount of samples, which flame graph tools read
+	 * 
+	 * @param out Where to write the stacks
+	 * @since 1.0
+	 */
+	public synchronized void writeCollapsed(PrintStream out) {
+		for(Map.Entry<String, long[]> e : sorted(paths))
+			out.println(e.getKey() + " " + e.getValue()[0]);
+		out.flush();
+	}
+	
+	/**
+	 * Write the histograms to <code>prefix.samples.txt</code> and the collapsed stacks to <code>prefix.samples.folded</code>
+	 * 
+	 * @param prefix The path of the files, without their extensions
+	 * @throws FileNotFoundException If a file cannot be created
+	 * @since 1.0
+	 */
+	public void write(String prefix) throws FileNotFoundException {
+		PrintStream histogram = new PrintStream(prefix + ".samples.txt");
+		try {
+			writeHistogram(histogram);
+		} finally {
+			histogram.close();
+		}
+		PrintStream folded = new PrintStream(prefix + ".samples.folded");
+		try {
+			writeCollapsed(folded);
+		} finally {
+			folded.close();
+		}
+	}
+	
+	private double percent(long n) {
+		return samples == 0 ? 0 : n * 100.0 / samples;
+	}
+	
+	private static List<Map.Entry<String, long[]>> sorted(Map<String, long[]> map) {
+		List<Map.Entry<String, long[]>> list = new ArrayList<Map.Entry<String, long[]>>(map.entrySet());
+		Collections.sort(list, new Comparator<Map.Entry<String, long[]>>() {
+			
+			public int compare(Map.Entry<String, long[]> a, Map.Entry<String, long[]> b) {
+				int c = Long.compare(b.getValue()[0], a.getValue()[0]);
+				return c != 0 ? c : a.getKey().compareTo(b.getKey());
+			}
+		});
+		return list;
+	}
+}
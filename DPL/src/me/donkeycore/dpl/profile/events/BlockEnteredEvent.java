@@ -0,0 +1,51 @@
+package me.donkeycore.dpl.profile.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The body of a block, such as an <code>if</code> or <code>while</code> block, ran. Disabled by default, since loops enter their block on every iteration.
+ * 
+ * @see ScriptEvents
+ * @since 1.0
+ */
+@Name(ScriptEvents.PREFIX + "BlockEntered")
+@Label("Block Entered")
+@Category(ScriptEvents.CATEGORY)
+@Description("The body of a block ran")
+@Enabled(false)
+public final class BlockEnteredEvent extends Event {
+	
+	/**
+	 * The path of the script file, or <code>null</code> if it was not loaded from a file
+	 * 
+	 * @since 1.0
+	 */
+	@Label("Script")
+	public String script;
+	/**
+	 * The line that opened the block, or <code>0</code> for the body of the script
+	 * 
+	 * @since 1.0
+	 */
+	@Label("Line")
+	public int line;
+	/**
+	 * The text of the statement that opened the block
+	 * 
+	 * @since 1.0
+	 */
+	@Label("Statement")
+	public String statement;
+	/**
+	 * The amount of statements the block ran
+	 * 
+	 * @since 1.0
+	 */
+	@Label("Statements")
+	public int statements;
+}
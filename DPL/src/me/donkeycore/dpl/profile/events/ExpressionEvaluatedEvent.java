@@ -0,0 +1,30 @@
+package me.donkeycore.dpl.profile.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A {@link me.donkeycore.dpl.math.MathExpression MathExpression} was evaluated. Disabled by default.
+ * 
+ * @see ScriptEvents
+ * @since 1.0
+ */
+@Name(ScriptEvents.PREFIX + "ExpressionEvaluated")
+@Label("Expression Evaluated")
+@Category(ScriptEvents.CATEGORY)
+@Description("A math expression was evaluated")
+@Enabled(false)
+public final class ExpressionEvaluatedEvent extends Event {
+	
+	/**
+	 * The text of the expression
+	 * 
+	 * @since 1.0
+	 */
+	@Label("Expression")
+	public String expression;
+}
@@ -0,0 +1,44 @@
+package me.donkeycore.dpl.profile.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * An {@link me.donkeycore.dpl.method.IMethod IMethod} or {@link me.donkeycore.dpl.statement.IStatement IStatement} was invoked. Disabled by default.
+ * 
+ * @see ScriptEvents
+ * @since 1.0
+ */
+@Name(ScriptEvents.PREFIX + "MethodInvoked")
+@Label("Method Invoked")
+@Category(ScriptEvents.CATEGORY)
+@Description("A method or statement was invoked")
+@Enabled(false)
+public final class MethodInvokedEvent extends Event {
+	
+	/**
+	 * The path of the script file, or <code>null</code> if it was not loaded from a file
+	 * 
+	 * @since 1.0
+	 */
+	@Label("Script")
+	public String script;
+	/**
+	 * The line of the invocation
+	 * 
+	 * @since 1.0
+	 */
+	@Label("Line")
+	public int line;
+	/**
+	 * The name of the method or statement
+	 * 
+	 * @since 1.0
+	 */
+	@Label("Method")
+	public String method;
+}
@@ -0,0 +1,35 @@
+package me.donkeycore.dpl.profile.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A {@link me.donkeycore.dpl.plugin.DPlugin DPlugin} was created and its {@link me.donkeycore.dpl.plugin.DPlugin#onLoad() onLoad} method ran
+ * 
+ * @see ScriptEvents
+ * @since 1.0
+ */
+@Name(ScriptEvents.PREFIX + "PluginLoaded")
+@Label("Plugin Loaded")
+@Category(ScriptEvents.CATEGORY)
+@Description("A plugin was created and loaded")
+public final class PluginLoadedEvent extends Event {
+	
+	/**
+	 * The class name of the plugin
+	 * 
+	 * @since 1.0
+	 */
+	@Label("Plugin")
+	public String plugin;
+	/**
+	 * The path of the jar the plugin was loaded from
+	 * 
+	 * @since 1.0
+	 */
+	@Label("Jar")
+	public String jar;
+}
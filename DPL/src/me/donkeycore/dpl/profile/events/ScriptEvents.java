@@ -0,0 +1,158 @@
+package me.donkeycore.dpl.profile.events;
+
+import java.io.File;
+
+import jdk.jfr.FlightRecorder;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.ast.Node;
+import me.donkeycore.dpl.statement.Statement;
+
+/**
+ * Creates and commits the Java Flight Recorder events emitted by the interpreter. Events are named <code>me.donkeycore.dpl.*</code> and grouped under the <code>DPL</code> category, so they appear next to GC and lock events in any recording of a JVM that runs scripts, such as one started with <code>-XX:StartFlightRecording</code>. <br>
+ * {@link ScriptRunEvent}, {@link PluginLoadedEvent} and {@link SlowStatementEvent} are enabled by default. {@link BlockEnteredEvent}, {@link MethodInvokedEvent} and {@link ExpressionEvaluatedEvent} fire for every iteration of a loop, so they must be enabled in the recording settings, such as a <code>.jfc</code> file setting <code>me.donkeycore.dpl.MethodInvoked#enabled</code> to <code>true</code>. <br>
+ * This is the only class the interpreter calls that uses the <code>jdk.jfr</code> module, and it is only called through {@link me.donkeycore.dpl.profile.FlightEvents FlightEvents}, which checks that the module is present first. Events are passed around as {@link Object} so callers never name an event class.
+ * 
+ * @since 1.0
+ */
+public final class ScriptEvents {
+	
+	/**
+	 * The prefix of the name of every event
+	 * 
+	 * @since 1.0
+	 */
+	static final String PREFIX = "me.donkeycore.dpl.";
+	/**
+	 * The category every event is shown under
+	 * 
+	 * @since 1.0
+	 */
+	static final String CATEGORY = "DPL";
+	
+	private ScriptEvents() {}
+	
+	/**
+	 * Check whether events may be recorded. This is <code>false</code> until the first recording starts, and does not start the flight recorder.
+	 * 
+	 * @return Whether the flight recorder is initialized
+	 * @since 1.0
+	 */
+	public static boolean isRecording() {
+		return FlightRecorder.isInitialized();
+	}
+	
+	public static Object beginScript() {
+		ScriptRunEvent event = new ScriptRunEvent();
+		event.begin();
+		return event;
+	}
+	
+	public static void endScript(Object o, ExecutionContext context) {
+		ScriptRunEvent event = (ScriptRunEvent) o;
+		event.end();
+		if (!event.shouldCommit())
+			return;
+		event.script = script(context);
+		event.exitCode = context.getErrno();
+		event.commit();
+	}
+	
+	public static Object beginBlock() {
+		BlockEnteredEvent event = new BlockEnteredEvent();
+		event.begin();
+		return event;
+	}
+	
+	public static void endBlock(Object o, ExecutionContext context, Statement opener, int statements) {
+		BlockEnteredEvent event = (BlockEnteredEvent) o;
+		event.end();
+		if (!event.shouldCommit())
+			return;
+		event.script = script(context);
+		if (opener != null) {
+			event.line = opener.getLineNumber();
+			event.statement = opener.getStatement();
+		}
+		event.statements = statements;
+		event.commit();
+	}
+	
+	public static Object beginStatement() {
+		SlowStatementEvent event = new SlowStatementEvent();
+		event.begin();
+		return event;
+	}
+	
+	public static void endStatement(Object o, ExecutionContext context, Node node) {
+		SlowStatementEvent event = (SlowStatementEvent) o;
+		event.end();
+		if (!event.shouldCommit())
+			return;
+		event.script = script(context);
+		event.line = node.getLineNumber();
+		event.keyword = node.getKeyword();
+		event.statement = node.getStatement().getStatement();
+		event.commit();
+	}
+	
+	public static Object beginInvocation() {
+		MethodInvokedEvent event = new MethodInvokedEvent();
+		event.begin();
+		return event;
+	}
+	
+	public static void endInvocation(Object o, ExecutionContext context, int line, String method) {
+		MethodInvokedEvent event = (MethodInvokedEvent) o;
+		event.end();
+		if (!event.shouldCommit())
+			return;
+		event.script = script(context);
+		event.line = line;
+		event.method = method;
+		event.commit();
+	}
+	
+	public static Object beginExpression() {
+		ExpressionEvaluatedEvent event = new ExpressionEvaluatedEvent();
+		event.begin();
+		return event;
+	}
+	
+	public static void endExpression(Object o, String expression) {
+		ExpressionEvaluatedEvent event = (ExpressionEvaluatedEvent) o;
+		event.end();
+		if (!event.shouldCommit())
+			return;
+		event.expression = expression;
+		event.commit();
+	}
+	
+	public static Object beginPluginLoad() {
+		PluginLoadedEvent event = new PluginLoadedEvent();
+		event.begin();
+		return event;
+	}
+	
+	public static void endPluginLoad(Object o, String plugin, File jar) {
+		PluginLoadedEvent event = (PluginLoadedEvent) o;
+		event.end();
+		if (!event.shouldCommit())
+			return;
+		event.plugin = plugin;
+		event.jar = jar.getPath();
+		event.commit();
+	}
+	
+	/**
+	 * Retrieve the script of an event
+	 * 
+	 * @param context The {@link ExecutionContext} of the running script
+	 * @return The path of the file being run, or <code>null</code> if there is none
+	 * @since 1.0
+	 */
+	private static String script(ExecutionContext context) {
+		File f = context.getFile();
+		return f == null ? null : f.getPath();
+	}
+}
@@ -0,0 +1,35 @@
+package me.donkeycore.dpl.profile.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A script ran from start to end. Its duration covers the whole run, so it overlaps every other event of the script.
+ * 
+ * @see ScriptEvents
+ * @since 1.0
+ */
+@Name(ScriptEvents.PREFIX + "ScriptRun")
+@Label("Script Run")
+@Category(ScriptEvents.CATEGORY)
+@Description("A script ran from start to end")
+public final class ScriptRunEvent extends Event {
+	
+	/**
+	 * The path of the script file, or <code>null</code> if it was not loaded from a file
+	 * 
+	 * @since 1.0
+	 */
+	@Label("Script")
+	public String script;
+	/**
+	 * The exit code the script ended with
+	 * 
+	 * @since 1.0
+	 */
+	@Label("Exit Code")
+	public int exitCode;
+}
@@ -0,0 +1,51 @@
+package me.donkeycore.dpl.profile.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A statement took longer than the threshold of the recording to run. The threshold is 10 ms unless the recording settings change it. Statements that open a block include the time of the block.
+ * 
+ * @see ScriptEvents
+ * @since 1.0
+ */
+@Name(ScriptEvents.PREFIX + "SlowStatement")
+@Label("Slow Statement")
+@Category(ScriptEvents.CATEGORY)
+@Description("A statement took longer than the threshold")
+@Threshold("10 ms")
+public final class SlowStatementEvent extends Event {
+	
+	/**
+	 * The path of the script file, or <code>null</code> if it was not loaded from a file
+	 * 
+	 * @since 1.0
+	 */
+	@Label("Script")
+	public String script;
+	/**
+	 * The line of the statement
+	 * 
+	 * @since 1.0
+	 */
+	@Label("Line")
+	public int line;
+	/**
+	 * The keyword of the statement
+	 * 
+	 * @since 1.0
+	 */
+	@Label("Keyword")
+	public String keyword;
+	/**
+	 * The text of the statement
+	 * 
+	 * @since 1.0
+	 */
+	@Label("Statement")
+	public String statement;
+}
@@ -0,0 +1,182 @@
+package me.donkeycore.dpl.runtime;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import me.donkeycore.dpl.Donkey;
+import me.donkeycore.dpl.Donkey.LogLevel;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.log.AsyncLogger;
+import me.donkeycore.dpl.variables.Variable;
+
+/**
+ * Runs many scripts at once on a work-stealing pool with one thread per core. The output of every script is captured and printed in the order the scripts were given, as soon as the scripts before it have finished, followed by a summary of the exit codes and of the wall-clock and CPU time spent.
+ * 
+ * @see Donkey#main(String...)
+ * @since 1.0
+ */
+public final class BatchRunner {
+	
+	/**
+	 * Implemented to create a static class
+	 * 
+	 * @see BatchRunner
+	 * @since 1.0
+	 */
+	private BatchRunner() {}
+	
+	/**
+	 * The result of one script of the batch
+	 * 
+	 * @since 1.0
+	 */
+	private static final class Job {
+		
+		private final File file;
+		private final ScriptResult result;
+		/**
+		 * The time spent compiling and running the script, in nanoseconds
+		 * 
+		 * @since 1.0
+		 */
+		private final long wall;
+		/**
+		 * The CPU time of the thread while compiling and running the script, in nanoseconds, or <code>-1</code> if it cannot be measured
+		 * 
+		 * @since 1.0
+		 */
+		private final long cpu;
+		
+		private Job(File file, ScriptResult result, long wall, long cpu) {
+			this.file = file;
+			this.result = result;
+			this.wall = wall;
+			this.cpu = cpu;
+		}
+	}
+	
+	/**
+	 * Run scripts with one thread per core
+	 * 
+	 * @param files The paths of the scripts
+	 * @return <code>0</code> if every script exited with <code>0</code>, otherwise the highest exit code
+	 * @see BatchRunner#run(int, String...)
+	 * @since 1.0
+	 */
+	public static int run(String... files) {
+		return run(Runtime.getRuntime().availableProcessors(), files);
+	}
+	
+	/**
+	 * Run scripts, with at most a number of them running at once
+	 * 
+	 * @param parallelism The amount of threads running scripts
+	 * @param files The paths of the scripts
+	 * @return <code>0</code> if every script exited with <code>0</code>, otherwise the highest exit code
+	 * @since 1.0
+	 */
+	public static int run(int parallelism, String... files) {
+		long start = System.nanoTime();
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		List<Future<Job>> jobs = new ArrayList<Future<Job>>(files.length);
+		for(String f : files) {
+			final File file = new File(f);
+			jobs.add(pool.submit(new Callable<Job>() {
+				
+				public Job call() {
+					return runJob(file);
+				}
+			}));
+		}
+		Map<Integer, Integer> codes = new TreeMap<Integer, Integer>();
+		List<Job> failed = new ArrayList<Job>();
+		long cpu = 0;
+		boolean measured = true;
+		try {
+			for(int i = 0; i < files.length; i++) {
+				Job j;
+				try {
+					j = jobs.get(i).get();
+				} catch(ExecutionException e) {
+					j = new Job(new File(files[i]), failure(e.getCause()), 0, -1);
+				}
+				Donkey.log(LogLevel.DEBUG, j.file.getPath() + " finished in " + millis(j.wall) + "ms with exit code: " + j.result.getExitCode(), "Donkey");
+				AsyncLogger.getLogger().flush();
+				System.out.print(j.result.getOutput());
+				Integer n = codes.get(j.result.getExitCode());
+				codes.put(j.result.getExitCode(), n == null ? 1 : n + 1);
+				if (!j.result.getErrors().isEmpty())
+					failed.add(j);
+				if (j.cpu < 0)
+					measured = false;
+				cpu += j.cpu;
+			}
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			pool.shutdownNow();
+			return 1;
+		}
+		pool.shutdown();
+		long wall = System.nanoTime() - start;
+		for(Job j : failed) {
+			Throwable e = j.result.getErrors().get(0);
+			Donkey.log(LogLevel.ERROR, j.file.getPath() + " failed: " + e.getClass().getSimpleName() + ": " + e.getMessage(), "Donkey");
+		}
+		StringBuilder summary = new StringBuilder("Ran ").append(files.length).append(" scripts on ").append(parallelism).append(" threads:");
+		int exit = 0;
+		String separator = " ";
+		for(Map.Entry<Integer, Integer> e : codes.entrySet()) {
+			summary.append(separator).append(e.getValue()).append(" exited with ").append(e.getKey());
+			separator = ", ";
+			exit = Math.max(exit, e.getKey());
+		}
+		Donkey.log(LogLevel.INFO, summary.toString(), "Donkey");
+		if (measured)
+			Donkey.log(LogLevel.INFO, "Wall-clock time: " + millis(wall) + "ms, CPU time: " + millis(cpu) + "ms (" + String.format("%.2f", wall == 0 ? 0 : (double) cpu / wall) + " cores busy on average)", "Donkey");
+		else
+			Donkey.log(LogLevel.INFO, "Wall-clock time: " + millis(wall) + "ms, CPU time is not available on this JVM", "Donkey");
+		AsyncLogger.getLogger().flush();
+		return exit;
+	}
+	
+	/**
+	 * Compile and run one script on the calling thread
+	 * 
+	 * @param file The script
+	 * @return The result and timing of the script
+	 * @since 1.0
+	 */
+	private static Job runJob(File file) {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		boolean measure = threads.isCurrentThreadCpuTimeSupported();
+		long cpu = measure ? threads.getCurrentThreadCpuTime() : 0;
+		long start = System.nanoTime();
+		ScriptResult result;
+		try {
+			result = DonkeyRuntime.compile(file.toPath()).execute();
+		} catch(IOException | DonkeyException e) {
+			result = failure(e);
+		}
+		long wall = System.nanoTime() - start;
+		return new Job(file, result, wall, measure ? threads.getCurrentThreadCpuTime() - cpu : -1);
+	}
+	
+	private static ScriptResult failure(Throwable e) {
+		return new ScriptResult(1, "", Collections.singletonList(e), new Variable[0], 0);
+	}
+	
+	private static long millis(long nanos) {
+		return nanos / 1000000;
+	}
+}
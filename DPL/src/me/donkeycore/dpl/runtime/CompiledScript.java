@@ -0,0 +1,154 @@
+package me.donkeycore.dpl.runtime;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
+import javax.script.ScriptException;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.ast.Program;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.io.InputSource;
+import me.donkeycore.dpl.io.OutputSink;
+import me.donkeycore.dpl.metrics.Metrics;
+import me.donkeycore.dpl.profile.FlightEvents;
+import me.donkeycore.dpl.profile.Sampler;
+import me.donkeycore.dpl.variables.VarDouble;
+import me.donkeycore.dpl.variables.VarInteger;
+import me.donkeycore.dpl.variables.VarString;
+import me.donkeycore.dpl.variables.VariableTable;
+
+/**
+ * A parsed script, ready to run. The parsed {@link Program} is never changed by running it, and every execution keeps its state in its own {@link ExecutionContext}, so one compiled script can be executed any number of times, from any number of threads at once, without reading or parsing it again. Each execution starts with its own copies of the variables declared outside of a script, such as by plugins.
+ * 
+ * @see DonkeyRuntime#compile(java.nio.file.Path)
+ * @see DonkeyRuntime#compile(String)
+ * @since 1.0
+ */
+public final class CompiledScript {
+	
+	/**
+	 * The parsed script
+	 * 
+	 * @since 1.0
+	 */
+	private final Program program;
+	
+	/**
+	 * Create a new {@link CompiledScript}
+	 * 
+	 * @param program The parsed script
+	 * @since 1.0
+	 */
+	CompiledScript(Program program) {
+		this.program = program;
+	}
+	
+	/**
+	 * Retrieve the file the script was compiled from
+	 * 
+	 * @return The file, or <code>null</code> if the script was compiled from text
+	 * @since 1.0
+	 */
+	public File getFile() {
+		return program.getFile();
+	}
+	
+	/**
+	 * Retrieve the parsed script
+	 * 
+	 * @return The {@link Program} run by every execution
+	 * @since 1.0
+	 */
+	public Program getProgram() {
+		return program;
+	}
+	
+	/**
+	 * Run the script without any bindings
+	 * 
+	 * @return The exit code, output and errors of the run
+	 * @see CompiledScript#execute(Map)
+	 * @since 1.0
+	 */
+	public ScriptResult execute() {
+		return execute(Collections.<String, Object> emptyMap());
+	}
+	
+	/**
+	 * Run the script. Every binding is declared as a variable before the first line runs: integers as <code>integer</code>, other numbers as <code>double</code> and anything else as <code>string</code>. An error stops the script and is returned in the result instead of ending the JVM.
+	 * 
+	 * @param bindings The variables to declare, by name
+	 * @return The exit code, output and errors of the run
+	 * @since 1.0
+	 */
+	public ScriptResult execute(Map<String, ?> bindings) {
+		return execute(bindings, OutputSink.capture());
+	}
+	
+	/**
+	 * Run the script, printing to an {@link OutputSink}. The sink is flushed when the script ends, but not closed. The script has no input: <code>@input</code> and <code>@inputLines</code> read nothing.
+	 * 
+	 * @param bindings The variables to declare, by name
+	 * @param output Where the script prints to, such as a sink {@link OutputSink#toFile(File) writing to a file}
+	 * @return The exit code, errors and variables of the run, with the output if the sink was created by {@link OutputSink#capture()}
+	 * @see CompiledScript#execute(Map)
+	 * @see CompiledScript#execute(Map, OutputSink, InputSource)
+	 * @since 1.0
+	 */
+	public ScriptResult execute(Map<String, ?> bindings, OutputSink output) {
+		return execute(bindings, output, InputSource.of(""));
+	}
+	
+	/**
+	 * Run the script, printing to an {@link OutputSink} and reading from an {@link InputSource}. The sink is flushed when the script ends, but not closed.
+	 * 
+	 * @param bindings The variables to declare, by name
+	 * @param output Where the script prints to, such as a sink {@link OutputSink#toFile(File) writing to a file}
+	 * @param input Where <code>@input</code> and <code>@inputLines</code> read from, such as {@link InputSource#of(String) text held in memory}
+	 * @return The exit code, errors and variables of the run, with the output if the sink was created by {@link OutputSink#capture()}
+	 * @see CompiledScript#execute(Map, OutputSink)
+	 * @since 1.0
+	 */
+	public ScriptResult execute(Map<String, ?> bindings, OutputSink output, InputSource input) {
+		ExecutionContext context = new ExecutionContext(program, new VariableTable(program.getSymbols(), ExecutionContext.getDefault().getVariables()), output, false);
+		context.setInput(input);
+		ExecutionContext previous = context.enter();
+		Sampler.attach(context);
+		Object event = FlightEvents.beginScript();
+		long start = System.nanoTime();
+		try {
+			for(Map.Entry<String, ?> e : bindings.entrySet())
+				bind(e.getKey(), e.getValue());
+			program.execute(context);
+		} catch(DonkeyException | ScriptException | RuntimeException e) {
+			context.fail(e);
+		} finally {
+			Sampler.detach(context);
+			Metrics.recordRun(context, System.nanoTime() - start);
+			FlightEvents.endScript(event, context);
+			ExecutionContext.leave(previous);
+			context.flush();
+		}
+		String captured = output.getCaptured();
+		return new ScriptResult(context.getErrno(), captured == null ? "" : captured, context.getErrors(), context.getVariables().getVariables(), output.getFlushCount());
+	}
+	
+	/**
+	 * Declare a binding in the context entered on this thread
+	 * 
+	 * @param key The name of the variable
+	 * @param value The value of the variable
+	 * @throws DonkeyException If a variable is already declared with that name
+	 * @since 1.0
+	 */
+	private static void bind(String key, Object value) throws DonkeyException {
+		if (value instanceof Integer || value instanceof Short || value instanceof Byte)
+			new VarInteger(key, ((Number) value).intValue());
+		else if (value instanceof Number)
+			new VarDouble(key, ((Number) value).doubleValue());
+		else
+			new VarString(key, String.valueOf(value));
+	}
+}
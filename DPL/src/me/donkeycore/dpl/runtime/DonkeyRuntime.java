@@ -0,0 +1,72 @@
+package me.donkeycore.dpl.runtime;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.io.BlockIndex;
+import me.donkeycore.dpl.io.SourceBuffer;
+import me.donkeycore.dpl.parser.Lexer;
+import me.donkeycore.dpl.parser.Parser;
+import me.donkeycore.dpl.parser.Token;
+
+/**
+ * Runs Donkey scripts inside another program. Unlike {@link me.donkeycore.dpl.Donkey#runCode() Donkey.runCode()}, nothing here ends the JVM, reads {@link System#in} or prints to the console: a script is compiled once into a {@link CompiledScript}, and every {@link CompiledScript#execute(java.util.Map) execution} returns its exit code, output and errors as a {@link ScriptResult}. A script reads no input unless it is given an {@link me.donkeycore.dpl.io.InputSource InputSource} by {@link CompiledScript#execute(java.util.Map, me.donkeycore.dpl.io.OutputSink, me.donkeycore.dpl.io.InputSource)}.
+ * 
+ * @see DonkeyRuntime#compile(Path)
+ * @see DonkeyRuntime#compile(String)
+ * @since 1.0
+ */
+public final class DonkeyRuntime {
+	
+	/**
+	 * Implemented to create a static class
+	 * 
+	 * @see DonkeyRuntime
+	 * @since 1.0
+	 */
+	private DonkeyRuntime() {}
+	
+	/**
+	 * Compile the script in a file. The file is read each time, and its contents are not kept once the script is compiled.
+	 * 
+	 * @param path The file to compile
+	 * @return The compiled script
+	 * @throws IOException If the file cannot be read
+	 * @throws DonkeyException If the script is not valid
+	 * @since 1.0
+	 */
+	public static CompiledScript compile(Path path) throws IOException, DonkeyException {
+		File file = path.toFile();
+		return compile(file, Lexer.lex(SourceBuffer.read(file)));
+	}
+	
+	/**
+	 * Compile the text of a script
+	 * 
+	 * @param source The script, with lines separated the same as in a file
+	 * @return The compiled script
+	 * @throws DonkeyException If the script is not valid
+	 * @since 1.0
+	 */
+	public static CompiledScript compile(String source) throws DonkeyException {
+		List<String> lines = new ArrayList<String>();
+		BufferedReader r = new BufferedReader(new StringReader(source));
+		try {
+			for(String line = r.readLine(); line != null; line = r.readLine())
+				lines.add(line);
+		} catch(IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return compile(null, Lexer.lex(lines));
+	}
+	
+	private static CompiledScript compile(File file, List<Token> tokens) throws DonkeyException {
+		return new CompiledScript(Parser.parse(file, tokens, BlockIndex.build(tokens)));
+	}
+}
@@ -0,0 +1,173 @@
+package me.donkeycore.dpl.runtime;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs {@link CompiledScript compiled scripts} in the background. <br>
+ * A {@link ScriptExecutor#virtual() virtual} executor gives every script its own virtual thread on JVMs that have them (Java 21 and later). A script blocked in <code>wait</code> then unmounts from its carrier thread, so tens of thousands of mostly sleeping scripts cost a few kilobytes each rather than an OS thread each. On older JVMs every script gets a platform thread with a small stack instead. <br>
+ * A {@link ScriptExecutor#platform(int) platform} executor runs scripts on a fixed amount of threads, which suits scripts that keep the CPU busy.
+ * 
+ * @see ScriptExecutor#submit(CompiledScript, Map)
+ * @since 1.0
+ */
+public final class ScriptExecutor {
+	
+	/**
+	 * The stack size of the threads created when virtual threads are not available, in bytes
+	 * 
+	 * @since 1.0
+	 */
+	public static final long FALLBACK_STACK_SIZE = 256 * 1024;
+	
+	/**
+	 * <code>Executors.newVirtualThreadPerTaskExecutor()</code>, or <code>null</code> if this JVM does not have virtual threads
+	 * 
+	 * @since 1.0
+	 */
+	private static final Method VIRTUAL = findVirtual();
+	
+	/**
+	 * The threads running the scripts
+	 * 
+	 * @since 1.0
+	 */
+	private final ExecutorService threads;
+	/**
+	 * Whether every script runs on its own virtual thread
+	 * 
+	 * @since 1.0
+	 */
+	private final boolean virtual;
+	
+	private ScriptExecutor(ExecutorService threads, boolean virtual) {
+		this.threads = threads;
+		this.virtual = virtual;
+	}
+	
+	private static Method findVirtual() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch(NoSuchMethodException e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Checks if this JVM has virtual threads
+	 * 
+	 * @return Whether {@link ScriptExecutor#virtual()} runs scripts on virtual threads
+	 * @since 1.0
+	 */
+	public static boolean isVirtualThreadsSupported() {
+		return VIRTUAL != null;
+	}
+	
+	/**
+	 * Create an executor running every script on its own thread: a virtual thread if this JVM has them, otherwise a platform thread with a stack of {@link ScriptExecutor#FALLBACK_STACK_SIZE} bytes
+	 * 
+	 * @return The new {@link ScriptExecutor}
+	 * @see ScriptExecutor#isVirtualThreadsSupported()
+	 * @since 1.0
+	 */
+	public static ScriptExecutor virtual() {
+		if (VIRTUAL != null) {
+			try {
+				return new ScriptExecutor((ExecutorService) VIRTUAL.invoke(null), true);
+			} catch(ReflectiveOperationException e) {
+				// fall back to platform threads
+			}
+		}
+		return new ScriptExecutor(Executors.newCachedThreadPool(new ThreadFactory() {
+			
+			private final AtomicInteger count = new AtomicInteger();
+			
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(null, r, "donkey-script-" + count.incrementAndGet(), FALLBACK_STACK_SIZE);
+				t.setDaemon(true);
+				return t;
+			}
+		}), false);
+	}
+	
+	/**
+	 * Create an executor running at most a number of scripts at once
+	 * 
+	 * @param threads The amount of threads running scripts
+	 * @return The new {@link ScriptExecutor}
+	 * @since 1.0
+	 */
+	public static ScriptExecutor platform(int threads) {
+		return new ScriptExecutor(Executors.newFixedThreadPool(threads), false);
+	}
+	
+	/**
+	 * Checks if every script runs on its own virtual thread
+	 * 
+	 * @return Whether this executor uses virtual threads
+	 * @since 1.0
+	 */
+	public boolean isVirtual() {
+		return virtual;
+	}
+	
+	/**
+	 * Run a script without any bindings
+	 * 
+	 * @param script The script to run
+	 * @return The result of the run, once it finishes
+	 * @see ScriptExecutor#submit(CompiledScript, Map)
+	 * @since 1.0
+	 */
+	public Future<ScriptResult> submit(CompiledScript script) {
+		return submit(script, Collections.<String, Object> emptyMap());
+	}
+	
+	/**
+	 * Run a script
+	 * 
+	 * @param script The script to run
+	 * @param bindings The variables to declare, by name
+	 * @return The result of the run, once it finishes
+	 * @see CompiledScript#execute(Map)
+	 * @since 1.0
+	 */
+	public Future<ScriptResult> submit(final CompiledScript script, final Map<String, ?> bindings) {
+		return threads.submit(new Callable<ScriptResult>() {
+			
+			public ScriptResult call() {
+				return script.execute(bindings);
+			}
+		});
+	}
+	
+	/**
+	 * Stop accepting scripts. Scripts already submitted keep running.
+	 * 
+	 * @since 1.0
+	 */
+	public void shutdown() {
+		threads.shutdown();
+	}
+	
+	/**
+	 * Wait for every submitted script to finish after {@link ScriptExecutor#shutdown()}
+	 * 
+	 * @param timeout The longest time to wait
+	 * @param unit The unit of the timeout
+	 * @return Whether every script finished before the timeout
+	 * @throws InterruptedException If the calling thread is interrupted while waiting
+	 * @since 1.0
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return threads.awaitTermination(timeout, unit);
+	}
+}
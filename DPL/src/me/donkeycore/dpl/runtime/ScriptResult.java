@@ -0,0 +1,127 @@
+package me.donkeycore.dpl.runtime;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import me.donkeycore.dpl.variables.Variable;
+
+/**
+ * The outcome of one {@link CompiledScript#execute(java.util.Map) execution} of a script
+ * 
+ * @since 1.0
+ */
+public final class ScriptResult {
+	
+	/**
+	 * The exit code of the script
+	 * 
+	 * @since 1.0
+	 */
+	private final int exitCode;
+	/**
+	 * Everything the script printed and logged
+	 * 
+	 * @since 1.0
+	 */
+	private final String output;
+	/**
+	 * The errors that ended the script
+	 * 
+	 * @since 1.0
+	 */
+	private final List<Throwable> errors;
+	/**
+	 * The variables declared when the script ended
+	 * 
+	 * @since 1.0
+	 */
+	private final Variable[] variables;
+	/**
+	 * The amount of times the output of the script was written out of its buffer
+	 * 
+	 * @since 1.0
+	 */
+	private final long outputFlushes;
+	
+	/**
+	 * Create a new {@link ScriptResult}
+	 * 
+	 * @param exitCode The exit code of the script
+	 * @param output Everything the script printed and logged
+	 * @param errors The errors that ended the script, as an unmodifiable list
+	 * @param variables The variables declared when the script ended
+	 * @param outputFlushes The amount of times the output of the script was written out of its buffer
+	 * @since 1.0
+	 */
+	ScriptResult(int exitCode, String output, List<Throwable> errors, Variable[] variables, long outputFlushes) {
+		this.exitCode = exitCode;
+		this.output = output;
+		this.errors = errors;
+		this.variables = variables;
+		this.outputFlushes = outputFlushes;
+	}
+	
+	/**
+	 * Retrieve the exit code of the script, set by <code>stop</code> or <code>1</code> if an error ended it
+	 * 
+	 * @return The exit code
+	 * @since 1.0
+	 */
+	public int getExitCode() {
+		return exitCode;
+	}
+	
+	/**
+	 * Retrieve everything the script printed and logged
+	 * 
+	 * @return The output of the script
+	 * @since 1.0
+	 */
+	public String getOutput() {
+		return output;
+	}
+	
+	/**
+	 * Retrieve the errors that ended the script
+	 * 
+	 * @return An unmodifiable list of the errors, empty if the script did not fail
+	 * @since 1.0
+	 */
+	public List<Throwable> getErrors() {
+		return errors;
+	}
+	
+	/**
+	 * Retrieve the values of the variables declared when the script ended, including the bindings it was given
+	 * 
+	 * @return The value of every variable by name, in the order they were declared
+	 * @since 1.0
+	 */
+	public Map<String, Object> getVariables() {
+		Map<String, Object> m = new LinkedHashMap<String, Object>();
+		for(Variable v : variables)
+			m.put(v.getKey(), v.getValue());
+		return m;
+	}
+	
+	/**
+	 * Checks if the script finished without an error and with exit code <code>0</code>
+	 * 
+	 * @return Whether the script succeeded
+	 * @since 1.0
+	 */
+	public boolean isSuccess() {
+		return exitCode == 0 && errors.isEmpty();
+	}
+	
+	/**
+	 * Retrieve the amount of times the output of the script was written out of its buffer
+	 * 
+	 * @return The {@link me.donkeycore.dpl.io.OutputSink#getFlushCount() flush count} of the output
+	 * @since 1.0
+	 */
+	public long getOutputFlushes() {
+		return outputFlushes;
+	}
+}
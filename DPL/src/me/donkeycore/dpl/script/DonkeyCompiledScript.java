@@ -0,0 +1,51 @@
+package me.donkeycore.dpl.script;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+/**
+ * A script compiled by a {@link DonkeyScriptEngine}. The parsed program is kept, so every {@link DonkeyCompiledScript#eval(ScriptContext) eval} only runs it.
+ * 
+ * @see DonkeyScriptEngine#compile(String)
+ * @since 1.0
+ */
+public final class DonkeyCompiledScript extends CompiledScript {
+	
+	/**
+	 * The engine that compiled the script
+	 * 
+	 * @since 1.0
+	 */
+	private final DonkeyScriptEngine engine;
+	/**
+	 * The parsed script
+	 * 
+	 * @since 1.0
+	 */
+	private final me.donkeycore.dpl.runtime.CompiledScript script;
+	
+	DonkeyCompiledScript(DonkeyScriptEngine engine, me.donkeycore.dpl.runtime.CompiledScript script) {
+		this.engine = engine;
+		this.script = script;
+	}
+	
+	public Object eval(ScriptContext context) throws ScriptException {
+		return engine.run(script, context);
+	}
+	
+	public ScriptEngine getEngine() {
+		return engine;
+	}
+	
+	/**
+	 * Retrieve the parsed script
+	 * 
+	 * @return The {@link me.donkeycore.dpl.runtime.CompiledScript CompiledScript} run by every eval
+	 * @since 1.0
+	 */
+	public me.donkeycore.dpl.runtime.CompiledScript getCompiledScript() {
+		return script;
+	}
+}
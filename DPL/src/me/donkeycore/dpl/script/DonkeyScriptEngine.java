@@ -0,0 +1,205 @@
+package me.donkeycore.dpl.script;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.script.AbstractScriptEngine;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.Invocable;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.io.OutputSink;
+import me.donkeycore.dpl.method.IMethod;
+import me.donkeycore.dpl.runtime.DonkeyRuntime;
+import me.donkeycore.dpl.runtime.ScriptResult;
+import me.donkeycore.dpl.statement.IStatement;
+import me.donkeycore.dpl.statement.KeywordTable;
+import me.donkeycore.dpl.statement.Statement;
+import me.donkeycore.dpl.variables.SymbolTable;
+import me.donkeycore.dpl.variables.VariableTable;
+
+/**
+ * Runs DPL through <code>javax.script</code>. Scripts are run by the {@link DonkeyRuntime}, so an error is thrown as a {@link ScriptException} instead of ending the JVM, and <code>eval</code> returns the exit code of the script. <br>
+ * The global and engine {@link Bindings} are declared as variables before the script runs: integers as <code>integer</code>, other numbers as <code>double</code> and anything else as <code>string</code>, without going through text. When the script ends, the values of those variables are written back to the engine bindings. Every <code>eval</code> declares its variables in its own table, so scripts running on different threads at once do not see each other's variables. <br>
+ * Compile a script once with {@link DonkeyScriptEngine#compile(String)} to run it many times without parsing it again. Registered {@link IMethod methods} and {@link IStatement statements} can be called with {@link DonkeyScriptEngine#invokeFunction(String, Object...)}.
+ * 
+ * @see DonkeyScriptEngineFactory
+ * @since 1.0
+ */
+public final class DonkeyScriptEngine extends AbstractScriptEngine implements Compilable, Invocable {
+	
+	/**
+	 * The factory that created this engine
+	 * 
+	 * @since 1.0
+	 */
+	private final DonkeyScriptEngineFactory factory;
+	
+	DonkeyScriptEngine(DonkeyScriptEngineFactory factory) {
+		this.factory = factory;
+	}
+	
+	public Object eval(String script, ScriptContext context) throws ScriptException {
+		return compile(script).eval(context);
+	}
+	
+	public Object eval(Reader reader, ScriptContext context) throws ScriptException {
+		return compile(reader).eval(context);
+	}
+	
+	public Bindings createBindings() {
+		return new SimpleBindings();
+	}
+	
+	public ScriptEngineFactory getFactory() {
+		return factory;
+	}
+	
+	public CompiledScript compile(String script) throws ScriptException {
+		try {
+			return new DonkeyCompiledScript(this, DonkeyRuntime.compile(script));
+		} catch(DonkeyException e) {
+			throw scriptException(e);
+		}
+	}
+	
+	public CompiledScript compile(Reader script) throws ScriptException {
+		StringBuilder b = new StringBuilder();
+		char[] buffer = new char[8192];
+		try {
+			for(int n = script.read(buffer); n != -1; n = script.read(buffer))
+				b.append(buffer, 0, n);
+		} catch(IOException e) {
+			throw scriptException(e);
+		}
+		return compile(b.toString());
+	}
+	
+	/**
+	 * Run a compiled script with the bindings of a context
+	 * 
+	 * @param script The script to run
+	 * @param context The context providing the bindings and the writer
+	 * @return The exit code of the script
+	 * @throws ScriptException If an error ended the script
+	 * @since 1.0
+	 */
+	Object run(me.donkeycore.dpl.runtime.CompiledScript script, ScriptContext context) throws ScriptException {
+		Map<String, Object> bindings = new LinkedHashMap<String, Object>();
+		Bindings global = context.getBindings(ScriptContext.GLOBAL_SCOPE);
+		if (global != null)
+			bindings.putAll(global);
+		Bindings engine = context.getBindings(ScriptContext.ENGINE_SCOPE);
+		if (engine != null)
+			bindings.putAll(engine);
+		ScriptResult r = script.execute(bindings);
+		write(context, r.getOutput());
+		if (!r.getErrors().isEmpty())
+			throw scriptException(r.getErrors().get(0));
+		if (engine != null) {
+			for(Map.Entry<String, Object> e : r.getVariables().entrySet()) {
+				if (bindings.containsKey(e.getKey()))
+					engine.put(e.getKey(), e.getValue());
+			}
+		}
+		return r.getExitCode();
+	}
+	
+	/**
+	 * Call a registered method, or a statement if no method has that name
+	 * 
+	 * @param name The name of the method or statement, such as <code>@randomInteger</code>
+	 * @param args The arguments, converted to text
+	 * @return The object the method or statement returned
+	 * @throws ScriptException If the method or statement failed
+	 * @throws NoSuchMethodException If no method or statement has that name
+	 * @since 1.0
+	 */
+	public Object invokeFunction(String name, Object... args) throws ScriptException, NoSuchMethodException {
+		KeywordTable k = Statement.getKeywords();
+		IMethod m = k.findMethod(name + "()");
+		IStatement s = m == null ? k.getStatement(name) : null;
+		if (m == null && s == null)
+			throw new NoSuchMethodException(name);
+		String[] a = new String[args == null ? 0 : args.length];
+		for(int i = 0; i < a.length; i++)
+			a[i] = String.valueOf(args[i]);
+		OutputSink out = OutputSink.capture();
+		ExecutionContext c = new ExecutionContext(null, new VariableTable(new SymbolTable(), ExecutionContext.getDefault().getVariables()), out, false);
+		ExecutionContext previous = c.enter();
+		Object result;
+		try {
+			if (m != null)
+				result = m.run(c, new Statement(name + "(" + String.join(",", a) + ")", 0), a);
+			else
+				result = s.run(c, new Statement(name + " " + String.join(" ", a), 0), String.join(" ", a));
+		} catch(DonkeyException | RuntimeException e) {
+			throw scriptException(e);
+		} finally {
+			ExecutionContext.leave(previous);
+			c.flush();
+			write(context, out.getCaptured());
+		}
+		if (!c.getErrors().isEmpty())
+			throw scriptException(c.getErrors().get(0));
+		return result;
+	}
+	
+	/**
+	 * DPL does not have objects, so there are no methods to call on one
+	 * 
+	 * @throws IllegalArgumentException Always
+	 * @since 1.0
+	 */
+	public Object invokeMethod(Object thiz, String name, Object... args) {
+		throw new IllegalArgumentException("DPL does not have objects");
+	}
+	
+	/**
+	 * DPL scripts do not define functions, so they cannot implement an interface
+	 * 
+	 * @return <code>null</code>
+	 * @since 1.0
+	 */
+	public <T> T getInterface(Class<T> clasz) {
+		return null;
+	}
+	
+	/**
+	 * DPL does not have objects, so there are none to implement an interface
+	 * 
+	 * @throws IllegalArgumentException Always
+	 * @since 1.0
+	 */
+	public <T> T getInterface(Object thiz, Class<T> clasz) {
+		throw new IllegalArgumentException("DPL does not have objects");
+	}
+	
+	private static void write(ScriptContext context, String output) throws ScriptException {
+		if (output.isEmpty())
+			return;
+		Writer w = context.getWriter();
+		try {
+			w.write(output);
+			w.flush();
+		} catch(IOException e) {
+			throw scriptException(e);
+		}
+	}
+	
+	private static ScriptException scriptException(Throwable e) {
+		ScriptException s = new ScriptException(e.getMessage());
+		s.initCause(e);
+		return s;
+	}
+}
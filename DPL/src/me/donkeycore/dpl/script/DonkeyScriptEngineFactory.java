@@ -0,0 +1,83 @@
+package me.donkeycore.dpl.script;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+
+/**
+ * Describes DPL to <code>javax.script</code>, so that <code>new ScriptEngineManager().getEngineByName("dpl")</code> creates a {@link DonkeyScriptEngine}. It is registered in <code>META-INF/services/javax.script.ScriptEngineFactory</code>.
+ * 
+ * @since 1.0
+ */
+public final class DonkeyScriptEngineFactory implements ScriptEngineFactory {
+	
+	private static final List<String> NAMES = Collections.unmodifiableList(Arrays.asList("dpl", "DPL", "donkey", "Donkey"));
+	private static final List<String> EXTENSIONS = Collections.unmodifiableList(Arrays.asList("dpl", "donkey"));
+	private static final List<String> MIME_TYPES = Collections.unmodifiableList(Arrays.asList("application/x-donkey", "text/x-donkey"));
+	
+	public String getEngineName() {
+		return "Donkey Programming Language";
+	}
+	
+	public String getEngineVersion() {
+		return "1.0";
+	}
+	
+	public List<String> getExtensions() {
+		return EXTENSIONS;
+	}
+	
+	public List<String> getMimeTypes() {
+		return MIME_TYPES;
+	}
+	
+	public List<String> getNames() {
+		return NAMES;
+	}
+	
+	public String getLanguageName() {
+		return "Donkey";
+	}
+	
+	public String getLanguageVersion() {
+		return "1.0";
+	}
+	
+	public Object getParameter(String key) {
+		switch(key) {
+			case ScriptEngine.ENGINE:
+				return getEngineName();
+			case ScriptEngine.ENGINE_VERSION:
+				return getEngineVersion();
+			case ScriptEngine.NAME:
+				return NAMES.get(0);
+			case ScriptEngine.LANGUAGE:
+				return getLanguageName();
+			case ScriptEngine.LANGUAGE_VERSION:
+				return getLanguageVersion();
+			case "THREADING":
+				return "THREAD-ISOLATED";
+			default:
+				return null;
+		}
+	}
+	
+	public String getMethodCallSyntax(String obj, String m, String... args) {
+		return m + "(" + String.join(",", args) + ")";
+	}
+	
+	public String getOutputStatement(String toDisplay) {
+		return "println " + toDisplay;
+	}
+	
+	public String getProgram(String... statements) {
+		return String.join("\n", statements);
+	}
+	
+	public ScriptEngine getScriptEngine() {
+		return new DonkeyScriptEngine(this);
+	}
+}
@@ -1,6 +1,6 @@
 package me.donkeycore.dpl.statement;
 
-import me.donkeycore.dpl.Donkey;
+import me.donkeycore.dpl.ExecutionContext;
 import me.donkeycore.dpl.exceptions.DonkeyException;
 import me.donkeycore.dpl.exceptions.StatementUnsatisfiedException;
 
@@ -19,14 +19,19 @@ public class Debug implements IStatement {
 	}
 	
 	public Object run(Statement statement, String args) throws DonkeyException {
+		return run(ExecutionContext.current(), statement, args);
+	}
+	
+	public Object run(ExecutionContext context, Statement statement, String args) throws DonkeyException {
 		String set = args.replace("@debug", "").replace("if(", "").replace(")", "").replace("&&", "").replace("||", "").trim();
 		if (args.equals(""))
-			return Donkey.debug;
+			return context.isDebug();
 		else {
-			if (set.equalsIgnoreCase("true")) {
-				return Donkey.debug != (Donkey.debug = true);
-			} else if (set.equalsIgnoreCase("false")) {
-				return Donkey.debug != (Donkey.debug = false);
+			if (set.equalsIgnoreCase("true") || set.equalsIgnoreCase("false")) {
+				boolean debug = set.equalsIgnoreCase("true");
+				boolean changed = context.isDebug() != debug;
+				context.setDebug(debug);
+				return changed;
 			}
 		}
 		throw new StatementUnsatisfiedException(statement, this, "Invalid boolean: " + set);
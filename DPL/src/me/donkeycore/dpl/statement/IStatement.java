@@ -1,5 +1,6 @@
 package me.donkeycore.dpl.statement;
 
+import me.donkeycore.dpl.ExecutionContext;
 import me.donkeycore.dpl.exceptions.DonkeyException;
 
 /**
@@ -31,4 +32,18 @@ public interface IStatement {
 	 * @return The return type that the statement may return, or <code>null</code> if there is none.
 	 */
 	public Object run(Statement statement, String args) throws DonkeyException;
+	
+	/**
+	 * Run the method in a script's {@link ExecutionContext}. Statements should override this rather than {@link IStatement#run(Statement, String)} and keep their state in the context, so that several scripts can run them at once. The default implementation calls {@link IStatement#run(Statement, String)}, so statements written before contexts existed keep working.
+	 * 
+	 * @param context The {@link ExecutionContext} of the running script
+	 * @param statement The {@link Statement} that called the statement
+	 * @param args The arguments the method has been given
+	 * @throws DonkeyException If something goes wrong
+	 * @since 1.0
+	 * @return The return type that the statement may return, or <code>null</code> if there is none.
+	 */
+	public default Object run(ExecutionContext context, Statement statement, String args) throws DonkeyException {
+		return run(statement, args);
+	}
 }
\ No newline at end of file
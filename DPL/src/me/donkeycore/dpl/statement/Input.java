@@ -1,15 +1,16 @@
 package me.donkeycore.dpl.statement;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 
 import me.donkeycore.dpl.Donkey;
+import me.donkeycore.dpl.ExecutionContext;
 import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.io.InputSource;
 
 /**
  * Receive raw input from the user <br>
- * Syntax: <code>@input</code>
+ * Syntax: <code>@input</code><br>
+ * Reads the next line of the {@link InputSource} of the script, or <code>null</code> if there is no more input.
  * 
  * @since 1.0
  */
@@ -20,6 +21,10 @@ public class Input implements IStatement {
 	}
 	
 	public Object run(Statement statement, String args) throws DonkeyException {
+		return run(ExecutionContext.current(), statement, args);
+	}
+	
+	public Object run(ExecutionContext context, Statement statement, String args) throws DonkeyException {
 		/*
 		 * int mode = 0; //string
 		 * 
@@ -32,9 +37,11 @@ public class Input implements IStatement {
 		 * mode = 2; //double
 		 * }
 		 */
-		BufferedReader r = new BufferedReader(new InputStreamReader(System.in));
+		InputSource in = context.getInput();
+		if (!in.hasBuffered())
+			context.flush();
 		try {
-			return r.readLine();
+			return in.readLine();
 		} catch(IOException e) {
 			Donkey.printError(e);
 			return null;
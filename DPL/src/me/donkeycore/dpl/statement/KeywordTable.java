@@ -0,0 +1,213 @@
+package me.donkeycore.dpl.statement;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import me.donkeycore.dpl.method.IMethod;
+
+/**
+ * An immutable index of the registered {@link IStatement statements} and {@link IMethod methods}. Methods are found by a hashed lookup of the name before their <code>(</code>, and statements by walking a trie of their names, so finding the target of a line does not depend on how many keywords are registered. Registering a keyword creates a new table, leaving tables already handed out unchanged.
+ * 
+ * @see Statement#getKeywords()
+ * @since 1.0
+ */
+public final class KeywordTable {
+	
+	/**
+	 * A node of the trie of statement names
+	 * 
+	 * @since 1.0
+	 */
+	private static final class Node {
+		
+		/**
+		 * The character leading to every child
+		 * 
+		 * @since 1.0
+		 */
+		private char[] chars = new char[0];
+		/**
+		 * The children of this node
+		 * 
+		 * @since 1.0
+		 */
+		private Node[] children = new Node[0];
+		/**
+		 * The index of the first registered statement whose name ends at this node, or <code>-1</code> if there is none
+		 * 
+		 * @since 1.0
+		 */
+		private int statement = -1;
+		
+		private Node get(char c) {
+			for(int i = 0; i < chars.length; i++) {
+				if (chars[i] == c)
+					return children[i];
+			}
+			return null;
+		}
+		
+		private Node add(char c) {
+			Node n = get(c);
+			if (n != null)
+				return n;
+			int size = chars.length;
+			chars = Arrays.copyOf(chars, size + 1);
+			children = Arrays.copyOf(children, size + 1);
+			chars[size] = c;
+			return children[size] = new Node();
+		}
+	}
+	
+	/**
+	 * The registered statements, in the order they were registered
+	 * 
+	 * @since 1.0
+	 */
+	private final IStatement[] statements;
+	/**
+	 * The registered methods, in the order they were registered
+	 * 
+	 * @since 1.0
+	 */
+	private final IMethod[] methods;
+	/**
+	 * The root of the trie of statement names
+	 * 
+	 * @since 1.0
+	 */
+	private final Node root = new Node();
+	/**
+	 * The first registered statement with every name
+	 * 
+	 * @since 1.0
+	 */
+	private final Map<String, IStatement> statementNames = new HashMap<String, IStatement>();
+	/**
+	 * The first registered method with every name
+	 * 
+	 * @since 1.0
+	 */
+	private final Map<String, IMethod> methodNames = new HashMap<String, IMethod>();
+	
+	/**
+	 * Create a new {@link KeywordTable}
+	 * 
+	 * @param statements The statements, in the order they were registered
+	 * @param methods The methods, in the order they were registered
+	 * @since 1.0
+	 */
+	public KeywordTable(IStatement[] statements, IMethod[] methods) {
+		this.statements = statements.clone();
+		this.methods = methods.clone();
+		for(int i = 0; i < statements.length; i++) {
+			String name = statements[i].getName();
+			Node n = root;
+			for(int c = 0; c < name.length(); c++)
+				n = n.add(name.charAt(c));
+			if (n.statement == -1)
+				n.statement = i;
+			if (!statementNames.containsKey(name))
+				statementNames.put(name, statements[i]);
+		}
+		for(IMethod m : methods) {
+			if (!methodNames.containsKey(m.getName()))
+				methodNames.put(m.getName(), m);
+		}
+	}
+	
+	/**
+	 * Create a table with one more statement
+	 * 
+	 * @param statement The statement to register
+	 * @return The new {@link KeywordTable}
+	 * @since 1.0
+	 */
+	public KeywordTable withStatement(IStatement statement) {
+		IStatement[] s = Arrays.copyOf(statements, statements.length + 1);
+		s[statements.length] = statement;
+		return new KeywordTable(s, methods);
+	}
+	
+	/**
+	 * Create a table with one more method
+	 * 
+	 * @param method The method to register
+	 * @return The new {@link KeywordTable}
+	 * @since 1.0
+	 */
+	public KeywordTable withMethod(IMethod method) {
+		IMethod[] m = Arrays.copyOf(methods, methods.length + 1);
+		m[methods.length] = method;
+		return new KeywordTable(statements, m);
+	}
+	
+	/**
+	 * Retrieve the registered statements
+	 * 
+	 * @return The statements, in the order they were registered
+	 * @since 1.0
+	 */
+	public IStatement[] getStatements() {
+		return statements;
+	}
+	
+	/**
+	 * Retrieve the registered methods
+	 * 
+	 * @return The methods, in the order they were registered
+	 * @since 1.0
+	 */
+	public IMethod[] getMethods() {
+		return methods;
+	}
+	
+	/**
+	 * Find the statement a line starts with. If several names match, the statement registered first is used.
+	 * 
+	 * @param text The text of the line
+	 * @return The statement, or <code>null</code> if the line does not start with a statement name
+	 * @since 1.0
+	 */
+	public IStatement findStatement(String text) {
+		Node n = root;
+		int best = n.statement;
+		for(int i = 0; i < text.length(); i++) {
+			n = n.get(text.charAt(i));
+			if (n == null)
+				break;
+			if (n.statement != -1 && (best == -1 || n.statement < best))
+				best = n.statement;
+		}
+		return best == -1 ? null : statements[best];
+	}
+	
+	/**
+	 * Retrieve a statement by its name
+	 * 
+	 * @param name The name of the statement
+	 * @return The statement, or <code>null</code> if none is registered with that name
+	 * @since 1.0
+	 */
+	public IStatement getStatement(String name) {
+		return statementNames.get(name);
+	}
+	
+	/**
+	 * Find the method a line calls. A line calls a method if it starts with the name of the method, optionally followed by whitespace, then has parenthesis.
+	 * 
+	 * @param text The text of the line
+	 * @return The method, or <code>null</code> if the line is not a method call
+	 * @since 1.0
+	 */
+	public IMethod findMethod(String text) {
+		int open = text.indexOf('(');
+		if (open == -1 || text.indexOf(')', open) == -1)
+			return null;
+		int end = open;
+		while(end > 0 && Character.isWhitespace(text.charAt(end - 1)))
+			end--;
+		return methodNames.get(text.substring(0, end));
+	}
+}
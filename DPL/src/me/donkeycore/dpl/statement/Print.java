@@ -1,5 +1,7 @@
 package me.donkeycore.dpl.statement;
 
+import me.donkeycore.dpl.ExecutionContext;
+
 /**
  * Display a message in the console, without a line break. <br>
  * Syntax: <code>print message</code><br>
@@ -15,7 +17,11 @@ public class Print implements IStatement {
 	}
 	
 	public Object run(Statement statement, String args) {
-		System.out.print(args.replace("\\n", "\n"));
+		return run(ExecutionContext.current(), statement, args);
+	}
+	
+	public Object run(ExecutionContext context, Statement statement, String args) {
+		context.getOutput().print(args, false);
 		return null;
 	}
 }
\ No newline at end of file
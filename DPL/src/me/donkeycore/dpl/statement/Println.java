@@ -1,5 +1,7 @@
 package me.donkeycore.dpl.statement;
 
+import me.donkeycore.dpl.ExecutionContext;
+
 /**
  * Display a message in the console, with a linebreak. <br>
  * Syntax: <code>println message</code><br>
@@ -14,7 +16,11 @@ public class Println implements IStatement {
 	}
 	
 	public Object run(Statement statement, String args) {
-		System.out.println(args.replace("\\n", "\n"));
+		return run(ExecutionContext.current(), statement, args);
+	}
+	
+	public Object run(ExecutionContext context, Statement statement, String args) {
+		context.getOutput().print(args, true);
 		return null;
 	}
 }
\ No newline at end of file
@@ -1,29 +1,32 @@
 package me.donkeycore.dpl.statement;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.LineNumberReader;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.LinkedList;
 import java.util.List;
 
 import javax.script.ScriptException;
 
 import me.donkeycore.dpl.Donkey;
 import me.donkeycore.dpl.Escape;
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.ast.BlockNode;
 import me.donkeycore.dpl.exceptions.DonkeyException;
 import me.donkeycore.dpl.exceptions.IncompatibleVariableTypesException;
 import me.donkeycore.dpl.exceptions.InvalidStatementException;
 import me.donkeycore.dpl.exceptions.TypeDoesNotExistException;
 import me.donkeycore.dpl.exceptions.VariableAlreadyDeclaredException;
+import me.donkeycore.dpl.io.BlockIndex;
+import me.donkeycore.dpl.io.DonkeyClass;
+import me.donkeycore.dpl.io.SourceBuffer;
 import me.donkeycore.dpl.method.IMethod;
 import me.donkeycore.dpl.method.If;
+import me.donkeycore.dpl.method.InputLines;
 import me.donkeycore.dpl.method.RPN;
 import me.donkeycore.dpl.method.Random;
 import me.donkeycore.dpl.method.While;
+import me.donkeycore.dpl.metrics.Metrics;
+import me.donkeycore.dpl.profile.FlightEvents;
 import me.donkeycore.dpl.variables.Variable;
 
 /**
@@ -35,37 +38,56 @@ import me.donkeycore.dpl.variables.Variable;
 public final class Statement {
 	
 	/**
-	 * File being read
+	 * The registered statements and methods
 	 * 
 	 * @since 1.0
 	 */
-	private static File file;
+	private static volatile KeywordTable keywords;
 	/**
-	 * List of line numbers that will be ignored
+	 * Error number to display when the program terminates. Only used outside of a run; a running script keeps its exit code in its {@link ExecutionContext}.
 	 * 
+	 * @see ExecutionContext#getErrno()
 	 * @since 1.0
 	 */
-	private static final List<Integer> doNotRun = new ArrayList<Integer>();
-	/**
-	 * Array of valid statements
-	 * 
-	 * @since 1.0
-	 */
-	private static IStatement[] statements;
-	/**
-	 * Array of valid methods
-	 * 
-	 * @since 1.0
-	 */
-	private static IMethod[] methods;
+	public static int errno = 0;
+	
+	//private static Donkey donkey;
 	/**
-	 * Error number to display when the program terminates
+	 * Get the table of registered statements and methods
 	 * 
+	 * @return The current {@link KeywordTable}
 	 * @since 1.0
 	 */
-	public static int errno = 0;
+	public static KeywordTable getKeywords() {
+		KeywordTable k = keywords;
+		if (k != null)
+			return k;
+		synchronized(Statement.class) {
+			if (keywords != null)
+				return keywords;
+			List<IStatement> s = new ArrayList<IStatement>();
+			s.add(new Println());
+			s.add(new Print());
+			s.add(new Stop());
+			s.add(new Wait());
+			s.add(new Debug());
+			s.add(new Logger.Debug());
+			s.add(new Logger.Info());
+			s.add(new Logger.Warning());
+			s.add(new Logger.Error());
+			s.add(new Logger.Fatal());
+			s.add(new Input());
+			List<IMethod> m = new ArrayList<IMethod>();
+			m.add(new If());
+			m.add(new While());
+			m.add(new InputLines());
+			m.add(new RPN());
+			m.add(new Random.RandomBoolean());
+			m.add(new Random.RandomInteger());
+			return keywords = new KeywordTable(s.toArray(new IStatement[s.size()]), m.toArray(new IMethod[m.size()]));
+		}
+	}
 	
-	//private static Donkey donkey;
 	/**
 	 * Get all the statements in an array
 	 * 
@@ -73,21 +95,7 @@ public final class Statement {
 	 * @since 1.0
 	 */
 	public static IStatement[] getStatements() {
-		if (statements != null)
-			return statements;
-		List<IStatement> s = new ArrayList<IStatement>();
-		s.add(new Println());
-		s.add(new Print());
-		s.add(new Stop());
-		s.add(new Wait());
-		s.add(new Debug());
-		s.add(new Logger.Debug());
-		s.add(new Logger.Info());
-		s.add(new Logger.Warning());
-		s.add(new Logger.Error());
-		s.add(new Logger.Fatal());
-		s.add(new Input());
-		return statements = s.toArray(new IStatement[s.size()]);
+		return getKeywords().getStatements();
 	}
 	
 	/**
@@ -97,15 +105,7 @@ public final class Statement {
 	 * @since 1.0
 	 */
 	public static IMethod[] getMethods() {
-		if (methods != null)
-			return methods;
-		List<IMethod> m = new ArrayList<IMethod>();
-		m.add(new If());
-		m.add(new While());
-		m.add(new RPN());
-		m.add(new Random.RandomBoolean());
-		m.add(new Random.RandomInteger());
-		return methods = m.toArray(new IMethod[m.size()]);
+		return getKeywords().getMethods();
 	}
 	
 	/**
@@ -115,9 +115,9 @@ public final class Statement {
 	 * @since 1.0
 	 */
 	public static void addStatement(IStatement statement) {
-		List<IStatement> s = new LinkedList<IStatement>(Arrays.asList(getStatements()));
-		s.add(statement);
-		statements = s.toArray(new IStatement[s.size()]);
+		synchronized(Statement.class) {
+			keywords = getKeywords().withStatement(statement);
+		}
 	}
 	
 	/**
@@ -127,9 +127,9 @@ public final class Statement {
 	 * @since 1.0
 	 */
 	public static void addMethod(IMethod method) {
-		List<IMethod> m = new LinkedList<IMethod>(Arrays.asList(getMethods()));
-		m.add(method);
-		methods = m.toArray(new IMethod[m.size()]);
+		synchronized(Statement.class) {
+			keywords = getKeywords().withMethod(method);
+		}
 	}
 	
 	/**
@@ -140,17 +140,28 @@ public final class Statement {
 	 * @since 1.0
 	 */
 	public static final void setFile(File f) {
-		file = f;
+		ExecutionContext.current().setFile(f);
+	}
+	
+	/**
+	 * Change the {@link DonkeyClass} being run, along with its file. <br>
+	 * <b>Note: This is a method used by the system and should NOT be used.</b><br>
+	 * 
+	 * @param c The {@link DonkeyClass} to change to
+	 * @since 1.0
+	 */
+	public static final void setDonkeyClass(DonkeyClass c) {
+		ExecutionContext.current().setDonkeyClass(c);
 	}
 	
 	/**
 	 * Retrieve the file being executed from.
 	 * 
-	 * @return The file being used
+	 * @return The file being used by the {@link ExecutionContext} running on this thread
 	 * @since 1.0
 	 */
 	public static final File getFile() {
-		return file;
+		return ExecutionContext.current().getFile();
 	}
 	
 	/**
@@ -158,18 +169,15 @@ public final class Statement {
 	 * 
 	 * @param f The file to get the information from
 	 * @return The amount of lines the {@link File} has
+	 * @see SourceBuffer#getLineCount()
 	 * @since 1.0
 	 */
 	public static final int getMaxLine(File f) {
-		int l = -1;
 		try {
-			BufferedReader r = new BufferedReader(new FileReader(f));
-			LineNumberReader lr = new LineNumberReader(r);
-			while(lr.readLine() != null)
-				l = lr.getLineNumber();
-			lr.close();
-		} catch(Exception e) {}
-		return l + 1;
+			return SourceBuffer.of(f).getLineCount();
+		} catch(IOException e) {
+			return 0;
+		}
 	}
 	
 	/**
@@ -178,22 +186,15 @@ public final class Statement {
 	 * @param f The file to get the information from
 	 * @param line The line to retrieve information from
 	 * @return The line on that line number
+	 * @see SourceBuffer#getLine(int)
 	 * @since 1.0
 	 */
 	public static final String getLine(File f, int line) {
 		try {
-			BufferedReader r = new BufferedReader(new FileReader(f));
-			LineNumberReader lr = new LineNumberReader(r);
-			String s;
-			while((s = lr.readLine()) != null) {
-				if (lr.getLineNumber() == line) {
-					lr.close();
-					return s;
-				}
-			}
-			lr.close();
-		} catch(Exception e) {}
-		return "";
+			return SourceBuffer.of(f).getLine(line);
+		} catch(IOException e) {
+			return "";
+		}
 	}
 	
 	/**
@@ -201,13 +202,11 @@ public final class Statement {
 	 * 
 	 * @param stop Whether to stop the statement from running
 	 * @param line The line to decline/allow
+	 * @see ExecutionContext#setDoNotRun(boolean, int)
 	 * @since 1.0
 	 */
-	public static final void setDoNotRun(boolean stop, Integer line) {
-		if (stop && (!doNotRun.contains(line) || doNotRun.isEmpty()))
-			doNotRun.add(line);
-		else if (!stop)
-			doNotRun.remove(line);
+	public static final void setDoNotRun(boolean stop, int line) {
+		ExecutionContext.current().setDoNotRun(stop, line);
 	}
 	
 	/**
@@ -215,10 +214,32 @@ public final class Statement {
 	 * 
 	 * @param line The line to check for
 	 * @return Whether the statement can run or not
+	 * @see ExecutionContext#canRun(int)
+	 * @since 1.0
+	 */
+	public static final boolean canRun(int line) {
+		return ExecutionContext.current().canRun(line);
+	}
+	
+	/**
+	 * Stop the program, so that no more lines run. Allowing a line with {@link Statement#setDoNotRun(boolean, int)} does not undo this.
+	 * 
+	 * @see ExecutionContext#halt()
 	 * @since 1.0
 	 */
-	public static final boolean canRun(Integer line) {
-		return !doNotRun.contains(line);
+	public static final void halt() {
+		ExecutionContext.current().halt();
+	}
+	
+	/**
+	 * Checks if the program was stopped
+	 * 
+	 * @return Whether {@link Statement#halt()} was called
+	 * @see ExecutionContext#isHalted()
+	 * @since 1.0
+	 */
+	public static final boolean isHalted() {
+		return ExecutionContext.current().isHalted();
 	}
 	
 	/**
@@ -371,9 +392,7 @@ public final class Statement {
 	public synchronized final Object runStatement(boolean force) throws DonkeyException, ScriptException {
 		if (statement.startsWith("//") || statement.startsWith("#") || (!canRun(getLineNumber()) && !force) || statement.equalsIgnoreCase("{") || statement.equalsIgnoreCase("}") || statement.equalsIgnoreCase(""))
 			return null;
-		for(Variable v : Variable.getVariables())
-			statement = v.replace(statement);
-		statement = statement.replace(Escape.GRAVE.getReplace(), Escape.GRAVE.getCharacterString());
+		String text = Variable.replaceAll(statement);
 		/*
 		 * if(statement.matches("\\s*attempt\\s*\\{.*")){
 		 * attempt = getLineNumber();
@@ -389,23 +408,41 @@ public final class Statement {
 		 * return null;
 		 * }
 		 */
-		for(IMethod m : getMethods()) {
-			if (statement.matches(m.getName() + "\\s*\\(.*\\).*"))
-				return m.run(this, statement.replaceAll(m.getName() + "\\s*\\(", "").replaceAll("\\).*", "").split(","));
+		ExecutionContext context = ExecutionContext.current();
+		KeywordTable k = getKeywords();
+		IMethod m = k.findMethod(text);
+		if (m != null) {
+			Metrics.invocations(m.getName()).increment();
+			Object event = FlightEvents.beginInvocation();
+			try {
+				int open = text.indexOf('(');
+				return m.run(context, this, text.substring(open + 1, text.indexOf(')', open)).split(","));
+			} finally {
+				FlightEvents.endInvocation(event, context, getLineNumber(), m.getName());
+			}
 		}
-		for(IStatement s : getStatements()) {
-			if (statement.matches(s.getName() + "\\s*.*"))
-				return s.run(this, statement.replaceAll(s.getName() + "\\s+", ""));
+		IStatement s = k.findStatement(text);
+		if (s != null) {
+			Metrics.invocations(s.getName()).increment();
+			Object event = FlightEvents.beginInvocation();
+			try {
+				int i = s.getName().length();
+				while(i < text.length() && Character.isWhitespace(text.charAt(i)))
+					i++;
+				return s.run(context, this, text.substring(i));
+			} finally {
+				FlightEvents.endInvocation(event, context, getLineNumber(), s.getName());
+			}
 		}
-		if (statement.matches(".*=.*")) {
-			Variable.set(statement);
+		if (text.indexOf('=') != -1) {
+			Variable.set(text);
 			return null;
 		}
-		throw new InvalidStatementException(this.statement, getLineNumber());
+		throw new InvalidStatementException(text, getLineNumber());
 	}
 	
 	/**
-	 * Run the block that the statement controls
+	 * Run the block that the statement controls. The body is looked up in the {@link BlockIndex} built when the file was loaded, so no file is read.
 	 * 
 	 * @param run Whether to run the contents of the block or not
 	 * @throws DonkeyException If there's an error in the Donkey code
@@ -413,100 +450,27 @@ public final class Statement {
 	 * @since 1.0
 	 */
 	public final synchronized void runBlock(boolean run) throws ScriptException, DonkeyException {
-		runBlock(run, false);
+		ExecutionContext context = ExecutionContext.current();
+		if (!run || context.getProgram() == null)
+			return;
+		BlockNode body = context.getProgram().getBody(getLineNumber());
+		if (body != null)
+			body.execute(context);
 	}
 	
 	/**
 	 * Run the block that the statement controls
 	 * 
 	 * @param run Whether to run the contents of the block or not
-	 * @param force If run is on, then force the statements to run
+	 * @param force Ignored. Block bodies are no longer masked from running while their block runs, and a script that called <code>stop</code> or was halted runs nothing more, even inside a <code>while</code>.
 	 * @throws DonkeyException If there's an error in the Donkey code
 	 * @throws ScriptException If an error happens in the script
+	 * @deprecated Use {@link Statement#runBlock(boolean)}
 	 * @since 1.0
 	 */
+	@Deprecated
 	public final synchronized void runBlock(boolean run, boolean force) throws ScriptException, DonkeyException {
-		if (statement.endsWith("{")) {
-			try {
-				BufferedReader r = new BufferedReader(new FileReader(file));
-				LineNumberReader lr = new LineNumberReader(r);
-				String s;
-				String[] l;
-				int sNum = getLineNumber();
-				int eNum = -1;
-				long brackets = 0;
-				while((s = lr.readLine()) != null) {
-					l = s.split(";");
-					for(String st : l) {
-						if (lr.getLineNumber() > sNum && st.startsWith("}") && st.endsWith("{")) {// && brackets == 1){
-							eNum = lr.getLineNumber();
-							break;
-						} else {
-							if (lr.getLineNumber() >= sNum && st.endsWith("{"))
-								brackets++;
-							if (lr.getLineNumber() >= sNum && st.startsWith("}"))
-								brackets--;
-							if (st.startsWith("}") && lr.getLineNumber() > sNum && brackets == 0) {
-								eNum = lr.getLineNumber();
-								break;
-							}
-						}
-					}
-					if (eNum != -1)
-						break;
-				}
-				r.close();
-				if (eNum == -1)
-					eNum = lr.getLineNumber();
-				lr = new LineNumberReader(r = new BufferedReader(new FileReader(file)));
-				while((s = lr.readLine()) != null) {
-					l = s.split(";");
-					for(String st : l) {
-						if (lr.getLineNumber() > sNum && lr.getLineNumber() < eNum) {
-							/*
-							 * for(Statement sta : getDonkey().getDonkeyClass().getIOClass().getStatements()){
-							 * if(sta.getRawStatement().equals(st)){
-							 * if(attempt != 0)
-							 * sta.attempt = attempt;
-							 * if(run)
-							 * sta.runStatement();
-							 * Statement.setDoNotRun(true, lr.getLineNumber());
-							 * break;
-							 * }
-							 * }
-							 */
-							///*
-							Statement statement = new Statement(st, lr.getLineNumber());
-							//if(attempt != 0)
-							//statement.attempt = attempt;
-							if (run)
-								statement.runStatement(force);
-							Statement.setDoNotRun(true, lr.getLineNumber());//*/
-						}
-					}
-				}
-				lr.close();
-			} catch(IOException e) {}
-		} else {
-			try {
-				BufferedReader r = new BufferedReader(new FileReader(file));
-				LineNumberReader lr = new LineNumberReader(r);
-				String s;
-				String[] l;
-				while((s = lr.readLine()) != null) {
-					l = s.split(";");
-					for(String st : l) {
-						if (getLineNumber() + 1 == lr.getLineNumber() && !st.startsWith("//")) {
-							Statement statement = new Statement(st, lr.getLineNumber());
-							if (run)
-								statement.runStatement(force);
-							Statement.setDoNotRun(true, lr.getLineNumber());
-						}
-					}
-				}
-				lr.close();
-			} catch(IOException e) {}
-		}
+		runBlock(run);
 	}
 	
 	/**
@@ -1,5 +1,6 @@
 package me.donkeycore.dpl.statement;
 
+import me.donkeycore.dpl.ExecutionContext;
 import me.donkeycore.dpl.exceptions.DonkeyException;
 import me.donkeycore.dpl.exceptions.StatementUnsatisfiedException;
 
@@ -19,14 +20,17 @@ public class Stop implements IStatement {
 	}
 	
 	public Object run(Statement statement, String args) throws DonkeyException {
+		return run(ExecutionContext.current(), statement, args);
+	}
+	
+	public Object run(ExecutionContext context, Statement statement, String args) throws DonkeyException {
 		try {
 			if (args != null && args.length() > 0)
-				Statement.errno = Integer.parseInt(args);
+				context.setErrno(Integer.parseInt(args));
 		} catch(NumberFormatException e) {
 			throw new StatementUnsatisfiedException(statement, this, "Invalid error number");
 		}
-		for(int i = 1; i < Statement.getMaxLine(Statement.getFile()); i++)
-			Statement.setDoNotRun(true, i);
+		context.halt();
 		return null;
 	}
 }
@@ -1,5 +1,6 @@
 package me.donkeycore.dpl.statement;
 
+import me.donkeycore.dpl.ExecutionContext;
 import me.donkeycore.dpl.exceptions.DonkeyException;
 import me.donkeycore.dpl.exceptions.InvalidStatementException;
 
@@ -18,6 +19,11 @@ public class Wait implements IStatement {
 	}
 	
 	public Object run(Statement statement, String args) throws DonkeyException {
+		return run(ExecutionContext.current(), statement, args);
+	}
+	
+	public Object run(ExecutionContext context, Statement statement, String args) throws DonkeyException {
+		context.flush();
 		try {
 			try {
 				Thread.sleep(Long.parseLong(args));
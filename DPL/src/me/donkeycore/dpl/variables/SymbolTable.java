@@ -0,0 +1,78 @@
+package me.donkeycore.dpl.variables;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns every variable name found while parsing a script to a slot in a {@link VariableTable}
+ * 
+ * @see VariableTable
+ * @see Template
+ * @since 1.0
+ */
+public final class SymbolTable {
+	
+	/**
+	 * The slot of every name
+	 * 
+	 * @since 1.0
+	 */
+	private final Map<String, Integer> slots = new HashMap<String, Integer>();
+	/**
+	 * The name of every slot
+	 * 
+	 * @since 1.0
+	 */
+	private final List<String> names = new ArrayList<String>();
+	
+	/**
+	 * Retrieve the slot of a name, assigning a new slot if the name was not seen before
+	 * 
+	 * @param name The variable name
+	 * @return The slot of the name
+	 * @since 1.0
+	 */
+	public int slotOf(String name) {
+		Integer slot = slots.get(name);
+		if (slot != null)
+			return slot;
+		slots.put(name, names.size());
+		names.add(name);
+		return names.size() - 1;
+	}
+	
+	/**
+	 * Retrieve the slot of a name without assigning one
+	 * 
+	 * @param name The variable name
+	 * @return The slot of the name, or <code>-1</code> if it does not have one
+	 * @since 1.0
+	 */
+	public int indexOf(String name) {
+		Integer slot = slots.get(name);
+		return slot == null ? -1 : slot;
+	}
+	
+	/**
+	 * Retrieve the name of a slot
+	 * 
+	 * @param slot The slot
+	 * @return The variable name of the slot
+	 * @since 1.0
+	 */
+	public String getName(int slot) {
+		return names.get(slot);
+	}
+	
+	/**
+	 * Retrieve the amount of slots
+	 * 
+	 * @return The amount of names in this table
+	 * @since 1.0
+	 */
+	public int size() {
+		return names.size();
+	}
+}
@@ -0,0 +1,168 @@
+package me.donkeycore.dpl.variables;
+
+import me.donkeycore.dpl.Escape;
+
+/**
+ * Text containing {@code `KEY`} references to variables, split once into literal text and variable slots
+ * 
+ * @see Template#compile(String, SymbolTable)
+ * @since 1.0
+ */
+public final class Template {
+	
+	/**
+	 * The source text
+	 * 
+	 * @since 1.0
+	 */
+	private final String text;
+	/**
+	 * The literal text around the references; there is always one more part than there are references
+	 * 
+	 * @since 1.0
+	 */
+	private final String[] parts;
+	/**
+	 * The slot of every reference, or <code>-1</code> for a reference looked up by name
+	 * 
+	 * @since 1.0
+	 */
+	private final int[] refs;
+	/**
+	 * The name of every reference, used while its variable is not declared
+	 * 
+	 * @since 1.0
+	 */
+	private final String[] names;
+	
+	private Template(String text, String[] parts, int[] refs, String[] names) {
+		this.text = text;
+		this.parts = parts;
+		this.refs = refs;
+		this.names = names;
+	}
+	
+	/**
+	 * Split text into literal text and references, assigning a slot to every referenced name
+	 * 
+	 * @param text The text to compile
+	 * @param symbols The table assigning slots to names, or <code>null</code> to look names up when rendering
+	 * @return The compiled {@link Template}
+	 * @since 1.0
+	 */
+	public static Template compile(String text, SymbolTable symbols) {
+		int count = 0;
+		for(int i = next(text, 0); i != -1; i = next(text, text.indexOf('`', i + 1) + 1))
+			count++;
+		String[] parts = new String[count + 1];
+		int[] refs = new int[count];
+		String[] names = new String[count];
+		int n = 0;
+		int lit = 0;
+		for(int i = next(text, 0); i != -1; i = next(text, lit)) {
+			int end = text.indexOf('`', i + 1);
+			parts[n] = Escape.GRAVE.reset(text.substring(lit, i));
+			names[n] = text.substring(i + 1, end);
+			refs[n] = symbols == null ? -1 : symbols.slotOf(names[n]);
+			n++;
+			lit = end + 1;
+		}
+		parts[n] = Escape.GRAVE.reset(text.substring(lit));
+		return new Template(text, parts, refs, names);
+	}
+	
+	/**
+	 * Replace all instances of {@code `KEY`} with the value of the variable named KEY, then restore escaped graves. References to variables that are not declared are left as they are.
+	 * 
+	 * @param text The text to replace the references in
+	 * @param table The variables to look the names up in
+	 * @return The new text with the references replaced
+	 * @since 1.0
+	 */
+	public static String substitute(String text, VariableTable table) {
+		int i = next(text, 0);
+		if (i == -1)
+			return Escape.GRAVE.reset(text);
+		StringBuilder b = new StringBuilder(text.length() + 16);
+		int lit = 0;
+		for(; i != -1; i = next(text, lit)) {
+			int end = text.indexOf('`', i + 1);
+			Variable v = table.get(text.substring(i + 1, end));
+			b.append(text, lit, i);
+			if (v == null)
+				b.append(text, i, end + 1);
+			else
+				b.append(v.getValueString());
+			lit = end + 1;
+		}
+		b.append(text, lit, text.length());
+		return Escape.GRAVE.reset(b.toString());
+	}
+	
+	/**
+	 * Find the next reference in text. A reference is a name without whitespace between two graves; a grave ending anything else may start the next reference.
+	 * 
+	 * @param text The text to search
+	 * @param from The index to start searching from
+	 * @return The index of the grave starting the next reference, or <code>-1</code> if there is none
+	 * @since 1.0
+	 */
+	private static int next(String text, int from) {
+		int start = text.indexOf('`', from);
+		while(start != -1) {
+			int end = text.indexOf('`', start + 1);
+			if (end == -1)
+				return -1;
+			if (isName(text, start + 1, end))
+				return start;
+			start = end;
+		}
+		return -1;
+	}
+	
+	private static boolean isName(String text, int start, int end) {
+		if (start == end)
+			return false;
+		for(int i = start; i < end; i++) {
+			if (Character.isWhitespace(text.charAt(i)))
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Checks if the text does not reference any variable
+	 * 
+	 * @return Whether the rendered text is always the same
+	 * @since 1.0
+	 */
+	public boolean isConstant() {
+		return refs.length == 0;
+	}
+	
+	/**
+	 * Replace the references with the values of the variables in their slots
+	 * 
+	 * @param table The variables of the running script
+	 * @return The rendered text
+	 * @since 1.0
+	 */
+	public String render(VariableTable table) {
+		if (refs.length == 0)
+			return parts[0];
+		StringBuilder b = new StringBuilder(text.length() + 16);
+		for(int i = 0; i < refs.length; i++) {
+			b.append(parts[i]);
+			Variable v = refs[i] == -1 ? table.get(names[i]) : table.get(refs[i]);
+			if (v == null)
+				b.append('`').append(names[i]).append('`');
+			else
+				b.append(v.getValueString());
+		}
+		return b.append(parts[refs.length]).toString();
+	}
+	
+	public String toString() {
+		return text;
+	}
+}
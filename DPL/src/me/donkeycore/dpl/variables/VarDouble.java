@@ -3,15 +3,72 @@ package me.donkeycore.dpl.variables;
 import me.donkeycore.dpl.exceptions.VariableAlreadyDeclaredException;
 
 /**
- * A {@link Variable} that represents a double value.
+ * A {@link Variable} that represents a double value, stored as a <code>double</code>.
  * 
  * @since 1.0
- * @see Variable
+ * @see VarNumber
  */
-public class VarDouble extends Variable {
+public class VarDouble extends VarNumber {
+	
+	/**
+	 * The value of this variable
+	 * 
+	 * @since 1.0
+	 */
+	private double value;
 	
 	public VarDouble(String key, Object value) throws VariableAlreadyDeclaredException {
-		super(key, value);
+		this(key, ((Number) value).doubleValue());
+	}
+	
+	/**
+	 * Declare a new {@link VarDouble}
+	 * 
+	 * @param key The identifier of the variable
+	 * @param value The value assigned to the key
+	 * @throws VariableAlreadyDeclaredException If a {@link Variable} is already declared with that key
+	 * @since 1.0
+	 */
+	public VarDouble(String key, double value) throws VariableAlreadyDeclaredException {
+		super(key);
+		this.value = value;
+	}
+	
+	private VarDouble(VariableTable table, String key, double value) throws VariableAlreadyDeclaredException {
+		super(table, key);
+		this.value = value;
+	}
+	
+	protected Variable copyTo(VariableTable table) throws VariableAlreadyDeclaredException {
+		return new VarDouble(table, getKey(), value);
+	}
+	
+	public double getDouble() {
+		return value;
+	}
+	
+	public void setDouble(double d) {
+		this.value = d;
+	}
+	
+	protected void setNumber(Number n) {
+		this.value = n.doubleValue();
+	}
+	
+	public Object getValue() {
+		return value;
+	}
+	
+	/**
+	 * Retrieve the value as it is substituted into text. Whole numbers are written without a trailing <code>.0</code>.
+	 * 
+	 * @return The text of the value
+	 * @since 1.0
+	 */
+	public String getValueString() {
+		if (value == Math.rint(value) && Math.abs(value) < 1e15)
+			return Long.toString((long) value);
+		return Double.toString(value);
 	}
 	
 	public String getName() {
@@ -1,11 +1,92 @@
 package me.donkeycore.dpl.variables;
 
+import me.donkeycore.dpl.exceptions.IncompatibleVariableTypesException;
 import me.donkeycore.dpl.exceptions.VariableAlreadyDeclaredException;
 
-public class VarInteger extends Variable {
+/**
+ * A {@link Variable} that represents an integer value, stored as an <code>int</code>.
+ * 
+ * @since 1.0
+ * @see VarNumber
+ */
+public class VarInteger extends VarNumber {
+	
+	/**
+	 * The value of this variable
+	 * 
+	 * @since 1.0
+	 */
+	private int value;
 	
 	public VarInteger(String key, Object value) throws VariableAlreadyDeclaredException {
-		super(key, value);
+		this(key, ((Number) value).intValue());
+	}
+	
+	/**
+	 * Declare a new {@link VarInteger}
+	 * 
+	 * @param key The identifier of the variable
+	 * @param value The value assigned to the key
+	 * @throws VariableAlreadyDeclaredException If a {@link Variable} is already declared with that key
+	 * @since 1.0
+	 */
+	public VarInteger(String key, int value) throws VariableAlreadyDeclaredException {
+		super(key);
+		this.value = value;
+	}
+	
+	private VarInteger(VariableTable table, String key, int value) throws VariableAlreadyDeclaredException {
+		super(table, key);
+		this.value = value;
+	}
+	
+	protected Variable copyTo(VariableTable table) throws VariableAlreadyDeclaredException {
+		return new VarInteger(table, getKey(), value);
+	}
+	
+	/**
+	 * Retrieve the value
+	 * 
+	 * @return The value of this variable
+	 * @since 1.0
+	 */
+	public int getInt() {
+		return value;
+	}
+	
+	/**
+	 * Set the value
+	 * 
+	 * @param i The new value
+	 * @since 1.0
+	 */
+	public void setInt(int i) {
+		this.value = i;
+	}
+	
+	public double getDouble() {
+		return value;
+	}
+	
+	public void setDouble(double d) throws IncompatibleVariableTypesException {
+		if (d != (int) d)
+			throw new IncompatibleVariableTypesException(getValue(), d);
+		this.value = (int) d;
+	}
+	
+	protected void setNumber(Number n) throws IncompatibleVariableTypesException {
+		if (n instanceof Integer || n instanceof Short || n instanceof Byte)
+			this.value = n.intValue();
+		else
+			throw new IncompatibleVariableTypesException(getValue(), n);
+	}
+	
+	public Object getValue() {
+		return value;
+	}
+	
+	public String getValueString() {
+		return Integer.toString(value);
 	}
 	
 	public String getName() {
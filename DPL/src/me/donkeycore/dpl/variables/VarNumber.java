@@ -0,0 +1,69 @@
+package me.donkeycore.dpl.variables;
+
+import me.donkeycore.dpl.exceptions.IncompatibleVariableTypesException;
+import me.donkeycore.dpl.exceptions.VariableAlreadyDeclaredException;
+
+/**
+ * A {@link Variable} holding a primitive number, read and written without boxing
+ * 
+ * @since 1.0
+ * @see VarInteger
+ * @see VarDouble
+ */
+public abstract class VarNumber extends Variable {
+	
+	/**
+	 * Declare a new {@link VarNumber}. The value is stored by the subclass.
+	 * 
+	 * @param key The identifier of the variable
+	 * @throws VariableAlreadyDeclaredException If a {@link Variable} is already declared with that key
+	 * @since 1.0
+	 */
+	protected VarNumber(String key) throws VariableAlreadyDeclaredException {
+		super(key, null);
+	}
+	
+	/**
+	 * Declare a new {@link VarNumber} in a table other than the one of the running script. The value is stored by the subclass.
+	 * 
+	 * @param table The table to declare the variable in
+	 * @param key The identifier of the variable
+	 * @throws VariableAlreadyDeclaredException If a {@link Variable} is already declared in the table with that key
+	 * @since 1.0
+	 */
+	protected VarNumber(VariableTable table, String key) throws VariableAlreadyDeclaredException {
+		super(table, key, null);
+	}
+	
+	/**
+	 * Retrieve the value as a double
+	 * 
+	 * @return The value of this variable
+	 * @since 1.0
+	 */
+	public abstract double getDouble();
+	
+	/**
+	 * Set the value from a double
+	 * 
+	 * @param d The new value
+	 * @throws IncompatibleVariableTypesException If this variable cannot represent the value
+	 * @since 1.0
+	 */
+	public abstract void setDouble(double d) throws IncompatibleVariableTypesException;
+	
+	public <T> void set(T v) throws IncompatibleVariableTypesException {
+		if (!(v instanceof Number))
+			throw new IncompatibleVariableTypesException(getValue(), (Object) v);
+		setNumber((Number) v);
+	}
+	
+	/**
+	 * Set the value from a boxed number
+	 * 
+	 * @param n The new value
+	 * @throws IncompatibleVariableTypesException If this variable cannot represent the value
+	 * @since 1.0
+	 */
+	protected abstract void setNumber(Number n) throws IncompatibleVariableTypesException;
+}
@@ -2,10 +2,28 @@ package me.donkeycore.dpl.variables;
 
 import me.donkeycore.dpl.exceptions.VariableAlreadyDeclaredException;
 
+/**
+ * A {@link Variable} that represents a string value. Any value assigned is stored as its text.
+ * 
+ * @since 1.0
+ * @see Variable
+ */
 public class VarString extends Variable {
 	
 	public VarString(String key, Object value) throws VariableAlreadyDeclaredException {
-		super(key, value);
+		super(key, String.valueOf(value));
+	}
+	
+	private VarString(VariableTable table, String key, Object value) throws VariableAlreadyDeclaredException {
+		super(table, key, value);
+	}
+	
+	protected Variable copyTo(VariableTable table) throws VariableAlreadyDeclaredException {
+		return new VarString(table, getKey(), getValue());
+	}
+	
+	public <T> void set(T v) {
+		setValue(String.valueOf(v));
 	}
 	
 	public String getName() {
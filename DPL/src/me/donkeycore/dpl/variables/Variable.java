@@ -7,11 +7,13 @@ import javax.script.ScriptException;
 
 import me.donkeycore.dpl.Donkey;
 import me.donkeycore.dpl.Donkey.LogLevel;
-import me.donkeycore.dpl.Expression;
+import me.donkeycore.dpl.ExecutionContext;
 import me.donkeycore.dpl.exceptions.DonkeyException;
 import me.donkeycore.dpl.exceptions.IncompatibleVariableTypesException;
+import me.donkeycore.dpl.exceptions.MathException;
 import me.donkeycore.dpl.exceptions.TypeDoesNotExistException;
 import me.donkeycore.dpl.exceptions.VariableAlreadyDeclaredException;
+import me.donkeycore.dpl.math.MathExpression;
 import me.donkeycore.dpl.method.IMethod;
 import me.donkeycore.dpl.statement.IStatement;
 import me.donkeycore.dpl.statement.Statement;
@@ -25,24 +27,35 @@ import me.donkeycore.dpl.statement.Statement;
 public abstract class Variable implements IVariable {
 	
 	/**
-	 * The list of registered {@link Variable} objects
+	 * Returns an array of {@link Variable} objects that were declared in the code
 	 * 
+	 * @return All declared variables
 	 * @since 1.0
 	 */
-	private static final java.util.ArrayList<Variable> vars = new java.util.ArrayList<Variable>();
+	public static final Variable[] getVariables() {
+		return getTable().getVariables();
+	}
 	
 	/**
-	 * Returns an array of {@link Variable} objects that were declared in the code
+	 * Retrieve the table that variables are declared in
 	 * 
-	 * @return All declared variables
+	 * @return The {@link VariableTable} of the {@link ExecutionContext} running on this thread
+	 * @see ExecutionContext#getVariables()
 	 * @since 1.0
 	 */
-	public static final Variable[] getVariables() {
-		return vars.toArray(new Variable[vars.size()]);
+	public static final VariableTable getTable() {
+		return ExecutionContext.current().getVariables();
 	}
 	
-	private static final void add(Variable v) {
-		vars.add(v);
+	/**
+	 * Set the table that variables are declared in
+	 * 
+	 * @param t The {@link VariableTable} of the script about to run
+	 * @see ExecutionContext#setVariables(VariableTable)
+	 * @since 1.0
+	 */
+	public static final void setTable(VariableTable t) {
+		ExecutionContext.current().setVariables(t);
 	}
 	
 	/**
@@ -67,13 +80,36 @@ public abstract class Variable implements IVariable {
 	 * @since 1.0
 	 */
 	public Variable(String key, Object value) throws VariableAlreadyDeclaredException {
+		this(getTable(), key, value);
+	}
+	
+	/**
+	 * Declare a {@link Variable} in a table other than the one of the running script, such as when it is {@link Variable#copyTo(VariableTable) copied}
+	 * 
+	 * @param table The table to declare the variable in
+	 * @param key The identifier of the variable
+	 * @param value The value assigned to the key
+	 * @throws VariableAlreadyDeclaredException If a {@link Variable} is already declared in the table with that key
+	 * @since 1.0
+	 */
+	protected Variable(VariableTable table, String key, Object value) throws VariableAlreadyDeclaredException {
 		this.key = key;
 		this.value = value;
-		for(Variable v : vars) {
-			if (v.getKey().equals(key))
-				throw new VariableAlreadyDeclaredException(this);
-		}
-		add(this);
+		table.declare(this);
+	}
+	
+	/**
+	 * Declare a copy of this variable in another table, so that a script changing the copy does not change this one. A type that does not override this, such as one added by a plugin, is declared as it is, and is shared by every table it is copied to.
+	 * 
+	 * @param table The table to declare the copy in
+	 * @return The copy
+	 * @throws VariableAlreadyDeclaredException If a {@link Variable} is already declared in the table with the same key
+	 * @see VariableTable#VariableTable(SymbolTable, VariableTable)
+	 * @since 1.0
+	 */
+	protected Variable copyTo(VariableTable table) throws VariableAlreadyDeclaredException {
+		table.declare(this);
+		return this;
 	}
 	
 	/**
@@ -93,10 +129,30 @@ public abstract class Variable implements IVariable {
 	 * @return The variable's value
 	 * @since 1.0
 	 */
-	public final Object getValue() {
+	public Object getValue() {
 		return this.value;
 	}
 	
+	/**
+	 * Retrieve the value as it is substituted into text
+	 * 
+	 * @return The text of the variable's value
+	 * @since 1.0
+	 */
+	public String getValueString() {
+		return String.valueOf(getValue());
+	}
+	
+	/**
+	 * Replace the value without checking its type
+	 * 
+	 * @param value The new value
+	 * @since 1.0
+	 */
+	protected final void setValue(Object value) {
+		this.value = value;
+	}
+	
 	/**
 	 * Set the new value of this variable
 	 * 
@@ -105,7 +161,7 @@ public abstract class Variable implements IVariable {
 	 * @throws IncompatibleVariableTypesException If the variable is assigned something that it cannot represent
 	 * @since 1.0
 	 */
-	public final <T> void set(T v) throws IncompatibleVariableTypesException {
+	public <T> void set(T v) throws IncompatibleVariableTypesException {
 		if (value.getClass().getSimpleName().equals(v.getClass().getSimpleName()))
 			this.value = v;
 		else
@@ -133,6 +189,22 @@ public abstract class Variable implements IVariable {
 		String value = s[1];
 		for(int id = 2; id < s.length; id++)
 			value = value + s[id];
+		set(getTable().indexOf(key), key, type, value);
+	}
+	
+	/**
+	 * Assign the variable in a slot of the {@link VariableTable}
+	 * 
+	 * @param slot The slot of the variable, or <code>-1</code> to look it up by its key
+	 * @param key The identifier of the variable
+	 * @param type The type to declare the variable as, or an empty string to edit an existing variable
+	 * @param value The text of the value to assign
+	 * @throws DonkeyException If something goes wrong
+	 * @throws ScriptException If a math expression is invalid
+	 * @see Variable#set(String)
+	 * @since 1.0
+	 */
+	public static final void set(int slot, String key, String type, String value) throws DonkeyException, ScriptException {
 		value = Statement.destroyEverythingAfterLastInstanceOf(value, ";");
 		while(value.startsWith(" "))
 			value = value.substring(1);
@@ -167,7 +239,12 @@ public abstract class Variable implements IVariable {
 		Matcher m = pattern.matcher(value);
 		if(m.find()) {
 			String g = m.group(0).replaceAll("[a-zA-Z]", " ").trim();
-			value = value.replace(g, Expression.evaluate(g).toString().replaceAll("\\.0\\b", ""));
+			try {
+				// g holds the values of the variables, so caching it would keep one expression per value
+				value = value.replace(g, MathExpression.compile(g, null).evaluate(getTable(), ExecutionContext.current().getScratch()).toString());
+			} catch(MathException e) {
+				throw new ScriptException(e.getMessage());
+			}
 		}
 		if (value.endsWith(".0"))
 			value = value.replaceAll("\\.0$", "");
@@ -175,24 +252,25 @@ public abstract class Variable implements IVariable {
 			value = value.replaceFirst("new\\s+", "");
 			String[] args = value.replaceAll("\\(\\s*", "").replace("\\s*\\).*$", "").split(",");
 			value = value.replaceAll("\\(.*\\).*$", "");
-			for(Variable v : vars) {
-				if (v.getKey().equals(key)) {
-					v.set(getVariableFromName(value).constructor(args));
-					return;
-				}
+			Variable v = lookup(slot, key);
+			if (v != null) {
+				v.set(getVariableFromName(value).constructor(args));
+				return;
 			}
 		} else {
 			//primary type
 			try {
 				if (value.contains(".")) {
-					Double n = Double.parseDouble(value);
+					double n = Double.parseDouble(value);
 					//VarDouble(n)
-					if (type == "") { //edit variable
-						for(Variable v : vars) {
-							if (v.getKey().equals(key)) {
+					if (type.isEmpty()) { //edit variable
+						Variable v = lookup(slot, key);
+						if (v != null) {
+							if (v instanceof VarNumber)
+								((VarNumber) v).setDouble(n);
+							else
 								v.set(n);
-								return;
-							}
+							return;
 						}
 					} else { //declare variable
 						if (type.equals("string")) {
@@ -205,14 +283,18 @@ public abstract class Variable implements IVariable {
 						return;
 					}
 				} else {
-					Integer n = Integer.parseInt(value);
+					int n = Integer.parseInt(value);
 					//VarInteger(n)
-					if (type == "") { //edit variable
-						for(Variable v : vars) {
-							if (v.getKey().equals(key)) {
+					if (type.isEmpty()) { //edit variable
+						Variable v = lookup(slot, key);
+						if (v != null) {
+							if (v instanceof VarInteger)
+								((VarInteger) v).setInt(n);
+							else if (v instanceof VarNumber)
+								((VarNumber) v).setDouble(n);
+							else
 								v.set(n);
-								return;
-							}
+							return;
 						}
 					} else { //declare variable
 						if (type.equals("double")) {
@@ -245,12 +327,11 @@ public abstract class Variable implements IVariable {
 					}
 					while(value.endsWith(" "))
 						value = value.replaceAll("\\s$", "");
-					if (type == "") { //edit variable
-						for(Variable v : vars) {
-							if (v.getKey().equals(key)) {
-								v.set((Object) value);
-								return;
-							}
+					if (type.isEmpty()) { //edit variable
+						Variable v = lookup(slot, key);
+						if (v != null) {
+							v.set((Object) value);
+							return;
 						}
 					} else { //declare variable
 						if (!type.equals("string"))
@@ -272,7 +353,19 @@ public abstract class Variable implements IVariable {
 	 * @since 1.0
 	 */
 	public final String replace(String str) {
-		return str.replace('`' + key + '`', value.toString());
+		return str.replace('`' + key + '`', getValueString());
+	}
+	
+	/**
+	 * Replace all instances of {@code `KEY`} with the value of the declared {@link Variable} named KEY, then restore escaped graves
+	 * 
+	 * @param str The {@link String} to replace the keys' instances in
+	 * @return The new {@link String} with the instances replaced
+	 * @see Variable#replace(String)
+	 * @since 1.0
+	 */
+	public static final String replaceAll(String str) {
+		return Template.substitute(str, getTable());
 	}
 	
 	public String toString() {
@@ -280,11 +373,15 @@ public abstract class Variable implements IVariable {
 	}
 	
 	private static final IVariable getVariableFromName(String name) throws TypeDoesNotExistException {
-		for(IVariable v : getVariables()) {
-			if (name.equals(v.getKey()))
-				return v;
-		}
-		throw new TypeDoesNotExistException(name);
+		IVariable v = getTable().get(name);
+		if (v == null)
+			throw new TypeDoesNotExistException(name);
+		return v;
+	}
+	
+	private static final Variable lookup(int slot, String key) {
+		VariableTable table = getTable();
+		return slot == -1 ? table.get(key) : table.get(slot);
 	}
 	
 	private static String replaceLast(String string, String substring, String replacement) {
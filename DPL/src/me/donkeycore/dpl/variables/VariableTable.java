@@ -0,0 +1,169 @@
+package me.donkeycore.dpl.variables;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import me.donkeycore.dpl.exceptions.VariableAlreadyDeclaredException;
+
+/**
+ * The variables declared while running a script. Names known to the {@link SymbolTable} of the script are stored in slots resolved while parsing; any other name, such as those declared by plugins, is kept in a hashed table.
+ * 
+ * @see SymbolTable
+ * @since 1.0
+ */
+public final class VariableTable {
+	
+	/**
+	 * The names of the slots
+	 * 
+	 * @since 1.0
+	 */
+	private final SymbolTable symbols;
+	/**
+	 * The variable stored in every slot
+	 * 
+	 * @since 1.0
+	 */
+	private final Variable[] slots;
+	/**
+	 * The variables whose names do not have a slot
+	 * 
+	 * @since 1.0
+	 */
+	private final Map<String, Variable> others = new HashMap<String, Variable>();
+	/**
+	 * Every declared variable, in the order they were declared
+	 * 
+	 * @since 1.0
+	 */
+	private final List<Variable> declared = new ArrayList<Variable>();
+	/**
+	 * A copy of {@link VariableTable#declared}, created when first needed after a declaration
+	 * 
+	 * @since 1.0
+	 */
+	private Variable[] snapshot;
+	/**
+	 * The amount of lookups since the count was last {@link VariableTable#drainLookupCount() drained}. A table is only used by the thread running its script, so this is a plain field.
+	 * 
+	 * @since 1.0
+	 */
+	private long lookups;
+	
+	/**
+	 * Create a new {@link VariableTable}
+	 * 
+	 * @param symbols The names of the slots
+	 * @since 1.0
+	 */
+	public VariableTable(SymbolTable symbols) {
+		this.symbols = symbols;
+		this.slots = new Variable[symbols.size()];
+	}
+	
+	/**
+	 * Create a new {@link VariableTable} holding copies of the variables already declared in another table, such as those declared by plugins. A script changing a copy does not change the variable it was copied from, or the copies of other runs.
+	 * 
+	 * @param symbols The names of the slots
+	 * @param declared The table to copy the declared variables from
+	 * @see Variable#copyTo(VariableTable)
+	 * @since 1.0
+	 */
+	public VariableTable(SymbolTable symbols, VariableTable declared) {
+		this(symbols);
+		for(Variable v : declared.getVariables()) {
+			try {
+				v.copyTo(this);
+			} catch(VariableAlreadyDeclaredException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+	
+	/**
+	 * Retrieve the slot of a name
+	 * 
+	 * @param name The variable name
+	 * @return The slot of the name, or <code>-1</code> if it does not have one
+	 * @since 1.0
+	 */
+	public int indexOf(String name) {
+		int slot = symbols.indexOf(name);
+		return slot < slots.length ? slot : -1;
+	}
+	
+	/**
+	 * Retrieve the variable in a slot
+	 * 
+	 * @param slot The slot
+	 * @return The variable, or <code>null</code> if it has not been declared
+	 * @since 1.0
+	 */
+	public Variable get(int slot) {
+		lookups++;
+		return slot < slots.length ? slots[slot] : null;
+	}
+	
+	/**
+	 * Retrieve a variable by name
+	 * 
+	 * @param name The variable name
+	 * @return The variable, or <code>null</code> if it has not been declared
+	 * @since 1.0
+	 */
+	public Variable get(String name) {
+		lookups++;
+		int slot = indexOf(name);
+		return slot == -1 ? others.get(name) : slots[slot];
+	}
+	
+	/**
+	 * Retrieve the amount of lookups since this was last called, and start counting again from <code>0</code>
+	 * 
+	 * @return The amount of lookups
+	 * @see me.donkeycore.dpl.metrics.Metrics#recordRun(me.donkeycore.dpl.ExecutionContext, long)
+	 * @since 1.0
+	 */
+	public long drainLookupCount() {
+		long n = lookups;
+		lookups = 0;
+		return n;
+	}
+	
+	/**
+	 * Declare a variable
+	 * 
+	 * @param v The variable to declare
+	 * @throws VariableAlreadyDeclaredException If a variable is already declared with that key
+	 * @since 1.0
+	 */
+	void declare(Variable v) throws VariableAlreadyDeclaredException {
+		if (get(v.getKey()) != null)
+			throw new VariableAlreadyDeclaredException(v);
+		put(v);
+	}
+	
+	private void put(Variable v) {
+		int slot = indexOf(v.getKey());
+		if (slot == -1)
+			others.put(v.getKey(), v);
+		else
+			slots[slot] = v;
+		declared.add(v);
+		snapshot = null;
+	}
+	
+	/**
+	 * Retrieve every declared variable
+	 * 
+	 * @return The declared variables, in the order they were declared
+	 * @since 1.0
+	 */
+	public Variable[] getVariables() {
+		if (snapshot == null)
+			snapshot = declared.toArray(new Variable[declared.size()]);
+		return snapshot;
+	}
+}
@@ -0,0 +1,38 @@
+package me.donkeycore.dpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/**
+ * Checks that {@link ExpressionCache} evicts the expressions used least recently
+ * 
+ * @since 1.0
+ */
+public class ExpressionCacheTest {
+	
+	@Test
+	public void keepsExpressionsThatAreStillUsed() {
+		ExpressionCache<String> cache = new ExpressionCache<String>(32);
+		cache.put("`hot` + 1", "hot");
+		for(int i = 0; i < 1000; i++) {
+			assertEquals("hot", cache.get("`hot` + 1"));
+			cache.put("`cold` + " + i, "cold");
+		}
+		assertEquals(32, cache.size());
+		assertEquals(1001 - 32, cache.getEvictions());
+		assertEquals(1000, cache.getHits());
+		assertNull(cache.get("`cold` + 0"));
+		assertNotNull(cache.get("`cold` + 999"));
+	}
+	
+	@Test
+	public void keepsTheFirstExpressionPutForAKey() {
+		ExpressionCache<String> cache = new ExpressionCache<String>(4);
+		assertEquals("first", cache.put("1 + 1", "first"));
+		assertEquals("first", cache.put("1 + 1", "second"));
+		assertEquals(1, cache.size());
+	}
+}
@@ -0,0 +1,138 @@
+package me.donkeycore.dpl.conditional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.conditional.booleanexpression.BooleanExpression;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.exceptions.MalformedBooleanException;
+import me.donkeycore.dpl.io.OutputSink;
+import me.donkeycore.dpl.statement.Statement;
+import me.donkeycore.dpl.variables.SymbolTable;
+import me.donkeycore.dpl.variables.VarInteger;
+import me.donkeycore.dpl.variables.VarString;
+import me.donkeycore.dpl.variables.VariableTable;
+
+/**
+ * Compares conditions compiled by {@link ConditionParser}, both against slots and looked up by name through {@link Compare#Compare(Statement)}, with the same conditions calculated in Java and with {@link BooleanExpression#readLeftToRight(String)}
+ * 
+ * @since 1.0
+ */
+public class ConditionParserTest {
+	
+	private static final String[] OPERATORS = { "<", ">", "<=", ">=", "==", "!=" };
+	private static final String[] TOKENS = { "true", "false", "&&", "||", "!", "(", ")" };
+	
+	private SymbolTable symbols;
+	private ExecutionContext context;
+	private ExecutionContext previous;
+	private VarInteger a;
+	private VarInteger b;
+	
+	@Before
+	public void setUp() throws DonkeyException {
+		symbols = new SymbolTable();
+		symbols.slotOf("a");
+		symbols.slotOf("b");
+		symbols.slotOf("s");
+		context = new ExecutionContext(null, new VariableTable(symbols), new OutputSink(new ByteArrayOutputStream()), false);
+		previous = context.enter();
+		a = new VarInteger("a", 0);
+		b = new VarInteger("b", 0);
+		new VarString("s", "Hello");
+	}
+	
+	@After
+	public void tearDown() {
+		ExecutionContext.leave(previous);
+	}
+	
+	@Test
+	public void comparesNumbers() throws DonkeyException {
+		for(int x = -3; x <= 12; x++) {
+			for(int y : new int[] { 0, 5, 10, 100 }) {
+				a.setInt(x);
+				b.setInt(y);
+				for(String op : OPERATORS) {
+					check("`a` " + op + " `b`", compare(x, op, y));
+					check("`a`" + op + y, compare(x, op, y));
+					check("`a` + 1 " + op + " `b` * 2", compare(x + 1, op, y * 2));
+					check("`a` / 2 " + op + " 2.5", compare(x / 2.0, op, 2.5));
+				}
+				check("`a` < 5 && `b` > 1", x < 5 && y > 1);
+				check("`a` < 5 || `b` > 10", x < 5 || y > 10);
+				check("!(`a` == `b`)", x != y);
+				check("`a` > 0 && `a` < 10 || `b` == 100", x > 0 && x < 10 || y == 100);
+			}
+		}
+	}
+	
+	@Test
+	public void comparesText() throws DonkeyException {
+		check("`s` == hello", true);
+		check("`s` == \"hello\"", true);
+		check("`s` != hello", false);
+		check("`s` == world", false);
+		check("`s` < world", false);
+		check("`c` == 3", false);
+	}
+	
+	@Test
+	public void readsAndAndOrLikeBooleanExpression() throws DonkeyException {
+		int[] tokens = new int[6];
+		for(int length = 1; length <= tokens.length; length++)
+			sequences(tokens, 0, length);
+	}
+	
+	private void sequences(int[] tokens, int at, int length) throws DonkeyException {
+		if (at == length) {
+			StringBuilder b = new StringBuilder();
+			for(int i = 0; i < length; i++)
+				b.append(TOKENS[tokens[i]]).append(' ');
+			String c = b.toString().trim();
+			boolean expected;
+			try {
+				expected = BooleanExpression.readLeftToRight(c).booleanValue();
+			} catch(MalformedBooleanException e) {
+				return;
+			}
+			assertNotNull(c, ConditionParser.parse(c, symbols));
+			check(c, expected);
+			return;
+		}
+		for(int t = 0; t < TOKENS.length; t++) {
+			tokens[at] = t;
+			sequences(tokens, at + 1, length);
+		}
+	}
+	
+	private void check(String condition, boolean expected) throws DonkeyException {
+		Statement statement = new Statement("if(" + condition + ") {", 1);
+		assertEquals(condition, expected, Compare.compile(statement, symbols).isTrue(context));
+		assertEquals(condition, expected, new Compare(statement).isTrue(context));
+	}
+	
+	private static boolean compare(double x, String op, double y) {
+		switch(op) {
+			case "<":
+				return x < y;
+			case ">":
+				return x > y;
+			case "<=":
+				return x <= y;
+			case ">=":
+				return x >= y;
+			case "==":
+				return x == y;
+			default:
+				return x != y;
+		}
+	}
+}
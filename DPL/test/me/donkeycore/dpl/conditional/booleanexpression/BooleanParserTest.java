@@ -0,0 +1,104 @@
+package me.donkeycore.dpl.conditional.booleanexpression;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import me.donkeycore.dpl.exceptions.MalformedBooleanException;
+
+/**
+ * Compares {@link BooleanParser} with {@link OriginalBooleanExpressionLR}: both must build the same tree for a valid expression, and throw the same message and indexes for a malformed one
+ * 
+ * @since 1.0
+ */
+public class BooleanParserTest {
+	
+	private static final String[] TOKENS = { "true", "false", "&&", "||", "!", "(", ")", " " };
+	
+	@Test
+	public void reportsTheIndexesOfTheOriginalParser() {
+		assertEquals(Arrays.asList(5), indexes("true!"));
+		assertEquals(Arrays.asList(3), indexes("!||"));
+		assertEquals(Arrays.asList(4), indexes("  &&"));
+		assertEquals(Arrays.asList(13), indexes("truefalsetruefalse"));
+		assertEquals(Arrays.asList(9), indexes("true (true)"));
+	}
+	
+	@Test
+	public void parsesValidExpressions() throws MalformedBooleanException {
+		assertEquals("(((!true)&&false)||true)", BooleanParser.parse("!true&&false||true").toString());
+		assertEquals("(!(true||false))", BooleanParser.parse(" !( true || false ) ").toString());
+		compare("((true) && !(false || !true))");
+	}
+	
+	@Test
+	public void matchesTheOriginalParserOnEverySequenceOfTokens() {
+		int[] tokens = new int[5];
+		for(int length = 1; length <= tokens.length; length++)
+			sequences(tokens, 0, length);
+	}
+	
+	@Test
+	public void matchesTheOriginalParserOnRandomText() {
+		Random random = new Random(42);
+		String[] pieces = { "true", "false", "&&", "||", "&", "|", "!", "(", ")", " ", "\t", "t", "x", "TRUE" };
+		for(int i = 0; i < 20000; i++) {
+			StringBuilder b = new StringBuilder();
+			for(int n = 1 + random.nextInt(12); n > 0; n--)
+				b.append(pieces[random.nextInt(pieces.length)]);
+			compare(b.toString());
+		}
+	}
+	
+	private void sequences(int[] tokens, int at, int length) {
+		if (at == length) {
+			StringBuilder b = new StringBuilder();
+			for(int i = 0; i < length; i++)
+				b.append(TOKENS[tokens[i]]);
+			compare(b.toString());
+			return;
+		}
+		for(int t = 0; t < TOKENS.length; t++) {
+			tokens[at] = t;
+			sequences(tokens, at + 1, length);
+		}
+	}
+	
+	private static List<Integer> indexes(String expression) {
+		try {
+			BooleanParser.parse(expression);
+		} catch(MalformedBooleanException e) {
+			compare(expression);
+			return e.getBooleanExpressionErrorIndexes();
+		}
+		fail(expression + " was parsed");
+		return null;
+	}
+	
+	private static void compare(String expression) {
+		IBoolean expected = null;
+		MalformedBooleanException expectedError = null;
+		try {
+			expected = new OriginalBooleanExpressionLR(expression);
+		} catch(MalformedBooleanException e) {
+			expectedError = e;
+		}
+		try {
+			IBoolean actual = BooleanParser.parse(expression);
+			assertNull("[" + expression + "] was parsed but the original threw " + expectedError, expectedError);
+			assertEquals(expression, expected.toString(), actual.toString());
+			assertEquals(expression, expected.booleanValue(), actual.booleanValue());
+		} catch(MalformedBooleanException e) {
+			if (expectedError == null)
+				fail("[" + expression + "] threw " + e.getMessage() + " but the original parsed " + expected);
+			assertEquals(expression, expectedError.getBooleanExpressionErrorMessage(), e.getBooleanExpressionErrorMessage());
+			assertEquals(expression, expectedError.getBooleanExpressionErrorIndexes(), e.getBooleanExpressionErrorIndexes());
+		}
+	}
+}
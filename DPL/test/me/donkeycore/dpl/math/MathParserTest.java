@@ -0,0 +1,222 @@
+package me.donkeycore.dpl.math;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import me.donkeycore.dpl.ExecutionContext;
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.exceptions.MathException;
+import me.donkeycore.dpl.io.OutputSink;
+import me.donkeycore.dpl.variables.SymbolTable;
+import me.donkeycore.dpl.variables.VarDouble;
+import me.donkeycore.dpl.variables.VarInteger;
+import me.donkeycore.dpl.variables.VariableTable;
+
+/**
+ * Compares {@link MathParser} with arithmetic on doubles, which is what the script engine that evaluated expressions before it calculated, and with the same expressions written in RPN for {@link RPNProgram}
+ * 
+ * @since 1.0
+ */
+public class MathParserTest {
+	
+	private static final double A = 7;
+	private static final double B = 2.5;
+	
+	private SymbolTable symbols;
+	private VariableTable table;
+	private ExecutionContext previous;
+	
+	@Before
+	public void setUp() throws DonkeyException {
+		symbols = new SymbolTable();
+		symbols.slotOf("a");
+		symbols.slotOf("b");
+		table = new VariableTable(symbols);
+		previous = new ExecutionContext(null, table, new OutputSink(new ByteArrayOutputStream()), false).enter();
+		new VarInteger("a", (int) A);
+		new VarDouble("b", B);
+	}
+	
+	@After
+	public void tearDown() {
+		ExecutionContext.leave(previous);
+	}
+	
+	@Test
+	public void followsPrecedence() throws MathException {
+		assertEquals("14", evaluate("2 + 3 * 4"));
+		assertEquals("20", evaluate("(2 + 3) * 4"));
+		assertEquals("-4", evaluate("-2 ^ 2"));
+		assertEquals("512", evaluate("2 ^ 3 ^ 2"));
+		assertEquals("0.125", evaluate("2 ^ -3"));
+		assertEquals("1", evaluate("10 - 4 - 5"));
+		assertEquals("2", evaluate("12 / 3 / 2"));
+		assertEquals("2", evaluate("10 % 4"));
+		assertEquals("-1", evaluate("-7 % 3 * 1"));
+	}
+	
+	@Test
+	public void keepsWholeNumbersExact() throws MathException {
+		assertEquals("3.5", evaluate("7 / 2"));
+		assertEquals("4611686018427387904", evaluate("2 ^ 62"));
+		assertEquals("9007199254740993", evaluate("9007199254740992 + 1"));
+		assertEquals("17.5", evaluate("`a` * `b`"));
+		assertTrue(compile("`a` * 2").evaluate(table, new MathValue()).isIntegral());
+	}
+	
+	@Test
+	public void rejectsInvalidExpressions() {
+		for(String s : new String[] { "", "1 +", "(1", "1)", "2 ** 3", ".", "`a", "``", "1 2" }) {
+			try {
+				compile(s);
+				fail(s + " was parsed");
+			} catch(MathException e) {
+				// Expected
+			}
+		}
+		try {
+			compile("`c` + 1").evaluate(table);
+			fail("`c` + 1 was evaluated");
+		} catch(MathException e) {
+			// Expected
+		}
+	}
+	
+	@Test
+	public void matchesDoublesAndRPN() throws MathException {
+		Random random = new Random(7);
+		for(int i = 0; i < 20000; i++) {
+			Node n = Node.random(random, 4);
+			String infix = n.infix(random);
+			double expected = n.value();
+			if (n.isExact()) {
+				assertClose(infix, expected, compile(infix).evaluate(table));
+				assertClose(infix, expected, MathExpression.compile(infix, symbols).evaluate(table));
+			}
+			String rpn = n.rpn().trim();
+			RPNProgram p = RPNProgram.compile(rpn);
+			assertClose(rpn, expected, p.evaluate(table));
+		}
+	}
+	
+	private static MathExpression compile(String s) throws MathException {
+		return MathExpression.compile(s, null);
+	}
+	
+	private String evaluate(String s) throws MathException {
+		return compile(s).evaluate(table, new MathValue()).toString();
+	}
+	
+	private static void assertClose(String expression, double expected, double actual) {
+		if (Double.isNaN(expected) || Double.isInfinite(expected)) {
+			assertEquals(expression, (Object) expected, (Object) actual);
+			return;
+		}
+		assertEquals(expression, expected, actual, Math.max(1, Math.abs(expected)) * 1e-9);
+	}
+	
+	/**
+	 * A random expression, evaluated on doubles
+	 * 
+	 * @since 1.0
+	 */
+	private static final class Node {
+		
+		private static final String OPERATORS = "+-*/%^";
+		
+		private final char op;
+		private final String text;
+		private final double value;
+		private final Node left;
+		private final Node right;
+		
+		private Node(char op, String text, double value, Node left, Node right) {
+			this.op = op;
+			this.text = text;
+			this.value = value;
+			this.left = left;
+			this.right = right;
+		}
+		
+		static Node random(Random random, int depth) {
+			int r = random.nextInt(depth <= 0 ? 3 : 10);
+			if (r == 0)
+				return random.nextBoolean() ? new Node('v', "a", A, null, null) : new Node('v', "b", B, null, null);
+			if (r < 3) {
+				int whole = random.nextInt(10);
+				return random.nextInt(4) == 0 ? new Node('c', whole + ".5", whole + 0.5, null, null) : new Node('c', Integer.toString(whole), whole, null, null);
+			}
+			if (r == 3)
+				return new Node('n', null, 0, random(random, depth - 1), null);
+			return new Node(OPERATORS.charAt(random.nextInt(OPERATORS.length())), null, 0, random(random, depth - 1), random(random, depth - 1));
+		}
+		
+		double value() {
+			switch(op) {
+				case 'c':
+				case 'v':
+					return value;
+				case 'n':
+					return -left.value();
+				case '+':
+					return left.value() + right.value();
+				case '-':
+					return left.value() - right.value();
+				case '*':
+					return left.value() * right.value();
+				case '/':
+					return left.value() / right.value();
+				case '%':
+					return left.value() % right.value();
+				default:
+					return Math.pow(left.value(), right.value());
+			}
+		}
+		
+		/**
+		 * Checks if every part of the expression is small enough for doubles to hold whole numbers exactly, so that calculating them exactly as longs gives the same result
+		 * 
+		 * @return Whether the whole numbers of the expression fit in a double
+		 * @since 1.0
+		 */
+		boolean isExact() {
+			if (Math.abs(value()) > 1L << 52)
+				return false;
+			return (left == null || left.isExact()) && (right == null || right.isExact());
+		}
+		
+		String infix(Random random) {
+			String space = random.nextBoolean() ? " " : "";
+			switch(op) {
+				case 'c':
+					return text;
+				case 'v':
+					return '`' + text + '`';
+				case 'n':
+					return "(-" + left.infix(random) + ")";
+				default:
+					return "(" + left.infix(random) + space + op + space + right.infix(random) + ")";
+			}
+		}
+		
+		String rpn() {
+			switch(op) {
+				case 'c':
+				case 'v':
+					return text + " ";
+				case 'n':
+					return "-1 " + left.rpn() + "* ";
+				default:
+					return left.rpn() + right.rpn() + op + " ";
+			}
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package me.donkeycore.dpl.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import me.donkeycore.dpl.exceptions.DonkeyException;
+import me.donkeycore.dpl.io.InputSource;
+import me.donkeycore.dpl.io.OutputSink;
+import me.donkeycore.dpl.variables.VarInteger;
+
+/**
+ * Checks that executions of a {@link CompiledScript} do not share variables or read the console, and print their log messages in order
+ * 
+ * @since 1.0
+ */
+public class CompiledScriptTest {
+	
+	@Test
+	public void copiesTheDefaultVariablesForEveryRun() throws DonkeyException {
+		VarInteger shared = new VarInteger("compiledScriptTestShared", 1);
+		CompiledScript script = DonkeyRuntime.compile("compiledScriptTestShared = `compiledScriptTestShared` + 1\nprintln `compiledScriptTestShared`");
+		for(int i = 0; i < 3; i++) {
+			ScriptResult r = script.execute();
+			assertTrue(r.getErrors().toString(), r.getErrors().isEmpty());
+			assertEquals("2" + System.lineSeparator(), r.getOutput());
+		}
+		assertEquals(1, shared.getInt());
+	}
+	
+	@Test
+	public void keepsLogMessagesInOrderWithPrints() throws DonkeyException {
+		CompiledScript script = DonkeyRuntime.compile("@log:info first\nprintln second\n@log:info third\nprintln fourth");
+		for(int i = 0; i < 50; i++) {
+			String[] lines = script.execute().getOutput().split(System.lineSeparator());
+			assertEquals(4, lines.length);
+			assertTrue(lines[0], lines[0].endsWith("[Script/INFO]: first"));
+			assertEquals("second", lines[1]);
+			assertTrue(lines[2], lines[2].endsWith("[Script/INFO]: third"));
+			assertEquals("fourth", lines[3]);
+		}
+	}
+	
+	@Test
+	public void readsOnlyTheInputItIsGiven() throws DonkeyException {
+		CompiledScript script = DonkeyRuntime.compile("string line = @input\nprintln [`line`]");
+		assertEquals("[hello]" + System.lineSeparator(), script.execute(Collections.<String, Object> emptyMap(), OutputSink.capture(), InputSource.of("hello\n")).getOutput());
+		assertEquals("[null]" + System.lineSeparator(), script.execute().getOutput());
+	}
+}